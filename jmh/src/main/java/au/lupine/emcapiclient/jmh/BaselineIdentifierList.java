@@ -0,0 +1,46 @@
+package au.lupine.emcapiclient.jmh;
+
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A copy of Identifier.createIdentifierList as it was before identifier lists were created through constructor references,
+ * kept as the reference the factory overload is benchmarked against since the deprecated Class overload now delegates to it
+ */
+final class BaselineIdentifierList {
+
+    private BaselineIdentifierList() {}
+
+    static <T extends Identifier> List<T> createIdentifierList(JsonArray array, Class<T> type) {
+        List<T> identifiers = new ArrayList<>();
+
+        Constructor<T> constructor;
+        try {
+            constructor = type.getConstructor(String.class, UUID.class);
+        } catch (NoSuchMethodException e) {
+            return identifiers;
+        }
+
+        for (JsonElement element : array) {
+            JsonObject jsonObject = element.getAsJsonObject();
+
+            try {
+                T identifier = constructor.newInstance(
+                        jsonObject.get("name").getAsString(),
+                        UUID.fromString(jsonObject.get("uuid").getAsString())
+                );
+
+                identifiers.add(identifier);
+            } catch (Exception ignored) {}
+        }
+
+        return identifiers;
+    }
+}
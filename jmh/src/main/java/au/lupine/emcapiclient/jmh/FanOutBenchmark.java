@@ -0,0 +1,77 @@
+package au.lupine.emcapiclient.jmh;
+
+import au.lupine.emcapiclient.manager.RequestManager;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import au.lupine.emcapiclient.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link RequestManager#batchPostAsJsonArray(URI, JsonObject)} end to end, fetching every town of a {@link StubWorld} from a local {@link StubServer}
+ * that delays each response to stand in for the API's latency
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FanOutBenchmark {
+
+    @Param({"1", "4", "16"})
+    public int maxConcurrency;
+
+    @Param({"0", "20"})
+    public int latencyMillis;
+
+    /**
+     * The number of towns in the world, all of which are fetched
+     */
+    @Param({"1000"})
+    public int querySize;
+
+    private StubServer server;
+    private RequestManager requestManager;
+    private URI uri;
+    private JsonObject body;
+
+    @Setup
+    public void setup() throws IOException {
+        StubWorld world = StubWorld.generate(42, querySize);
+
+        server = new StubServer(world);
+        server.setLatency(Duration.ofMillis(latencyMillis), Duration.ofMillis(latencyMillis));
+        server.start();
+
+        requestManager = new RequestManager();
+        requestManager.setMaxConcurrency(maxConcurrency);
+        requestManager.setCoalescing(false);
+
+        uri = server.getURI().resolve("aurora/towns");
+
+        JsonArray query = new JsonArray();
+        for (JsonElement town : world.getIdentifiers(Endpoint.TOWNS)) {
+            query.add(town.getAsJsonObject().get("uuid"));
+        }
+        body = JSONUtil.createRequestBody(query);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public JsonArray batchPost() {
+        return requestManager.batchPostAsJsonArray(uri, body);
+    }
+}
@@ -0,0 +1,47 @@
+package au.lupine.emcapiclient.jmh;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.manager.RequestManager;
+import au.lupine.emcapiclient.object.wrapper.Server;
+import au.lupine.emcapiclient.util.JSONUtil;
+import com.google.gson.JsonArray;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records one batch of each endpoint from the live API into fixtures/{endpoint}.json, which {@link Fixtures#loadBatch(String, long)} prefers over synthetic data
+ * <p>
+ * Run from the jmh directory with the output directory as the only argument, src/main/resources/fixtures by default, then rebuild the benchmarks
+ */
+public final class FixtureRecorder {
+
+    private FixtureRecorder() {}
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "src/main/resources/fixtures");
+        Files.createDirectories(directory);
+
+        RequestManager requestManager = new RequestManager();
+        URI serverURI = EMCAPIClient.EARTHMC_API_URI.resolve(Server.AURORA.getName() + "/");
+
+        for (String endpoint : new String[]{"players", "towns", "nations", "quarters"}) {
+            URI uri = serverURI.resolve(endpoint);
+
+            JsonArray identifiers = requestManager.getURIAsJsonArray(uri);
+
+            JsonArray query = new JsonArray();
+            for (int i = 0; i < Math.min(Fixtures.BATCH_SIZE, identifiers.size()); i++) {
+                query.add(identifiers.get(i).getAsJsonObject().get("uuid"));
+            }
+
+            JsonArray batch = requestManager.postURIAsJsonArray(uri, JSONUtil.createRequestBody(query));
+            Files.writeString(directory.resolve(endpoint + ".json"), batch.toString(), StandardCharsets.UTF_8);
+
+            System.out.println("Recorded " + batch.size() + " " + endpoint);
+        }
+    }
+}
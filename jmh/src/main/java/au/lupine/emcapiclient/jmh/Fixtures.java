@@ -0,0 +1,400 @@
+package au.lupine.emcapiclient.jmh;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Provides API responses to benchmark against, a payload recorded with {@link FixtureRecorder} is used when it is on the classpath,
+ * otherwise a synthetic payload shaped like the real one is generated, seeded so every run benchmarks the same data
+ */
+public final class Fixtures {
+
+    /**
+     * Roughly the number of towns on Aurora
+     */
+    public static final int NUM_TOWNS = 2000;
+
+    /**
+     * The number of entities the API accepts in one request
+     */
+    public static final int BATCH_SIZE = 100;
+
+    private Fixtures() {}
+
+    /**
+     * @param endpoint The endpoint the batch was recorded from, such as towns
+     * @return A recorded batch from fixtures/{endpoint}.json, or a synthetic one if none was recorded
+     */
+    public static JsonArray loadBatch(String endpoint, long seed) {
+        InputStream recorded = Fixtures.class.getResourceAsStream("/fixtures/" + endpoint + ".json");
+        if (recorded != null) {
+            try (Reader reader = new InputStreamReader(recorded, StandardCharsets.UTF_8)) {
+                return JsonParser.parseReader(reader).getAsJsonArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Random random = new Random(seed);
+
+        JsonArray batch = new JsonArray();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(switch (endpoint) {
+                case "players" -> createPlayer(random, i);
+                case "towns" -> createTown(random, i);
+                case "nations" -> createNation(random, i);
+                case "quarters" -> createQuarter(random, i);
+                default -> throw new IllegalArgumentException("Unknown endpoint " + endpoint);
+            });
+        }
+
+        return batch;
+    }
+
+    /**
+     * @return What fetching every town returns, concatenated across batches
+     */
+    public static JsonArray createAllTowns(long seed) {
+        Random random = new Random(seed);
+
+        JsonArray towns = new JsonArray();
+        for (int i = 0; i < NUM_TOWNS; i++) {
+            towns.add(createTown(random, i));
+        }
+
+        return towns;
+    }
+
+    public static JsonObject createTown(Random random, int index) {
+        JsonObject town = new JsonObject();
+        town.addProperty("name", "Town" + index);
+        town.addProperty("uuid", uuid(random).toString());
+        town.addProperty("board", random.nextBoolean() ? "Welcome to Town" + index : null);
+        town.addProperty("founder", "Founder" + index);
+        town.add("wiki", JsonNull.INSTANCE);
+
+        // Resident counts follow a long tail like the live server, most towns are small and a few are very large
+        int numResidents = 1 + (int) Math.min(300, Math.abs(random.nextGaussian()) * 25);
+        JsonArray residents = identifiers(random, "Player", numResidents);
+
+        town.add("mayor", residents.get(0).deepCopy());
+        town.add("nation", random.nextInt(4) == 0 ? identifier(null, null) : identifier("Nation" + random.nextInt(300), uuid(random).toString()));
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", 1_600_000_000_000L + random.nextInt(1_000_000_000));
+        timestamps.addProperty("joinedNationAt", 1_700_000_000_000L + random.nextInt(1_000_000_000));
+        timestamps.add("ruinedAt", JsonNull.INSTANCE);
+        town.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        for (String flag : new String[]{"isPublic", "isOpen", "isNeutral", "isCapital", "isOverClaimed", "isRuined", "isForSale", "hasNation", "hasOverclaimShield", "canOutsidersSpawn"}) {
+            status.addProperty(flag, random.nextBoolean());
+        }
+        town.add("status", status);
+
+        int numTownBlocks = numResidents * 12 + random.nextInt(64);
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("numTownBlocks", numTownBlocks);
+        stats.addProperty("maxTownBlocks", numTownBlocks + 64);
+        stats.addProperty("bonusBlocks", random.nextInt(100));
+        stats.addProperty("numResidents", numResidents);
+        stats.addProperty("numTrusted", 0);
+        stats.addProperty("numOutlaws", 0);
+        stats.addProperty("balance", random.nextInt(100_000));
+        stats.add("forSalePrice", JsonNull.INSTANCE);
+        town.add("stats", stats);
+
+        town.add("perms", createPerms(random));
+
+        int chunkX = random.nextInt(4000) - 2000;
+        int chunkZ = random.nextInt(2000) - 1000;
+
+        JsonObject spawn = new JsonObject();
+        spawn.addProperty("world", "world");
+        spawn.addProperty("x", chunkX * 16 + 8.5);
+        spawn.addProperty("y", 64.0);
+        spawn.addProperty("z", chunkZ * 16 + 8.5);
+        spawn.addProperty("pitch", 0.0);
+        spawn.addProperty("yaw", 90.0);
+
+        JsonArray homeBlock = new JsonArray();
+        homeBlock.add(chunkX);
+        homeBlock.add(chunkZ);
+
+        JsonObject coordinates = new JsonObject();
+        coordinates.add("spawn", spawn);
+        coordinates.add("homeBlock", homeBlock);
+        coordinates.add("townBlocks", townBlocks(chunkX, chunkZ, numTownBlocks));
+        town.add("coordinates", coordinates);
+
+        town.add("residents", residents);
+        town.add("trusted", identifiers(random, "Player", random.nextInt(5)));
+        town.add("outlaws", identifiers(random, "Player", random.nextInt(3)));
+        town.add("quarters", identifiers(random, "Quarter", random.nextInt(10)));
+
+        JsonObject ranks = new JsonObject();
+        for (String rank : new String[]{"Councillor", "Builder", "Recruiter", "Police", "Tax-exempt", "Treasurer", "Realtor", "Settler"}) {
+            JsonArray ranked = new JsonArray();
+            for (int i = 0; i < residents.size(); i++) {
+                if (random.nextInt(8) == 0) ranked.add(residents.get(i).deepCopy());
+            }
+
+            ranks.add(rank, ranked);
+        }
+        town.add("ranks", ranks);
+
+        return town;
+    }
+
+    public static JsonObject createPlayer(Random random, int index) {
+        JsonObject player = new JsonObject();
+        player.addProperty("name", "Player" + index);
+        player.addProperty("uuid", uuid(random).toString());
+        player.add("title", JsonNull.INSTANCE);
+        player.add("surname", JsonNull.INSTANCE);
+        player.addProperty("formattedName", "Player" + index);
+        player.addProperty("about", random.nextBoolean() ? "/res set about [msg]" : null);
+
+        boolean hasTown = random.nextInt(3) != 0;
+        boolean hasNation = hasTown && random.nextBoolean();
+        player.add("town", hasTown ? identifier("Town" + random.nextInt(NUM_TOWNS), uuid(random).toString()) : identifier(null, null));
+        player.add("nation", hasNation ? identifier("Nation" + random.nextInt(300), uuid(random).toString()) : identifier(null, null));
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", 1_600_000_000_000L + random.nextInt(1_000_000_000));
+        timestamps.addProperty("joinedTownAt", hasTown ? 1_700_000_000_000L + random.nextInt(1_000_000_000) : null);
+        timestamps.addProperty("lastOnline", 1_720_000_000_000L + random.nextInt(1_000_000_000));
+        player.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isOnline", random.nextInt(10) == 0);
+        status.addProperty("isNPC", false);
+        status.addProperty("isMayor", hasTown && random.nextInt(10) == 0);
+        status.addProperty("isKing", hasNation && random.nextInt(50) == 0);
+        status.addProperty("hasTown", hasTown);
+        status.addProperty("hasNation", hasNation);
+        player.add("status", status);
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("balance", random.nextInt(10_000));
+        int numFriends = random.nextInt(20);
+        stats.addProperty("numFriends", numFriends);
+        player.add("stats", stats);
+
+        player.add("perms", createPerms(random));
+
+        JsonObject ranks = new JsonObject();
+        JsonArray townRanks = new JsonArray();
+        if (hasTown && random.nextInt(4) == 0) townRanks.add("Councillor");
+        JsonArray nationRanks = new JsonArray();
+        if (hasNation && random.nextInt(8) == 0) nationRanks.add("Chancellor");
+        ranks.add("townRanks", townRanks);
+        ranks.add("nationRanks", nationRanks);
+        player.add("ranks", ranks);
+
+        player.add("friends", identifiers(random, "Player", numFriends));
+
+        return player;
+    }
+
+    public static JsonObject createNation(Random random, int index) {
+        JsonObject nation = new JsonObject();
+        nation.addProperty("name", "Nation" + index);
+        nation.addProperty("uuid", uuid(random).toString());
+        nation.addProperty("board", "Nation" + index + " board");
+        nation.addProperty("dynmapColour", String.format("%06X", random.nextInt(0x1000000)));
+        nation.addProperty("dynmapOutline", String.format("%06X", random.nextInt(0x1000000)));
+        nation.add("wiki", JsonNull.INSTANCE);
+
+        int numTowns = 1 + (int) Math.min(60, Math.abs(random.nextGaussian()) * 8);
+        JsonArray towns = identifiers(random, "Town", numTowns);
+        JsonArray residents = identifiers(random, "Player", numTowns * (1 + random.nextInt(15)));
+
+        nation.add("king", residents.get(0).deepCopy());
+        nation.add("capital", towns.get(0).deepCopy());
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", 1_600_000_000_000L + random.nextInt(1_000_000_000));
+        nation.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isPublic", random.nextBoolean());
+        status.addProperty("isOpen", random.nextBoolean());
+        status.addProperty("isNeutral", random.nextBoolean());
+        nation.add("status", status);
+
+        JsonArray allies = identifiers(random, "Nation", random.nextInt(20));
+        JsonArray enemies = identifiers(random, "Nation", random.nextInt(5));
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("numTownBlocks", residents.size() * 12);
+        stats.addProperty("numResidents", residents.size());
+        stats.addProperty("numTowns", numTowns);
+        stats.addProperty("numAllies", allies.size());
+        stats.addProperty("numEnemies", enemies.size());
+        stats.addProperty("balance", random.nextInt(100_000));
+        nation.add("stats", stats);
+
+        JsonObject spawn = new JsonObject();
+        spawn.addProperty("world", "world");
+        spawn.addProperty("x", random.nextInt(64000) - 32000 + 0.5);
+        spawn.addProperty("y", 64.0);
+        spawn.addProperty("z", random.nextInt(32000) - 16000 + 0.5);
+        spawn.addProperty("pitch", 0.0);
+        spawn.addProperty("yaw", 0.0);
+
+        JsonObject coordinates = new JsonObject();
+        coordinates.add("spawn", spawn);
+        nation.add("coordinates", coordinates);
+
+        nation.add("residents", residents);
+        nation.add("towns", towns);
+        nation.add("allies", allies);
+        nation.add("enemies", enemies);
+        nation.add("sanctioned", identifiers(random, "Town", random.nextInt(3)));
+
+        JsonObject ranks = new JsonObject();
+        for (String rank : new String[]{"Chancellor", "Colonist", "Diplomat"}) {
+            JsonArray ranked = new JsonArray();
+            for (int i = 0; i < residents.size(); i++) {
+                if (random.nextInt(20) == 0) ranked.add(residents.get(i).deepCopy());
+            }
+
+            ranks.add(rank, ranked);
+        }
+        nation.add("ranks", ranks);
+
+        return nation;
+    }
+
+    /**
+     * Quarters get many cuboids, the worst case for the quarter parser
+     */
+    public static JsonObject createQuarter(Random random, int index) {
+        JsonObject quarter = new JsonObject();
+        quarter.addProperty("name", "Quarter" + index);
+        quarter.addProperty("uuid", uuid(random).toString());
+        quarter.addProperty("type", random.nextBoolean() ? "APARTMENT" : "SHOP");
+        quarter.add("owner", random.nextBoolean() ? identifier("Player" + random.nextInt(1_000_000), uuid(random).toString()) : identifier(null, null));
+        quarter.add("town", identifier("Town" + random.nextInt(NUM_TOWNS), uuid(random).toString()));
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", 1_600_000_000_000L + random.nextInt(1_000_000_000));
+        timestamps.add("claimedAt", JsonNull.INSTANCE);
+        quarter.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isEmbassy", random.nextInt(10) == 0);
+        quarter.add("status", status);
+
+        int numCuboids = 1 + random.nextInt(40);
+
+        JsonObject stats = new JsonObject();
+        stats.add("price", random.nextBoolean() ? null : new JsonPrimitive(random.nextInt(1000)));
+        stats.addProperty("volume", numCuboids * 512);
+        stats.addProperty("numCuboids", numCuboids);
+        quarter.add("stats", stats);
+
+        JsonArray colour = new JsonArray();
+        for (int i = 0; i < 3; i++) {
+            colour.add(random.nextInt(256));
+        }
+        quarter.add("colour", colour);
+
+        quarter.add("trusted", identifiers(random, "Player", random.nextInt(4)));
+
+        int x = random.nextInt(64000) - 32000;
+        int z = random.nextInt(32000) - 16000;
+
+        JsonArray cuboids = new JsonArray();
+        for (int i = 0; i < numCuboids; i++) {
+            JsonObject cuboid = new JsonObject();
+            cuboid.add("pos1", position(x + i * 8, 60, z));
+            cuboid.add("pos2", position(x + i * 8 + 7, 67, z + 7));
+            cuboids.add(cuboid);
+        }
+        quarter.add("cuboids", cuboids);
+
+        return quarter;
+    }
+
+    public static JsonObject createPerms(Random random) {
+        JsonObject perms = new JsonObject();
+        for (String action : new String[]{"build", "destroy", "switch", "itemUse"}) {
+            JsonArray values = new JsonArray();
+            for (int i = 0; i < 4; i++) {
+                values.add(random.nextBoolean());
+            }
+
+            perms.add(action, values);
+        }
+
+        JsonObject flags = new JsonObject();
+        for (String flag : new String[]{"pvp", "explosion", "fire", "mobs"}) {
+            flags.addProperty(flag, random.nextBoolean());
+        }
+        perms.add("flags", flags);
+
+        return perms;
+    }
+
+    public static JsonArray identifiers(Random random, String prefix, int count) {
+        JsonArray identifiers = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            identifiers.add(identifier(prefix + random.nextInt(1_000_000), uuid(random).toString()));
+        }
+
+        return identifiers;
+    }
+
+    public static JsonObject identifier(String name, String uuid) {
+        JsonObject identifier = new JsonObject();
+        identifier.addProperty("name", name);
+        identifier.addProperty("uuid", uuid);
+
+        return identifier;
+    }
+
+    /**
+     * Claims are laid out as a filled square around the home block, which is what most towns look like
+     */
+    private static JsonArray townBlocks(int chunkX, int chunkZ, int count) {
+        int side = (int) Math.ceil(Math.sqrt(count));
+
+        JsonArray townBlocks = new JsonArray();
+        for (int i = 0; i < count; i++) {
+            JsonArray townBlock = new JsonArray();
+            townBlock.add(chunkX - side / 2 + i % side);
+            townBlock.add(chunkZ - side / 2 + i / side);
+            townBlocks.add(townBlock);
+        }
+
+        return townBlocks;
+    }
+
+    private static JsonArray position(int x, int y, int z) {
+        JsonArray position = new JsonArray();
+        position.add(x);
+        position.add(y);
+        position.add(z);
+
+        return position;
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,59 @@
+package au.lupine.emcapiclient.jmh;
+
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates every player identifier list found in an all-towns payload (residents, trusted, outlaws and ranks),
+ * once through a copy of the original reflective implementation and once through a constructor reference
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IdentifierListBenchmark {
+
+    private List<JsonArray> lists;
+
+    @Setup
+    public void setup() {
+        lists = new ArrayList<>();
+
+        for (JsonElement element : Fixtures.createAllTowns(42)) {
+            JsonObject town = element.getAsJsonObject();
+            lists.add(town.getAsJsonArray("residents"));
+            lists.add(town.getAsJsonArray("trusted"));
+            lists.add(town.getAsJsonArray("outlaws"));
+
+            JsonObject ranks = town.getAsJsonObject("ranks");
+            for (String rank : ranks.keySet()) {
+                lists.add(ranks.getAsJsonArray(rank));
+            }
+        }
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) {
+        for (JsonArray list : lists) {
+            blackhole.consume(BaselineIdentifierList.createIdentifierList(list, PlayerIdentifier.class));
+        }
+    }
+
+    @Benchmark
+    public void factory(Blackhole blackhole) {
+        for (JsonArray list : lists) {
+            blackhole.consume(Identifier.createIdentifierList(list, PlayerIdentifier::new));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package au.lupine.emcapiclient.jmh;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.wrapper.Permissions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses one 100 entity batch of each endpoint into models, run with -prof gc to see the allocation rate alongside the throughput
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ModelParseBenchmark {
+
+    private JsonArray players, towns, nations, quarters;
+    private List<JsonObject> perms;
+
+    @Setup
+    public void setup() {
+        players = Fixtures.loadBatch("players", 1);
+        towns = Fixtures.loadBatch("towns", 2);
+        nations = Fixtures.loadBatch("nations", 3);
+        quarters = Fixtures.loadBatch("quarters", 4);
+
+        perms = new ArrayList<>();
+        for (JsonElement town : towns) {
+            perms.add(town.getAsJsonObject().getAsJsonObject("perms"));
+        }
+    }
+
+    @Benchmark
+    public void parsePlayerBatch(Blackhole blackhole) {
+        for (JsonElement player : players) {
+            blackhole.consume(new Player(player.getAsJsonObject()));
+        }
+    }
+
+    @Benchmark
+    public void parseTownBatch(Blackhole blackhole) {
+        for (JsonElement town : towns) {
+            blackhole.consume(new Town(town.getAsJsonObject()));
+        }
+    }
+
+    @Benchmark
+    public void parseNationBatch(Blackhole blackhole) {
+        for (JsonElement nation : nations) {
+            blackhole.consume(new Nation(nation.getAsJsonObject()));
+        }
+    }
+
+    @Benchmark
+    public void parseQuarterBatch(Blackhole blackhole) {
+        for (JsonElement quarter : quarters) {
+            blackhole.consume(new Quarter(quarter.getAsJsonObject()));
+        }
+    }
+
+    @Benchmark
+    public void parsePermissions(Blackhole blackhole) {
+        for (JsonObject permsObject : perms) {
+            blackhole.consume(new Permissions(permsObject));
+        }
+    }
+}
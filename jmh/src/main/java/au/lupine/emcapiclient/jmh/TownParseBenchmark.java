@@ -0,0 +1,35 @@
+package au.lupine.emcapiclient.jmh;
+
+import au.lupine.emcapiclient.object.apiobject.Town;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses an all-towns payload into {@link Town} objects, the work done for every town by getAllTowns once the responses have arrived
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class TownParseBenchmark {
+
+    private JsonArray towns;
+
+    @Setup
+    public void setup() {
+        towns = Fixtures.createAllTowns(42);
+    }
+
+    @Benchmark
+    public void parseAllTowns(Blackhole blackhole) {
+        for (JsonElement town : towns) {
+            blackhole.consume(new Town(town.getAsJsonObject()));
+        }
+    }
+}
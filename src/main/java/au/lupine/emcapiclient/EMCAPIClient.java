@@ -1,48 +1,111 @@
 package au.lupine.emcapiclient;
 
+import au.lupine.emcapiclient.index.DiplomacyGraph;
+import au.lupine.emcapiclient.index.QuarterIndex;
+import au.lupine.emcapiclient.index.WorldClaimIndex;
+import au.lupine.emcapiclient.manager.BatchDispatcher;
+import au.lupine.emcapiclient.manager.BatchResult;
+import au.lupine.emcapiclient.manager.CacheManager;
+import au.lupine.emcapiclient.manager.EntityLoader;
+import au.lupine.emcapiclient.manager.RequestListener;
 import au.lupine.emcapiclient.manager.RequestManager;
 import au.lupine.emcapiclient.object.Location;
 import au.lupine.emcapiclient.object.apiobject.*;
 import au.lupine.emcapiclient.object.identifier.*;
 import au.lupine.emcapiclient.object.state.DiscordType;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.object.wrapper.Server;
+import au.lupine.emcapiclient.query.FetchPlan;
+import au.lupine.emcapiclient.query.FetchPlanner;
+import au.lupine.emcapiclient.query.FetchResult;
+import au.lupine.emcapiclient.store.WorldSnapshot;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.net.ProxySelector;
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * The primary class in EMCAPIClient, simply create a new instance like any other object to use it
  * <p>
  * Methods with and without a {@link Server} parameter will default to the server specified by {@link #setDefaultServer(Server)} when no server is provided
+ * <p>
+ * Every lookup has an equivalent method suffixed with Async that returns a {@link CompletableFuture} instead of blocking the calling thread
  */
 @SuppressWarnings("unused")
 public class EMCAPIClient {
 
     public static final URI EARTHMC_API_URI = URI.create("https://api.earthmc.net/v3/");
 
-    private final RequestManager requestManager = new RequestManager();
+    private final URI apiURI;
+    private final RequestManager requestManager;
+    private final CacheManager cacheManager = new CacheManager();
     private Server server = Server.AURORA;
+    private volatile BatchDispatcher batchDispatcher;
+    private volatile JsonRetention jsonRetention = JsonRetention.FULL;
 
     /**
      * Create a new instance of EMCAPIClient with the default server unchanged
      */
-    public EMCAPIClient() {}
+    public EMCAPIClient() {
+        this(EARTHMC_API_URI);
+    }
 
     /**
      * Create a new instance of EMCAPIClient with a specific server as the default
      * @param server The default server for this EMCAPIClient instance
      */
     public EMCAPIClient(Server server) {
+        this(EARTHMC_API_URI, server);
+    }
+
+    /**
+     * Create a new instance of EMCAPIClient that sends requests to another API, such as a {@link au.lupine.emcapiclient.stub.StubServer}
+     * @param apiURI The URI server names are resolved against, {@link #EARTHMC_API_URI} by default
+     */
+    public EMCAPIClient(@NotNull URI apiURI) {
+        this(apiURI, Server.AURORA);
+    }
+
+    public EMCAPIClient(@NotNull URI apiURI, Server server) {
+        this(apiURI, server, new RequestManager());
+    }
+
+    /**
+     * Create a new instance of EMCAPIClient that sends its requests through a configured RequestManager, see {@link RequestManager#builder()}
+     */
+    public EMCAPIClient(@NotNull URI apiURI, Server server, @NotNull RequestManager requestManager) {
+        String path = apiURI.getPath();
+        this.apiURI = path == null || path.endsWith("/") ? apiURI : URI.create(apiURI + "/");
         this.server = server;
+        this.requestManager = requestManager;
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -52,25 +115,278 @@ public class EMCAPIClient {
         this.server = server;
     }
 
+    public Server getDefaultServer() {
+        return server;
+    }
+
     private URI createServerURI(Server server) {
-        return EARTHMC_API_URI.resolve(server.getName() + "/");
+        return apiURI.resolve(server.getName() + "/");
+    }
+
+    public @NotNull URI getAPIURI() {
+        return apiURI;
     }
 
     public RequestManager getRequestManager() {
         return requestManager;
     }
 
+    public CacheManager getCacheManager() {
+        return cacheManager;
+    }
+
+    public @Nullable BatchDispatcher getBatchDispatcher() {
+        return batchDispatcher;
+    }
+
+    /**
+     * Opt in to merging single-entity lookups such as {@link #getPlayerByUUID(UUID)} that arrive close together into one batched request per endpoint
+     * @param batchDispatcher The dispatcher to send single lookups through, or null to send each lookup on its own (the default)
+     */
+    public void setBatchDispatcher(@Nullable BatchDispatcher batchDispatcher) {
+        this.batchDispatcher = batchDispatcher;
+    }
+
+    public @NotNull JsonRetention getJsonRetention() {
+        return jsonRetention;
+    }
+
+    /**
+     * Set what objects returned by this client keep of the JSON they were parsed from, objects that were already returned or cached are unaffected
+     * @param jsonRetention {@link JsonRetention#FULL} by default, {@link JsonRetention#COMPACT} or {@link JsonRetention#NONE} to use less memory when holding many objects
+     */
+    public void setJsonRetention(@NotNull JsonRetention jsonRetention) {
+        this.jsonRetention = jsonRetention;
+    }
+
+    private <T> @NotNull Function<JsonObject, T> retaining(@NotNull BiFunction<JsonObject, JsonRetention, T> constructor) {
+        JsonRetention retention = jsonRetention;
+        return jsonObject -> constructor.apply(jsonObject, retention);
+    }
+
+    private <T> @NotNull CompletableFuture<List<T>> postQueryAsync(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull JsonArray queryArray, @NotNull Function<JsonObject, T> constructor) {
+        return requestManager.batchPostAsJsonArrayAsync(createServerURI(server).resolve(endpoint.getName()), JSONUtil.createRequestBody(queryArray)).thenApply(response -> {
+            List<T> objects = new ArrayList<>();
+            for (JsonElement element : response) {
+                objects.add(constructor.apply(element.getAsJsonObject()));
+            }
+
+            return objects;
+        });
+    }
+
+    /**
+     * Serves what it can of the query from the {@link CacheManager} and only requests the rest, the result keeps the order of the query
+     */
+    private <T extends Identifiable> @NotNull CompletableFuture<List<T>> getIdentifiablesByStringsAsync(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull List<String> query, @NotNull Function<JsonObject, T> constructor) {
+        if (!cacheManager.isEnabled(endpoint)) return postQueryAsync(server, endpoint, JSONUtil.createQueryArray(query), constructor);
+
+        List<T> cached = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String entry : query) {
+            T object = cacheManager.get(server, endpoint, entry);
+            cached.add(object);
+
+            if (object == null) missing.add(entry);
+        }
+
+        notifyCacheLookup(endpoint, query.size() - missing.size(), missing.size());
+        if (missing.isEmpty()) return CompletableFuture.completedFuture(cached);
+
+        return postQueryAsync(server, endpoint, JSONUtil.createQueryArray(missing), constructor).thenApply(fetched -> {
+            Map<String, T> fetchedByKey = new HashMap<>();
+            for (T object : fetched) {
+                cacheManager.put(server, endpoint, object);
+
+                fetchedByKey.put(object.getUUID().toString(), object);
+                if (object.getName() != null) fetchedByKey.put(object.getName().toLowerCase(Locale.ROOT), object);
+            }
+
+            if (missing.size() == query.size()) return fetched;
+
+            List<T> objects = new ArrayList<>();
+            for (int i = 0; i < query.size(); i++) {
+                T object = cached.get(i);
+                if (object == null) object = fetchedByKey.get(query.get(i).toLowerCase(Locale.ROOT));
+
+                if (object != null) objects.add(object);
+            }
+
+            return objects;
+        });
+    }
+
+    /**
+     * Requests the whole query without failing on a batch that could not be fetched, every entity that was fetched is put in the {@link CacheManager}
+     */
+    private <T extends Identifiable> @NotNull CompletableFuture<BatchResult<T>> getIdentifiablesAsBatchResultAsync(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull List<String> query, @NotNull Function<JsonObject, T> constructor) {
+        URI uri = createServerURI(server).resolve(endpoint.getName());
+
+        return requestManager.batchPostAsBatchResultAsync(uri, JSONUtil.createRequestBody(JSONUtil.createQueryArray(query))).thenApply(result -> result.map(element -> {
+            T object = constructor.apply(element.getAsJsonObject());
+            cacheManager.put(server, endpoint, object);
+
+            return object;
+        }));
+    }
+
+    /**
+     * Hands each entity to the consumer as soon as it has been parsed, see {@link RequestManager#batchPostAndStreamAsync(URI, JsonObject, Consumer)}
+     */
+    private <T extends Identifiable> @NotNull CompletableFuture<Void> streamIdentifiablesAsync(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull List<String> query, @NotNull Function<JsonObject, T> constructor, @NotNull Consumer<T> consumer) {
+        URI uri = createServerURI(server).resolve(endpoint.getName());
+
+        return requestManager.batchPostAndStreamAsync(uri, JSONUtil.createRequestBody(JSONUtil.createQueryArray(query)), element -> {
+            T object = constructor.apply(element.getAsJsonObject());
+            cacheManager.put(server, endpoint, object);
+
+            consumer.accept(object);
+        });
+    }
+
+    /**
+     * Follows one relation from every entity in the query in two waves, one for the entities in the query and then one for every entity they are related to.
+     * Each wave is one deduplicated query split at {@link RequestManager#MAX_BATCH_SIZE} per request, so the cost grows with the number of distinct entities over 100 rather than per entity
+     * @return The entities each entity in the query is related to, in query order. Entities in the query that could not be found or have neither a UUID nor a name are left out,
+     *         as are related entities with neither
+     */
+    private <K extends Identifier, S extends Identifiable, R extends Identifiable> @NotNull CompletableFuture<Map<K, List<R>>> traverseAsync(@NotNull Server server, @NotNull List<K> query, @NotNull Endpoint sourceEndpoint, @NotNull BiFunction<JsonObject, JsonRetention, S> sourceConstructor, @NotNull Function<S, List<? extends Identifier>> relation, @NotNull Endpoint relatedEndpoint, @NotNull BiFunction<JsonObject, JsonRetention, R> relatedConstructor) {
+        List<K> keys = new ArrayList<>(query.size());
+        for (K key : query) {
+            if (isResolvable(key)) keys.add(key);
+        }
+
+        return fetchDistinctAsync(server, sourceEndpoint, keys, retaining(sourceConstructor)).thenCompose(sources -> {
+            Map<K, List<? extends Identifier>> relatedByKey = new LinkedHashMap<>();
+            List<Identifier> related = new ArrayList<>();
+            for (K key : keys) {
+                S source = sources.get(toLookupKey(key));
+                if (source == null) continue;
+
+                // Relations the API has nothing to look up by, such as the king of a nation without one, are left out
+                List<Identifier> identifiers = new ArrayList<>();
+                for (Identifier identifier : relation.apply(source)) {
+                    if (isResolvable(identifier)) identifiers.add(identifier);
+                }
+
+                relatedByKey.put(key, identifiers);
+                related.addAll(identifiers);
+            }
+
+            return fetchDistinctAsync(server, relatedEndpoint, related, retaining(relatedConstructor)).thenApply(fetched -> {
+                Map<K, List<R>> result = new LinkedHashMap<>();
+                relatedByKey.forEach((key, identifiers) -> {
+                    List<R> objects = new ArrayList<>(identifiers.size());
+                    for (Identifier identifier : identifiers) {
+                        R object = fetched.get(toLookupKey(identifier));
+                        if (object != null) objects.add(object);
+                    }
+
+                    result.put(key, objects);
+                });
+
+                return result;
+            });
+        });
+    }
+
+    /**
+     * Like {@link #traverseAsync}, for relations to at most one entity such as a player's town. Entities that have no such relation are left out
+     */
+    private <K extends Identifier, S extends Identifiable, R extends Identifiable> @NotNull CompletableFuture<Map<K, R>> traverseToOneAsync(@NotNull Server server, @NotNull List<K> query, @NotNull Endpoint sourceEndpoint, @NotNull BiFunction<JsonObject, JsonRetention, S> sourceConstructor, @NotNull Function<S, ? extends Identifier> relation, @NotNull Endpoint relatedEndpoint, @NotNull BiFunction<JsonObject, JsonRetention, R> relatedConstructor) {
+        Function<S, List<? extends Identifier>> toList = source -> {
+            Identifier related = relation.apply(source);
+            return related == null ? List.of() : List.of(related);
+        };
+
+        return traverseAsync(server, query, sourceEndpoint, sourceConstructor, toList, relatedEndpoint, relatedConstructor).thenApply(lists -> {
+            Map<K, R> result = new LinkedHashMap<>();
+            lists.forEach((key, related) -> {
+                if (!related.isEmpty()) result.put(key, related.get(0));
+            });
+
+            return result;
+        });
+    }
+
+    /**
+     * Requests each distinct identifier once
+     * @return The fetched entities keyed by both their UUID and lower case name, see {@link #toLookupKey(Identifier)}
+     */
+    private <T extends Identifiable> @NotNull CompletableFuture<Map<String, T>> fetchDistinctAsync(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull List<? extends Identifier> identifiers, @NotNull Function<JsonObject, T> constructor) {
+        Map<String, String> query = new LinkedHashMap<>();
+        for (Identifier identifier : identifiers) {
+            query.putIfAbsent(toLookupKey(identifier), identifier.getUUIDOrNameAsString());
+        }
+
+        if (query.isEmpty()) return CompletableFuture.completedFuture(Map.of());
+
+        return getIdentifiablesByStringsAsync(server, endpoint, new ArrayList<>(query.values()), constructor).thenApply(objects -> {
+            Map<String, T> byKey = new HashMap<>(objects.size() * 4);
+            for (T object : objects) {
+                byKey.put(object.getUUID().toString(), object);
+                if (object.getName() != null) byKey.put(object.getName().toLowerCase(Locale.ROOT), object);
+            }
+
+            return byKey;
+        });
+    }
+
+    private void notifyCacheLookup(@NotNull Endpoint endpoint, int hits, int misses) {
+        RequestListener listener = requestManager.getRequestListener();
+        if (listener == RequestListener.NONE) return;
+
+        try {
+            listener.onCacheLookup(endpoint, hits, misses);
+        } catch (RuntimeException ignored) {}
+    }
+
+    /**
+     * @return Whether the identifier has a UUID or name to look it up by, a nation without a king has a king identifier with neither
+     */
+    private static boolean isResolvable(@NotNull Identifier identifier) {
+        return identifier.getUUIDOrNameAsString() != null;
+    }
+
+    private static @NotNull String toLookupKey(@NotNull Identifier identifier) {
+        return identifier.getUUIDOrNameAsString().toLowerCase(Locale.ROOT);
+    }
+
+    private <T extends Identifiable> @NotNull CompletableFuture<T> getIdentifiableByStringAsync(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull String query, @NotNull Function<JsonObject, T> constructor) {
+        BatchDispatcher dispatcher = batchDispatcher;
+        if (dispatcher == null) {
+            return getIdentifiablesByStringsAsync(server, endpoint, List.of(query), constructor).thenApply(list -> list.isEmpty() ? null : list.get(0));
+        }
+
+        T cached = cacheManager.get(server, endpoint, query);
+        if (cacheManager.isEnabled(endpoint)) notifyCacheLookup(endpoint, cached == null ? 0 : 1, cached == null ? 1 : 0);
+        if (cached != null) return CompletableFuture.completedFuture(cached);
+
+        return dispatcher.dispatch(createServerURI(server).resolve(endpoint.getName()), new JsonPrimitive(query)).thenApply(element -> {
+            if (element == null) return null;
+
+            T object = constructor.apply(element.getAsJsonObject());
+            cacheManager.put(server, endpoint, object);
+
+            return object;
+        });
+    }
+
     public @NotNull List<PlayerIdentifier> getAllPlayerIdentifiers() {
         return getAllPlayerIdentifiers(server);
     }
 
     public @NotNull List<PlayerIdentifier> getAllPlayerIdentifiers(@NotNull Server server) {
-        return Identifier.createIdentifierList(
-                requestManager.getURIAsJsonArray(
-                        createServerURI(server).resolve("players")
-                ),
-                PlayerIdentifier.class
-        );
+        return requestManager.await(getAllPlayerIdentifiersAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getAllPlayerIdentifiersAsync() {
+        return getAllPlayerIdentifiersAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getAllPlayerIdentifiersAsync(@NotNull Server server) {
+        return requestManager.getURIAsJsonArrayAsync(createServerURI(server).resolve(Endpoint.PLAYERS.getName()))
+                .thenApply(response -> Identifier.createIdentifierList(response, PlayerIdentifier::new));
     }
 
     public @NotNull List<TownIdentifier> getAllTownIdentifiers() {
@@ -78,12 +394,16 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<TownIdentifier> getAllTownIdentifiers(@NotNull Server server) {
-        return Identifier.createIdentifierList(
-                requestManager.getURIAsJsonArray(
-                        createServerURI(server).resolve("towns")
-                ),
-                TownIdentifier.class
-        );
+        return requestManager.await(getAllTownIdentifiersAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<TownIdentifier>> getAllTownIdentifiersAsync() {
+        return getAllTownIdentifiersAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<TownIdentifier>> getAllTownIdentifiersAsync(@NotNull Server server) {
+        return requestManager.getURIAsJsonArrayAsync(createServerURI(server).resolve(Endpoint.TOWNS.getName()))
+                .thenApply(response -> Identifier.createIdentifierList(response, TownIdentifier::new));
     }
 
     public @NotNull List<NationIdentifier> getAllNationIdentifiers() {
@@ -91,12 +411,16 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<NationIdentifier> getAllNationIdentifiers(@NotNull Server server) {
-        return Identifier.createIdentifierList(
-                requestManager.getURIAsJsonArray(
-                        createServerURI(server).resolve("nations")
-                ),
-                NationIdentifier.class
-        );
+        return requestManager.await(getAllNationIdentifiersAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<NationIdentifier>> getAllNationIdentifiersAsync() {
+        return getAllNationIdentifiersAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<NationIdentifier>> getAllNationIdentifiersAsync(@NotNull Server server) {
+        return requestManager.getURIAsJsonArrayAsync(createServerURI(server).resolve(Endpoint.NATIONS.getName()))
+                .thenApply(response -> Identifier.createIdentifierList(response, NationIdentifier::new));
     }
 
     public @NotNull List<QuarterIdentifier> getAllQuarterIdentifiers() {
@@ -104,12 +428,16 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<QuarterIdentifier> getAllQuarterIdentifiers(@NotNull Server server) {
-        return Identifier.createIdentifierList(
-                requestManager.getURIAsJsonArray(
-                        createServerURI(server).resolve("quarters")
-                ),
-                QuarterIdentifier.class
-        );
+        return requestManager.await(getAllQuarterIdentifiersAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<QuarterIdentifier>> getAllQuarterIdentifiersAsync() {
+        return getAllQuarterIdentifiersAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<QuarterIdentifier>> getAllQuarterIdentifiersAsync(@NotNull Server server) {
+        return requestManager.getURIAsJsonArrayAsync(createServerURI(server).resolve(Endpoint.QUARTERS.getName()))
+                .thenApply(response -> Identifier.createIdentifierList(response, QuarterIdentifier::new));
     }
 
     public @NotNull List<Player> getAllPlayers() {
@@ -117,7 +445,15 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Player> getAllPlayers(@NotNull Server server) {
-        return getPlayersByIdentifiers(getAllPlayerIdentifiers());
+        return requestManager.await(getAllPlayersAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getAllPlayersAsync() {
+        return getAllPlayersAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getAllPlayersAsync(@NotNull Server server) {
+        return getAllPlayerIdentifiersAsync(server).thenCompose(identifiers -> getPlayersByIdentifiersAsync(server, identifiers));
     }
 
     public @NotNull List<Town> getAllTowns() {
@@ -125,7 +461,15 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Town> getAllTowns(@NotNull Server server) {
-        return getTownsByIdentifiers(getAllTownIdentifiers());
+        return requestManager.await(getAllTownsAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<Town>> getAllTownsAsync() {
+        return getAllTownsAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<Town>> getAllTownsAsync(@NotNull Server server) {
+        return getAllTownIdentifiersAsync(server).thenCompose(identifiers -> getTownsByIdentifiersAsync(server, identifiers));
     }
 
     public @NotNull List<Nation> getAllNations() {
@@ -133,7 +477,15 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Nation> getAllNations(@NotNull Server server) {
-        return getNationsByIdentifiers(getAllNationIdentifiers());
+        return requestManager.await(getAllNationsAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> getAllNationsAsync() {
+        return getAllNationsAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> getAllNationsAsync(@NotNull Server server) {
+        return getAllNationIdentifiersAsync(server).thenCompose(identifiers -> getNationsByIdentifiersAsync(server, identifiers));
     }
 
     public @NotNull List<Quarter> getAllQuarters() {
@@ -141,7 +493,194 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Quarter> getAllQuarters(@NotNull Server server) {
-        return getQuartersByIdentifiers(getAllQuarterIdentifiers());
+        return requestManager.await(getAllQuartersAsync(server));
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> getAllQuartersAsync() {
+        return getAllQuartersAsync(server);
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> getAllQuartersAsync(@NotNull Server server) {
+        return getAllQuarterIdentifiersAsync(server).thenCompose(identifiers -> getQuartersByIdentifiersAsync(server, identifiers));
+    }
+
+    public void streamAllPlayers(@NotNull Consumer<Player> consumer) {
+        streamAllPlayers(server, consumer);
+    }
+
+    /**
+     * Like {@link #getAllPlayers(Server)}, but each player is handed to the consumer as soon as it has been parsed instead of being collected into a list,
+     * so memory use stays bounded by the players in flight rather than growing with the server. The consumer is never called concurrently
+     */
+    public void streamAllPlayers(@NotNull Server server, @NotNull Consumer<Player> consumer) {
+        requestManager.await(streamAllPlayersAsync(server, consumer));
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllPlayersAsync(@NotNull Consumer<Player> consumer) {
+        return streamAllPlayersAsync(server, consumer);
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllPlayersAsync(@NotNull Server server, @NotNull Consumer<Player> consumer) {
+        return getAllPlayerIdentifiersAsync(server).thenCompose(identifiers -> streamIdentifiablesAsync(server, Endpoint.PLAYERS, identifiers.stream().map(Identifier::getUUIDOrNameAsString).toList(), retaining(Player::new), consumer));
+    }
+
+    public void streamAllTowns(@NotNull Consumer<Town> consumer) {
+        streamAllTowns(server, consumer);
+    }
+
+    public void streamAllTowns(@NotNull Server server, @NotNull Consumer<Town> consumer) {
+        requestManager.await(streamAllTownsAsync(server, consumer));
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllTownsAsync(@NotNull Consumer<Town> consumer) {
+        return streamAllTownsAsync(server, consumer);
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllTownsAsync(@NotNull Server server, @NotNull Consumer<Town> consumer) {
+        return getAllTownIdentifiersAsync(server).thenCompose(identifiers -> streamIdentifiablesAsync(server, Endpoint.TOWNS, identifiers.stream().map(Identifier::getUUIDOrNameAsString).toList(), retaining(Town::new), consumer));
+    }
+
+    public void streamAllNations(@NotNull Consumer<Nation> consumer) {
+        streamAllNations(server, consumer);
+    }
+
+    public void streamAllNations(@NotNull Server server, @NotNull Consumer<Nation> consumer) {
+        requestManager.await(streamAllNationsAsync(server, consumer));
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllNationsAsync(@NotNull Consumer<Nation> consumer) {
+        return streamAllNationsAsync(server, consumer);
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllNationsAsync(@NotNull Server server, @NotNull Consumer<Nation> consumer) {
+        return getAllNationIdentifiersAsync(server).thenCompose(identifiers -> streamIdentifiablesAsync(server, Endpoint.NATIONS, identifiers.stream().map(Identifier::getUUIDOrNameAsString).toList(), retaining(Nation::new), consumer));
+    }
+
+    public void streamAllQuarters(@NotNull Consumer<Quarter> consumer) {
+        streamAllQuarters(server, consumer);
+    }
+
+    public void streamAllQuarters(@NotNull Server server, @NotNull Consumer<Quarter> consumer) {
+        requestManager.await(streamAllQuartersAsync(server, consumer));
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllQuartersAsync(@NotNull Consumer<Quarter> consumer) {
+        return streamAllQuartersAsync(server, consumer);
+    }
+
+    public @NotNull CompletableFuture<Void> streamAllQuartersAsync(@NotNull Server server, @NotNull Consumer<Quarter> consumer) {
+        return getAllQuarterIdentifiersAsync(server).thenCompose(identifiers -> streamIdentifiablesAsync(server, Endpoint.QUARTERS, identifiers.stream().map(Identifier::getUUIDOrNameAsString).toList(), retaining(Quarter::new), consumer));
+    }
+
+    public @NotNull WorldClaimIndex createWorldClaimIndex() {
+        return createWorldClaimIndex(server);
+    }
+
+    /**
+     * Fetches every town and indexes their town blocks, so which town has claimed a location can be answered without a request per location.
+     * Keep the index current with {@link WorldClaimIndex#update(Town)} or {@link WorldClaimIndex#replaceAll} as towns are fetched again
+     */
+    public @NotNull WorldClaimIndex createWorldClaimIndex(@NotNull Server server) {
+        return requestManager.await(createWorldClaimIndexAsync(server));
+    }
+
+    public @NotNull CompletableFuture<WorldClaimIndex> createWorldClaimIndexAsync() {
+        return createWorldClaimIndexAsync(server);
+    }
+
+    public @NotNull CompletableFuture<WorldClaimIndex> createWorldClaimIndexAsync(@NotNull Server server) {
+        return getAllTownsAsync(server).thenApply(WorldClaimIndex::new);
+    }
+
+    public @NotNull QuarterIndex createQuarterIndex() {
+        return createQuarterIndex(server);
+    }
+
+    /**
+     * Fetches every quarter and indexes their cuboids, so which quarter contains a block can be answered without scanning every quarter
+     */
+    public @NotNull QuarterIndex createQuarterIndex(@NotNull Server server) {
+        return requestManager.await(createQuarterIndexAsync(server));
+    }
+
+    public @NotNull CompletableFuture<QuarterIndex> createQuarterIndexAsync() {
+        return createQuarterIndexAsync(server);
+    }
+
+    public @NotNull CompletableFuture<QuarterIndex> createQuarterIndexAsync(@NotNull Server server) {
+        return getAllQuartersAsync(server).thenApply(QuarterIndex::new);
+    }
+
+    public <T extends Identifiable> @NotNull FetchResult<T> fetch(@NotNull FetchPlan<T> plan) {
+        return fetch(server, plan);
+    }
+
+    /**
+     * Fetches the entities a plan starts from along with every relation it expands, in one round of batched requests per level of expansion, see {@link FetchPlanner}
+     */
+    public <T extends Identifiable> @NotNull FetchResult<T> fetch(@NotNull Server server, @NotNull FetchPlan<T> plan) {
+        return requestManager.await(fetchAsync(server, plan));
+    }
+
+    public <T extends Identifiable> @NotNull CompletableFuture<FetchResult<T>> fetchAsync(@NotNull FetchPlan<T> plan) {
+        return fetchAsync(server, plan);
+    }
+
+    public <T extends Identifiable> @NotNull CompletableFuture<FetchResult<T>> fetchAsync(@NotNull Server server, @NotNull FetchPlan<T> plan) {
+        return new FetchPlanner(this, server).fetchAsync(plan);
+    }
+
+    public @NotNull EntityLoader createEntityLoader() {
+        return createEntityLoader(server);
+    }
+
+    /**
+     * Creates a loader that gathers identifiers to resolve and fetches them in one batched request per entity type when dispatched, see {@link EntityLoader}
+     */
+    public @NotNull EntityLoader createEntityLoader(@NotNull Server server) {
+        return new EntityLoader(this, server);
+    }
+
+    public @NotNull DiplomacyGraph createDiplomacyGraph() {
+        return createDiplomacyGraph(server);
+    }
+
+    /**
+     * Fetches every nation and links them by their allies, enemies and sanctioned towns, so chains of relations can be followed without a request per hop
+     */
+    public @NotNull DiplomacyGraph createDiplomacyGraph(@NotNull Server server) {
+        return requestManager.await(createDiplomacyGraphAsync(server));
+    }
+
+    public @NotNull CompletableFuture<DiplomacyGraph> createDiplomacyGraphAsync() {
+        return createDiplomacyGraphAsync(server);
+    }
+
+    public @NotNull CompletableFuture<DiplomacyGraph> createDiplomacyGraphAsync(@NotNull Server server) {
+        return getAllNationsAsync(server).thenApply(DiplomacyGraph::new);
+    }
+
+    public void saveWorldSnapshot(@NotNull Path path) throws IOException {
+        saveWorldSnapshot(server, path);
+    }
+
+    /**
+     * Fetches every player, town, nation and quarter and writes them to a snapshot file that {@link WorldSnapshot#open(Path)} maps back in milliseconds.
+     * Fails if this client's {@link JsonRetention} is {@link JsonRetention#NONE}, as the snapshot stores each entity's JSON
+     */
+    public void saveWorldSnapshot(@NotNull Server server, @NotNull Path path) throws IOException {
+        CompletableFuture<List<Player>> players = getAllPlayersAsync(server);
+        CompletableFuture<List<Town>> towns = getAllTownsAsync(server);
+        CompletableFuture<List<Nation>> nations = getAllNationsAsync(server);
+        CompletableFuture<List<Quarter>> quarters = getAllQuartersAsync(server);
+        requestManager.await(CompletableFuture.allOf(players, towns, nations, quarters));
+
+        new WorldSnapshot.Writer()
+                .addPlayers(players.join())
+                .addTowns(towns.join())
+                .addNations(nations.join())
+                .addQuarters(quarters.join())
+                .write(path);
     }
 
     public @NotNull List<Player> getPlayersByStrings(@NotNull List<String> query) {
@@ -149,20 +688,15 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Player> getPlayersByStrings(@NotNull Server server, @NotNull List<String> query) {
-        JsonArray queryArray = new JsonArray();
-        for (String entry : query) {
-            queryArray.add(entry);
-        }
-
-        JsonArray response = requestManager.batchPostAsJsonArray(createServerURI(server).resolve("players"), JSONUtil.createRequestBody(queryArray));
+        return requestManager.await(getPlayersByStringsAsync(server, query));
+    }
 
-        List<Player> players = new ArrayList<>();
-        for (JsonElement element : response) {
-            Player player = new Player(element.getAsJsonObject());
-            players.add(player);
-        }
+    public @NotNull CompletableFuture<List<Player>> getPlayersByStringsAsync(@NotNull List<String> query) {
+        return getPlayersByStringsAsync(server, query);
+    }
 
-        return players;
+    public @NotNull CompletableFuture<List<Player>> getPlayersByStringsAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesByStringsAsync(server, Endpoint.PLAYERS, query, retaining(Player::new));
     }
 
     public @NotNull List<Town> getTownsByStrings(@NotNull List<String> query) {
@@ -170,20 +704,15 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Town> getTownsByStrings(@NotNull Server server, @NotNull List<String> query) {
-        JsonArray queryArray = new JsonArray();
-        for (String entry : query) {
-            queryArray.add(entry);
-        }
-
-        JsonArray response = requestManager.batchPostAsJsonArray(createServerURI(server).resolve("towns"), JSONUtil.createRequestBody(queryArray));
+        return requestManager.await(getTownsByStringsAsync(server, query));
+    }
 
-        List<Town> towns = new ArrayList<>();
-        for (JsonElement element : response) {
-            Town town = new Town(element.getAsJsonObject());
-            towns.add(town);
-        }
+    public @NotNull CompletableFuture<List<Town>> getTownsByStringsAsync(@NotNull List<String> query) {
+        return getTownsByStringsAsync(server, query);
+    }
 
-        return towns;
+    public @NotNull CompletableFuture<List<Town>> getTownsByStringsAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesByStringsAsync(server, Endpoint.TOWNS, query, retaining(Town::new));
     }
 
     public @NotNull List<Nation> getNationsByStrings(@NotNull List<String> query) {
@@ -191,20 +720,15 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Nation> getNationsByStrings(@NotNull Server server, @NotNull List<String> query) {
-        JsonArray queryArray = new JsonArray();
-        for (String entry : query) {
-            queryArray.add(entry);
-        }
-
-        JsonArray response = requestManager.batchPostAsJsonArray(createServerURI(server).resolve("nations"), JSONUtil.createRequestBody(queryArray));
+        return requestManager.await(getNationsByStringsAsync(server, query));
+    }
 
-        List<Nation> nations = new ArrayList<>();
-        for (JsonElement element : response) {
-            Nation nation = new Nation(element.getAsJsonObject());
-            nations.add(nation);
-        }
+    public @NotNull CompletableFuture<List<Nation>> getNationsByStringsAsync(@NotNull List<String> query) {
+        return getNationsByStringsAsync(server, query);
+    }
 
-        return nations;
+    public @NotNull CompletableFuture<List<Nation>> getNationsByStringsAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesByStringsAsync(server, Endpoint.NATIONS, query, retaining(Nation::new));
     }
 
     public @NotNull List<Quarter> getQuartersByStrings(@NotNull List<String> query) {
@@ -212,20 +736,82 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Quarter> getQuartersByStrings(@NotNull Server server, @NotNull List<String> query) {
-        JsonArray queryArray = new JsonArray();
-        for (String entry : query) {
-            queryArray.add(entry);
-        }
+        return requestManager.await(getQuartersByStringsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByStringsAsync(@NotNull List<String> query) {
+        return getQuartersByStringsAsync(server, query);
+    }
 
-        JsonArray response = requestManager.batchPostAsJsonArray(createServerURI(server).resolve("quarters"), JSONUtil.createRequestBody(queryArray));
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByStringsAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesByStringsAsync(server, Endpoint.QUARTERS, query, retaining(Quarter::new));
+    }
 
-        List<Quarter> quarters = new ArrayList<>();
-        for (JsonElement element : response) {
-            Quarter quarter = new Quarter(element.getAsJsonObject());
-            quarters.add(quarter);
-        }
+    public @NotNull BatchResult<Player> getPlayersByStringsAsBatchResult(@NotNull List<String> query) {
+        return getPlayersByStringsAsBatchResult(server, query);
+    }
+
+    /**
+     * Like {@link #getPlayersByStrings(Server, List)}, but batches that still fail after their retries are reported instead of failing the whole lookup
+     */
+    public @NotNull BatchResult<Player> getPlayersByStringsAsBatchResult(@NotNull Server server, @NotNull List<String> query) {
+        return requestManager.await(getPlayersByStringsAsBatchResultAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Player>> getPlayersByStringsAsBatchResultAsync(@NotNull List<String> query) {
+        return getPlayersByStringsAsBatchResultAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Player>> getPlayersByStringsAsBatchResultAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesAsBatchResultAsync(server, Endpoint.PLAYERS, query, retaining(Player::new));
+    }
+
+    public @NotNull BatchResult<Town> getTownsByStringsAsBatchResult(@NotNull List<String> query) {
+        return getTownsByStringsAsBatchResult(server, query);
+    }
+
+    public @NotNull BatchResult<Town> getTownsByStringsAsBatchResult(@NotNull Server server, @NotNull List<String> query) {
+        return requestManager.await(getTownsByStringsAsBatchResultAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Town>> getTownsByStringsAsBatchResultAsync(@NotNull List<String> query) {
+        return getTownsByStringsAsBatchResultAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Town>> getTownsByStringsAsBatchResultAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesAsBatchResultAsync(server, Endpoint.TOWNS, query, retaining(Town::new));
+    }
+
+    public @NotNull BatchResult<Nation> getNationsByStringsAsBatchResult(@NotNull List<String> query) {
+        return getNationsByStringsAsBatchResult(server, query);
+    }
+
+    public @NotNull BatchResult<Nation> getNationsByStringsAsBatchResult(@NotNull Server server, @NotNull List<String> query) {
+        return requestManager.await(getNationsByStringsAsBatchResultAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Nation>> getNationsByStringsAsBatchResultAsync(@NotNull List<String> query) {
+        return getNationsByStringsAsBatchResultAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Nation>> getNationsByStringsAsBatchResultAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesAsBatchResultAsync(server, Endpoint.NATIONS, query, retaining(Nation::new));
+    }
 
-        return quarters;
+    public @NotNull BatchResult<Quarter> getQuartersByStringsAsBatchResult(@NotNull List<String> query) {
+        return getQuartersByStringsAsBatchResult(server, query);
+    }
+
+    public @NotNull BatchResult<Quarter> getQuartersByStringsAsBatchResult(@NotNull Server server, @NotNull List<String> query) {
+        return requestManager.await(getQuartersByStringsAsBatchResultAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Quarter>> getQuartersByStringsAsBatchResultAsync(@NotNull List<String> query) {
+        return getQuartersByStringsAsBatchResultAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<BatchResult<Quarter>> getQuartersByStringsAsBatchResultAsync(@NotNull Server server, @NotNull List<String> query) {
+        return getIdentifiablesAsBatchResultAsync(server, Endpoint.QUARTERS, query, retaining(Quarter::new));
     }
 
     public @NotNull List<Discord> getDiscordsByStrings(@NotNull DiscordType type, @NotNull List<String> query) {
@@ -233,6 +819,14 @@ public class EMCAPIClient {
     }
 
     public @NotNull List<Discord> getDiscordsByStrings(@NotNull Server server, @NotNull DiscordType type, @NotNull List<String> query) {
+        return requestManager.await(getDiscordsByStringsAsync(server, type, query));
+    }
+
+    public @NotNull CompletableFuture<List<Discord>> getDiscordsByStringsAsync(@NotNull DiscordType type, @NotNull List<String> query) {
+        return getDiscordsByStringsAsync(server, type, query);
+    }
+
+    public @NotNull CompletableFuture<List<Discord>> getDiscordsByStringsAsync(@NotNull Server server, @NotNull DiscordType type, @NotNull List<String> query) {
         JsonArray queryArray = new JsonArray();
         for (String entry : query) {
             JsonObject innerObject = new JsonObject();
@@ -241,17 +835,7 @@ public class EMCAPIClient {
             queryArray.add(innerObject);
         }
 
-        JsonArray response = requestManager.batchPostAsJsonArray(createServerURI(server).resolve("discord"), JSONUtil.createRequestBody(queryArray));
-
-        List<Discord> pairs = new ArrayList<>();
-        for (JsonElement element : response) {
-            JsonObject jsonObject = element.getAsJsonObject();
-            Discord pair = new Discord(jsonObject);
-
-            pairs.add(pair);
-        }
-
-        return pairs;
+        return postQueryAsync(server, Endpoint.DISCORD, queryArray, retaining(Discord::new));
     }
 
     public @NotNull List<Player> getPlayersByUUIDs(@NotNull List<UUID> query) {
@@ -262,6 +846,14 @@ public class EMCAPIClient {
         return getPlayersByStrings(server, query.stream().map(UUID::toString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Player>> getPlayersByUUIDsAsync(@NotNull List<UUID> query) {
+        return getPlayersByUUIDsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getPlayersByUUIDsAsync(@NotNull Server server, @NotNull List<UUID> query) {
+        return getPlayersByStringsAsync(server, query.stream().map(UUID::toString).toList());
+    }
+
     public @NotNull List<Town> getTownsByUUIDs(@NotNull List<UUID> query) {
         return getTownsByUUIDs(server, query);
     }
@@ -270,6 +862,14 @@ public class EMCAPIClient {
         return getTownsByStrings(server, query.stream().map(UUID::toString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Town>> getTownsByUUIDsAsync(@NotNull List<UUID> query) {
+        return getTownsByUUIDsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Town>> getTownsByUUIDsAsync(@NotNull Server server, @NotNull List<UUID> query) {
+        return getTownsByStringsAsync(server, query.stream().map(UUID::toString).toList());
+    }
+
     public @NotNull List<Nation> getNationsByUUIDs(@NotNull List<UUID> query) {
         return getNationsByUUIDs(server, query);
     }
@@ -278,6 +878,14 @@ public class EMCAPIClient {
         return getNationsByStrings(server, query.stream().map(UUID::toString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Nation>> getNationsByUUIDsAsync(@NotNull List<UUID> query) {
+        return getNationsByUUIDsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> getNationsByUUIDsAsync(@NotNull Server server, @NotNull List<UUID> query) {
+        return getNationsByStringsAsync(server, query.stream().map(UUID::toString).toList());
+    }
+
     public @NotNull List<Quarter> getQuartersByUUIDs(@NotNull List<UUID> query) {
         return getQuartersByUUIDs(server, query);
     }
@@ -286,6 +894,14 @@ public class EMCAPIClient {
         return getQuartersByStrings(server, query.stream().map(UUID::toString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByUUIDsAsync(@NotNull List<UUID> query) {
+        return getQuartersByUUIDsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByUUIDsAsync(@NotNull Server server, @NotNull List<UUID> query) {
+        return getQuartersByStringsAsync(server, query.stream().map(UUID::toString).toList());
+    }
+
     public @NotNull List<Discord> getDiscordsByUUIDs(@NotNull List<UUID> query) {
         return getDiscordsByUUIDs(server, query);
     }
@@ -294,6 +910,14 @@ public class EMCAPIClient {
         return getDiscordsByStrings(server, DiscordType.MINECRAFT, query.stream().map(UUID::toString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Discord>> getDiscordsByUUIDsAsync(@NotNull List<UUID> query) {
+        return getDiscordsByUUIDsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Discord>> getDiscordsByUUIDsAsync(@NotNull Server server, @NotNull List<UUID> query) {
+        return getDiscordsByStringsAsync(server, DiscordType.MINECRAFT, query.stream().map(UUID::toString).toList());
+    }
+
     public @NotNull List<Player> getPlayersByStrings(@NotNull String... query) {
         return getPlayersByStrings(server, query);
     }
@@ -342,6 +966,14 @@ public class EMCAPIClient {
         return getPlayersByStrings(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Player>> getPlayersByIdentifiersAsync(@NotNull List<PlayerIdentifier> query) {
+        return getPlayersByIdentifiersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getPlayersByIdentifiersAsync(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return getPlayersByStringsAsync(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
+    }
+
     public @NotNull List<Town> getTownsByIdentifiers(@NotNull List<TownIdentifier> query) {
         return getTownsByIdentifiers(server, query);
     }
@@ -350,6 +982,14 @@ public class EMCAPIClient {
         return getTownsByStrings(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Town>> getTownsByIdentifiersAsync(@NotNull List<TownIdentifier> query) {
+        return getTownsByIdentifiersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Town>> getTownsByIdentifiersAsync(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return getTownsByStringsAsync(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
+    }
+
     public @NotNull List<Nation> getNationsByIdentifiers(@NotNull List<NationIdentifier> query) {
         return getNationsByIdentifiers(server, query);
     }
@@ -358,6 +998,14 @@ public class EMCAPIClient {
         return getNationsByStrings(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Nation>> getNationsByIdentifiersAsync(@NotNull List<NationIdentifier> query) {
+        return getNationsByIdentifiersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> getNationsByIdentifiersAsync(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return getNationsByStringsAsync(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
+    }
+
     public @NotNull List<Quarter> getQuartersByIdentifiers(@NotNull List<QuarterIdentifier> query) {
         return getQuartersByIdentifiers(server, query);
     }
@@ -366,6 +1014,14 @@ public class EMCAPIClient {
         return getQuartersByStrings(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
     }
 
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByIdentifiersAsync(@NotNull List<QuarterIdentifier> query) {
+        return getQuartersByIdentifiersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByIdentifiersAsync(@NotNull Server server, @NotNull List<QuarterIdentifier> query) {
+        return getQuartersByStringsAsync(server, query.stream().map(Identifier::getUUIDOrNameAsString).toList());
+    }
+
     public @NotNull List<Discord> getDiscordsByIdentifiers(@NotNull List<PlayerIdentifier> query) {
         return getDiscordsByIdentifiers(server, query);
     }
@@ -374,13 +1030,28 @@ public class EMCAPIClient {
         return getDiscordsByUUIDs(server, query.stream().map(Identifier::getUUID).toList());
     }
 
+    public @NotNull CompletableFuture<List<Discord>> getDiscordsByIdentifiersAsync(@NotNull List<PlayerIdentifier> query) {
+        return getDiscordsByIdentifiersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<Discord>> getDiscordsByIdentifiersAsync(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return getDiscordsByUUIDsAsync(server, query.stream().map(Identifier::getUUID).toList());
+    }
+
     public @NotNull ServerInfo getServerInfo() {
         return getServerInfo(server);
     }
 
     public @NotNull ServerInfo getServerInfo(@NotNull Server server) {
-        JsonObject response = requestManager.getURIAsJsonObject(createServerURI(server));
-        return new ServerInfo(response);
+        return requestManager.await(getServerInfoAsync(server));
+    }
+
+    public @NotNull CompletableFuture<ServerInfo> getServerInfoAsync() {
+        return getServerInfoAsync(server);
+    }
+
+    public @NotNull CompletableFuture<ServerInfo> getServerInfoAsync(@NotNull Server server) {
+        return requestManager.getURIAsJsonObjectAsync(createServerURI(server)).thenApply(retaining(ServerInfo::new));
     }
 
     public @Nullable Player getPlayerByString(@NotNull String query) {
@@ -388,8 +1059,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Player getPlayerByString(@NotNull Server server, @NotNull String query) {
-        List<Player> players = getPlayersByStrings(server, query);
-        return players.isEmpty() ? null : players.get(0);
+        return requestManager.await(getPlayerByStringAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Player> getPlayerByStringAsync(@NotNull String query) {
+        return getPlayerByStringAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Player> getPlayerByStringAsync(@NotNull Server server, @NotNull String query) {
+        return getIdentifiableByStringAsync(server, Endpoint.PLAYERS, query, retaining(Player::new));
     }
 
     public @Nullable Town getTownByString(@NotNull String query) {
@@ -397,8 +1075,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Town getTownByString(@NotNull Server server, @NotNull String query) {
-        List<Town> towns = getTownsByStrings(server, query);
-        return towns.isEmpty() ? null : towns.get(0);
+        return requestManager.await(getTownByStringAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByStringAsync(@NotNull String query) {
+        return getTownByStringAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByStringAsync(@NotNull Server server, @NotNull String query) {
+        return getIdentifiableByStringAsync(server, Endpoint.TOWNS, query, retaining(Town::new));
     }
 
     public @Nullable Nation getNationByString(@NotNull String query) {
@@ -406,8 +1091,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Nation getNationByString(@NotNull Server server, @NotNull String query) {
-        List<Nation> nations = getNationsByStrings(server, query);
-        return nations.isEmpty() ? null : nations.get(0);
+        return requestManager.await(getNationByStringAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByStringAsync(@NotNull String query) {
+        return getNationByStringAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByStringAsync(@NotNull Server server, @NotNull String query) {
+        return getIdentifiableByStringAsync(server, Endpoint.NATIONS, query, retaining(Nation::new));
     }
 
     public @Nullable Quarter getQuarterByString(@NotNull String query) {
@@ -415,8 +1107,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Quarter getQuarterByString(@NotNull Server server, @NotNull String query) {
-        List<Quarter> quarters = getQuartersByStrings(server, query);
-        return quarters.isEmpty() ? null : quarters.get(0);
+        return requestManager.await(getQuarterByStringAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Quarter> getQuarterByStringAsync(@NotNull String query) {
+        return getQuarterByStringAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Quarter> getQuarterByStringAsync(@NotNull Server server, @NotNull String query) {
+        return getIdentifiableByStringAsync(server, Endpoint.QUARTERS, query, retaining(Quarter::new));
     }
 
     public @NotNull Discord getDiscordByString(@NotNull DiscordType type, @NotNull String query) {
@@ -424,8 +1123,23 @@ public class EMCAPIClient {
     }
 
     public @NotNull Discord getDiscordByString(@NotNull Server server, @NotNull DiscordType type, @NotNull String query) {
-        List<Discord> identifiers = getDiscordsByStrings(server, type, query);
-        return identifiers.get(0);
+        return requestManager.await(getDiscordByStringAsync(server, type, query));
+    }
+
+    public @NotNull CompletableFuture<Discord> getDiscordByStringAsync(@NotNull DiscordType type, @NotNull String query) {
+        return getDiscordByStringAsync(server, type, query);
+    }
+
+    public @NotNull CompletableFuture<Discord> getDiscordByStringAsync(@NotNull Server server, @NotNull DiscordType type, @NotNull String query) {
+        BatchDispatcher dispatcher = batchDispatcher;
+        if (dispatcher == null) return getDiscordsByStringsAsync(server, type, List.of(query)).thenApply(list -> list.get(0));
+
+        JsonObject innerObject = new JsonObject();
+        innerObject.addProperty("type", type.getName());
+        innerObject.addProperty("target", query);
+
+        return dispatcher.dispatch(createServerURI(server).resolve(Endpoint.DISCORD.getName()), innerObject)
+                .thenApply(element -> element == null ? null : new Discord(element.getAsJsonObject(), jsonRetention));
     }
 
     public @Nullable Player getPlayerByUUID(@NotNull UUID query) {
@@ -433,7 +1147,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Player getPlayerByUUID(@NotNull Server server, @NotNull UUID query) {
-        return getPlayerByString(server, query.toString());
+        return requestManager.await(getPlayerByUUIDAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Player> getPlayerByUUIDAsync(@NotNull UUID query) {
+        return getPlayerByUUIDAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Player> getPlayerByUUIDAsync(@NotNull Server server, @NotNull UUID query) {
+        return getPlayerByStringAsync(server, query.toString());
     }
 
     public @Nullable Town getTownByUUID(@NotNull UUID query) {
@@ -441,7 +1163,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Town getTownByUUID(@NotNull Server server, @NotNull UUID query) {
-        return getTownByString(server, query.toString());
+        return requestManager.await(getTownByUUIDAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByUUIDAsync(@NotNull UUID query) {
+        return getTownByUUIDAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByUUIDAsync(@NotNull Server server, @NotNull UUID query) {
+        return getTownByStringAsync(server, query.toString());
     }
 
     public @Nullable Nation getNationByUUID(@NotNull UUID query) {
@@ -449,7 +1179,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Nation getNationByUUID(@NotNull Server server, @NotNull UUID query) {
-        return getNationByString(server, query.toString());
+        return requestManager.await(getNationByUUIDAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByUUIDAsync(@NotNull UUID query) {
+        return getNationByUUIDAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByUUIDAsync(@NotNull Server server, @NotNull UUID query) {
+        return getNationByStringAsync(server, query.toString());
     }
 
     public @Nullable Quarter getQuarterByUUID(@NotNull UUID query) {
@@ -457,7 +1195,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Quarter getQuarterByUUID(@NotNull Server server, @NotNull UUID query) {
-        return getQuarterByString(server, query.toString());
+        return requestManager.await(getQuarterByUUIDAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Quarter> getQuarterByUUIDAsync(@NotNull UUID query) {
+        return getQuarterByUUIDAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Quarter> getQuarterByUUIDAsync(@NotNull Server server, @NotNull UUID query) {
+        return getQuarterByStringAsync(server, query.toString());
     }
 
     public @Nullable Discord getDiscordByUUID(@NotNull UUID query) {
@@ -468,12 +1214,28 @@ public class EMCAPIClient {
         return getDiscordByString(server, DiscordType.MINECRAFT, query.toString());
     }
 
+    public @NotNull CompletableFuture<Discord> getDiscordByUUIDAsync(@NotNull UUID query) {
+        return getDiscordByUUIDAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Discord> getDiscordByUUIDAsync(@NotNull Server server, @NotNull UUID query) {
+        return getDiscordByStringAsync(server, DiscordType.MINECRAFT, query.toString());
+    }
+
     public @Nullable Player getPlayerByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getPlayerByIdentifier(server, identifier);
     }
 
     public @Nullable Player getPlayerByIdentifier(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
-        return getPlayerByString(server, identifier.getUUIDOrNameAsString());
+        return requestManager.await(getPlayerByIdentifierAsync(server, identifier));
+    }
+
+    public @NotNull CompletableFuture<Player> getPlayerByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getPlayerByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Player> getPlayerByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getPlayerByStringAsync(server, identifier.getUUIDOrNameAsString());
     }
 
     public @Nullable Town getTownByIdentifier(@NotNull TownIdentifier identifier) {
@@ -481,7 +1243,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Town getTownByIdentifier(@NotNull Server server, @NotNull TownIdentifier identifier) {
-        return getTownByString(server, identifier.getUUIDOrNameAsString());
+        return requestManager.await(getTownByIdentifierAsync(server, identifier));
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByStringAsync(server, identifier.getUUIDOrNameAsString());
     }
 
     public @Nullable Nation getNationByIdentifier(@NotNull NationIdentifier identifier) {
@@ -489,7 +1259,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Nation getNationByIdentifier(@NotNull Server server, @NotNull NationIdentifier identifier) {
-        return getNationByString(server, identifier.getUUIDOrNameAsString());
+        return requestManager.await(getNationByIdentifierAsync(server, identifier));
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByStringAsync(server, identifier.getUUIDOrNameAsString());
     }
 
     public @Nullable Quarter getQuarterByIdentifier(@NotNull QuarterIdentifier identifier) {
@@ -497,7 +1275,15 @@ public class EMCAPIClient {
     }
 
     public @Nullable Quarter getQuarterByIdentifier(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
-        return getQuarterByUUID(server, identifier.getUUID());
+        return requestManager.await(getQuarterByIdentifierAsync(server, identifier));
+    }
+
+    public @NotNull CompletableFuture<Quarter> getQuarterByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getQuarterByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Quarter> getQuarterByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getQuarterByUUIDAsync(server, identifier.getUUID());
     }
 
     public @Nullable Discord getDiscordByIdentifier(@NotNull PlayerIdentifier identifier) {
@@ -508,6 +1294,14 @@ public class EMCAPIClient {
         return getDiscordByUUID(server, identifier.getUUID());
     }
 
+    public @NotNull CompletableFuture<Discord> getDiscordByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getDiscordByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Discord> getDiscordByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getDiscordByUUIDAsync(server, identifier.getUUID());
+    }
+
     public @Nullable TownIdentifier getTownIdentifierByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getTownIdentifierByIdentifier(server, identifier);
     }
@@ -519,6 +1313,14 @@ public class EMCAPIClient {
         return player.getTown();
     }
 
+    public @NotNull CompletableFuture<TownIdentifier> getTownIdentifierByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getTownIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<TownIdentifier> getTownIdentifierByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getPlayerByIdentifierAsync(server, identifier).thenApply(player -> player == null ? null : player.getTown());
+    }
+
     public @Nullable Town getTownByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getTownByIdentifier(server, identifier);
     }
@@ -530,6 +1332,14 @@ public class EMCAPIClient {
         return getTownByIdentifier(server, town);
     }
 
+    public @NotNull CompletableFuture<Town> getTownByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getTownIdentifierByIdentifierAsync(server, identifier).thenCompose(town -> town == null ? CompletableFuture.completedFuture(null) : getTownByIdentifierAsync(server, town));
+    }
+
     public @Nullable NationIdentifier getNationIdentifierByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getNationIdentifierByIdentifier(server, identifier);
     }
@@ -541,6 +1351,14 @@ public class EMCAPIClient {
         return player.getNation();
     }
 
+    public @NotNull CompletableFuture<NationIdentifier> getNationIdentifierByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getNationIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<NationIdentifier> getNationIdentifierByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getPlayerByIdentifierAsync(server, identifier).thenApply(player -> player == null ? null : player.getNation());
+    }
+
     public @Nullable Nation getNationByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getNationByIdentifier(server, identifier);
     }
@@ -552,6 +1370,14 @@ public class EMCAPIClient {
         return getNationByIdentifier(server, nation);
     }
 
+    public @NotNull CompletableFuture<Nation> getNationByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getNationIdentifierByIdentifierAsync(server, identifier).thenCompose(nation -> nation == null ? CompletableFuture.completedFuture(null) : getNationByIdentifierAsync(server, nation));
+    }
+
     public @Nullable List<PlayerIdentifier> getFriendIdentifiersByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getFriendIdentifiersByIdentifier(server, identifier);
     }
@@ -563,6 +1389,14 @@ public class EMCAPIClient {
         return player.getFriends();
     }
 
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getFriendIdentifiersByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getFriendIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getFriendIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getPlayerByIdentifierAsync(server, identifier).thenApply(player -> player == null ? null : player.getFriends());
+    }
+
     public @Nullable List<Player> getFriendsByIdentifier(@NotNull PlayerIdentifier identifier) {
         return getFriendsByIdentifier(server, identifier);
     }
@@ -574,6 +1408,14 @@ public class EMCAPIClient {
         return getPlayersByIdentifiers(server, friends);
     }
 
+    public @NotNull CompletableFuture<List<Player>> getFriendsByIdentifierAsync(@NotNull PlayerIdentifier identifier) {
+        return getFriendsByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getFriendsByIdentifierAsync(@NotNull Server server, @NotNull PlayerIdentifier identifier) {
+        return getFriendIdentifiersByIdentifierAsync(server, identifier).thenCompose(friends -> friends == null ? CompletableFuture.completedFuture(null) : getPlayersByIdentifiersAsync(server, friends));
+    }
+
     public @Nullable PlayerIdentifier getMayorIdentifierByIdentifier(@NotNull TownIdentifier identifier) {
          return getMayorIdentifierByIdentifier(server, identifier);
     }
@@ -585,6 +1427,14 @@ public class EMCAPIClient {
         return town.getMayor();
     }
 
+    public @NotNull CompletableFuture<PlayerIdentifier> getMayorIdentifierByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getMayorIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<PlayerIdentifier> getMayorIdentifierByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier).thenApply(town -> town == null ? null : town.getMayor());
+    }
+
     public @Nullable Player getMayorByIdentifier(@NotNull TownIdentifier identifier) {
         return getMayorByIdentifier(server, identifier);
     }
@@ -596,6 +1446,14 @@ public class EMCAPIClient {
         return getPlayerByIdentifier(server, mayor);
     }
 
+    public @NotNull CompletableFuture<Player> getMayorByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getMayorByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Player> getMayorByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getMayorIdentifierByIdentifierAsync(server, identifier).thenCompose(mayor -> mayor == null ? CompletableFuture.completedFuture(null) : getPlayerByIdentifierAsync(server, mayor));
+    }
+
     public @Nullable NationIdentifier getNationIdentifierByIdentifier(@NotNull TownIdentifier identifier) {
         return getNationIdentifierByIdentifier(server, identifier);
     }
@@ -607,6 +1465,14 @@ public class EMCAPIClient {
         return town.getNation();
     }
 
+    public @NotNull CompletableFuture<NationIdentifier> getNationIdentifierByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getNationIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<NationIdentifier> getNationIdentifierByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier).thenApply(town -> town == null ? null : town.getNation());
+    }
+
     public @Nullable Nation getNationByIdentifier(@NotNull TownIdentifier identifier) {
         return getNationByIdentifier(server, identifier);
     }
@@ -618,6 +1484,14 @@ public class EMCAPIClient {
         return getNationByIdentifier(server, nation);
     }
 
+    public @NotNull CompletableFuture<Nation> getNationByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Nation> getNationByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getNationIdentifierByIdentifierAsync(server, identifier).thenCompose(nation -> nation == null ? CompletableFuture.completedFuture(null) : getNationByIdentifierAsync(server, nation));
+    }
+
     public @Nullable List<PlayerIdentifier> getResidentIdentifiersByIdentifier(@NotNull TownIdentifier identifier) {
         return getResidentIdentifiersByIdentifier(server, identifier);
     }
@@ -626,7 +1500,15 @@ public class EMCAPIClient {
         Town town = getTownByIdentifier(server, identifier);
         if (town == null) return null;
 
-        return town.getResidents();
+        return town.getResidents();
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getResidentIdentifiersByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getResidentIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getResidentIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier).thenApply(town -> town == null ? null : town.getResidents());
     }
 
     public @Nullable List<Player> getResidentsByIdentifier(@NotNull TownIdentifier identifier) {
@@ -640,6 +1522,14 @@ public class EMCAPIClient {
         return getPlayersByIdentifiers(server, residents);
     }
 
+    public @NotNull CompletableFuture<List<Player>> getResidentsByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getResidentsByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getResidentsByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getResidentIdentifiersByIdentifierAsync(server, identifier).thenCompose(residents -> residents == null ? CompletableFuture.completedFuture(null) : getPlayersByIdentifiersAsync(server, residents));
+    }
+
     public @Nullable List<PlayerIdentifier> getTrustedIdentifiersByIdentifier(@NotNull TownIdentifier identifier) {
         return getTrustedIdentifiersByIdentifier(server, identifier);
     }
@@ -651,6 +1541,14 @@ public class EMCAPIClient {
         return town.getTrusted();
     }
 
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getTrustedIdentifiersByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getTrustedIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getTrustedIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier).thenApply(town -> town == null ? null : town.getTrusted());
+    }
+
     public @Nullable List<Player> getTrustedByIdentifier(@NotNull TownIdentifier identifier) {
         return getResidentsByIdentifier(server, identifier);
     }
@@ -662,6 +1560,14 @@ public class EMCAPIClient {
         return getPlayersByIdentifiers(server, trusted);
     }
 
+    public @NotNull CompletableFuture<List<Player>> getTrustedByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getTrustedByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getTrustedByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTrustedIdentifiersByIdentifierAsync(server, identifier).thenCompose(trusted -> trusted == null ? CompletableFuture.completedFuture(null) : getPlayersByIdentifiersAsync(server, trusted));
+    }
+
     public @Nullable List<PlayerIdentifier> getOutlawIdentifiersByIdentifier(@NotNull TownIdentifier identifier) {
         return getOutlawIdentifiersByIdentifier(server, identifier);
     }
@@ -673,6 +1579,14 @@ public class EMCAPIClient {
         return town.getOutlaws();
     }
 
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getOutlawIdentifiersByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getOutlawIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getOutlawIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier).thenApply(town -> town == null ? null : town.getOutlaws());
+    }
+
     public @Nullable List<Player> getOutlawsByIdentifier(@NotNull TownIdentifier identifier) {
         return getOutlawsByIdentifier(server, identifier);
     }
@@ -684,6 +1598,14 @@ public class EMCAPIClient {
         return getPlayersByIdentifiers(server, outlaws);
     }
 
+    public @NotNull CompletableFuture<List<Player>> getOutlawsByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getOutlawsByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getOutlawsByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getOutlawIdentifiersByIdentifierAsync(server, identifier).thenCompose(outlaws -> outlaws == null ? CompletableFuture.completedFuture(null) : getPlayersByIdentifiersAsync(server, outlaws));
+    }
+
     public @Nullable List<QuarterIdentifier> getQuarterIdentifiersByIdentifier(@NotNull TownIdentifier identifier) {
         return getQuarterIdentifiersByIdentifier(server, identifier);
     }
@@ -695,6 +1617,14 @@ public class EMCAPIClient {
         return town.getQuarters();
     }
 
+    public @NotNull CompletableFuture<List<QuarterIdentifier>> getQuarterIdentifiersByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getQuarterIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<QuarterIdentifier>> getQuarterIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier).thenApply(town -> town == null ? null : town.getQuarters());
+    }
+
     public @Nullable List<Quarter> getQuartersByIdentifier(@NotNull TownIdentifier identifier) {
         return getQuartersByIdentifier(server, identifier);
     }
@@ -706,6 +1636,14 @@ public class EMCAPIClient {
         return getQuartersByIdentifiers(server, quarters);
     }
 
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByIdentifierAsync(@NotNull TownIdentifier identifier) {
+        return getQuartersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> getQuartersByIdentifierAsync(@NotNull Server server, @NotNull TownIdentifier identifier) {
+        return getQuarterIdentifiersByIdentifierAsync(server, identifier).thenCompose(quarters -> quarters == null ? CompletableFuture.completedFuture(null) : getQuartersByIdentifiersAsync(server, quarters));
+    }
+
     public @Nullable PlayerIdentifier getKingIdentifierByIdentifier(@NotNull NationIdentifier identifier) {
         return getKingIdentifierByIdentifier(server, identifier);
     }
@@ -717,6 +1655,14 @@ public class EMCAPIClient {
         return nation.getKing();
     }
 
+    public @NotNull CompletableFuture<PlayerIdentifier> getKingIdentifierByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getKingIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<PlayerIdentifier> getKingIdentifierByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getKing());
+    }
+
     public @Nullable Player getKingByIdentifier(@NotNull NationIdentifier identifier) {
         return getKingByIdentifier(server, identifier);
     }
@@ -728,6 +1674,14 @@ public class EMCAPIClient {
         return getPlayerByIdentifier(server, king);
     }
 
+    public @NotNull CompletableFuture<Player> getKingByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getKingByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Player> getKingByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getKingIdentifierByIdentifierAsync(server, identifier).thenCompose(king -> king == null ? CompletableFuture.completedFuture(null) : getPlayerByIdentifierAsync(server, king));
+    }
+
     public @Nullable TownIdentifier getCapitalIdentifierByIdentifier(@NotNull NationIdentifier identifier) {
         return getCapitalIdentifierByIdentifier(server, identifier);
     }
@@ -739,6 +1693,14 @@ public class EMCAPIClient {
         return nation.getCapital();
     }
 
+    public @NotNull CompletableFuture<TownIdentifier> getCapitalIdentifierByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getCapitalIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<TownIdentifier> getCapitalIdentifierByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getCapital());
+    }
+
     public @Nullable Town getCapitalByIdentifier(@NotNull NationIdentifier identifier) {
         return getCapitalByIdentifier(server, identifier);
     }
@@ -750,6 +1712,14 @@ public class EMCAPIClient {
         return getTownByIdentifier(server, capital);
     }
 
+    public @NotNull CompletableFuture<Town> getCapitalByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getCapitalByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Town> getCapitalByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getCapitalIdentifierByIdentifierAsync(server, identifier).thenCompose(capital -> capital == null ? CompletableFuture.completedFuture(null) : getTownByIdentifierAsync(server, capital));
+    }
+
     public @Nullable List<PlayerIdentifier> getResidentIdentifiersByIdentifier(@NotNull NationIdentifier identifier) {
         return getResidentIdentifiersByIdentifier(server, identifier);
     }
@@ -761,6 +1731,14 @@ public class EMCAPIClient {
         return nation.getResidents();
     }
 
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getResidentIdentifiersByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getResidentIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getResidentIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getResidents());
+    }
+
     public @Nullable List<Player> getResidentsByIdentifier(@NotNull NationIdentifier identifier) {
         return getResidentsByIdentifier(server, identifier);
     }
@@ -772,6 +1750,14 @@ public class EMCAPIClient {
         return getPlayersByIdentifiers(server, residents);
     }
 
+    public @NotNull CompletableFuture<List<Player>> getResidentsByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getResidentsByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getResidentsByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getResidentIdentifiersByIdentifierAsync(server, identifier).thenCompose(residents -> residents == null ? CompletableFuture.completedFuture(null) : getPlayersByIdentifiersAsync(server, residents));
+    }
+
     public @Nullable List<TownIdentifier> getTownIdentifiersByIdentifier(@NotNull NationIdentifier identifier) {
         return getTownIdentifiersByIdentifier(server, identifier);
     }
@@ -783,6 +1769,14 @@ public class EMCAPIClient {
         return nation.getTowns();
     }
 
+    public @NotNull CompletableFuture<List<TownIdentifier>> getTownIdentifiersByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getTownIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<TownIdentifier>> getTownIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getTowns());
+    }
+
     public @Nullable List<Town> getTownsByIdentifier(@NotNull NationIdentifier identifier) {
         return getTownsByIdentifier(server, identifier);
     }
@@ -794,6 +1788,14 @@ public class EMCAPIClient {
         return getTownsByIdentifiers(server, towns);
     }
 
+    public @NotNull CompletableFuture<List<Town>> getTownsByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getTownsByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Town>> getTownsByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getTownIdentifiersByIdentifierAsync(server, identifier).thenCompose(towns -> towns == null ? CompletableFuture.completedFuture(null) : getTownsByIdentifiersAsync(server, towns));
+    }
+
     public @Nullable List<TownIdentifier> getSanctionedIdentifiersByIdentifier(@NotNull NationIdentifier identifier) {
         return getSanctionedIdentifiersByIdentifier(server, identifier);
     }
@@ -805,6 +1807,14 @@ public class EMCAPIClient {
         return nation.getSanctioned();
     }
 
+    public @NotNull CompletableFuture<List<TownIdentifier>> getSanctionedIdentifiersByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getSanctionedIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<TownIdentifier>> getSanctionedIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getSanctioned());
+    }
+
     public @Nullable List<Town> getSanctionedByIdentifier(@NotNull NationIdentifier identifier) {
         return getSanctionedByIdentifier(server, identifier);
     }
@@ -816,6 +1826,14 @@ public class EMCAPIClient {
         return getTownsByIdentifiers(server, sanctioned);
     }
 
+    public @NotNull CompletableFuture<List<Town>> getSanctionedByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getSanctionedByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Town>> getSanctionedByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getSanctionedIdentifiersByIdentifierAsync(server, identifier).thenCompose(sanctioned -> sanctioned == null ? CompletableFuture.completedFuture(null) : getTownsByIdentifiersAsync(server, sanctioned));
+    }
+
     public @Nullable List<NationIdentifier> getAllyIdentifiersByIdentifier(@NotNull NationIdentifier identifier) {
         return getAllyIdentifiersByIdentifier(server, identifier);
     }
@@ -827,6 +1845,14 @@ public class EMCAPIClient {
         return nation.getAllies();
     }
 
+    public @NotNull CompletableFuture<List<NationIdentifier>> getAllyIdentifiersByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getAllyIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<NationIdentifier>> getAllyIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getAllies());
+    }
+
     public @Nullable List<Nation> getAlliesByIdentifier(@NotNull NationIdentifier identifier) {
         return getAlliesByIdentifier(server, identifier);
     }
@@ -838,6 +1864,14 @@ public class EMCAPIClient {
         return getNationsByIdentifiers(server, allies);
     }
 
+    public @NotNull CompletableFuture<List<Nation>> getAlliesByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getAlliesByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> getAlliesByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getAllyIdentifiersByIdentifierAsync(server, identifier).thenCompose(allies -> allies == null ? CompletableFuture.completedFuture(null) : getNationsByIdentifiersAsync(server, allies));
+    }
+
     public @Nullable List<NationIdentifier> getEnemyIdentifiersByIdentifier(@NotNull NationIdentifier identifier) {
         return getEnemyIdentifiersByIdentifier(server, identifier);
     }
@@ -849,6 +1883,14 @@ public class EMCAPIClient {
         return nation.getEnemies();
     }
 
+    public @NotNull CompletableFuture<List<NationIdentifier>> getEnemyIdentifiersByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getEnemyIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<NationIdentifier>> getEnemyIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getNationByIdentifierAsync(server, identifier).thenApply(nation -> nation == null ? null : nation.getEnemies());
+    }
+
     public @Nullable List<Nation> getEnemiesByIdentifier(@NotNull NationIdentifier identifier) {
         return getEnemiesByIdentifier(server, identifier);
     }
@@ -860,6 +1902,14 @@ public class EMCAPIClient {
         return getNationsByIdentifiers(server, enemies);
     }
 
+    public @NotNull CompletableFuture<List<Nation>> getEnemiesByIdentifierAsync(@NotNull NationIdentifier identifier) {
+        return getEnemiesByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> getEnemiesByIdentifierAsync(@NotNull Server server, @NotNull NationIdentifier identifier) {
+        return getEnemyIdentifiersByIdentifierAsync(server, identifier).thenCompose(enemies -> enemies == null ? CompletableFuture.completedFuture(null) : getNationsByIdentifiersAsync(server, enemies));
+    }
+
     public @Nullable PlayerIdentifier getOwnerIdentifierByIdentifier(@NotNull QuarterIdentifier identifier) {
         return getOwnerIdentifierByIdentifier(server, identifier);
     }
@@ -871,6 +1921,14 @@ public class EMCAPIClient {
         return quarter.getOwner();
     }
 
+    public @NotNull CompletableFuture<PlayerIdentifier> getOwnerIdentifierByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getOwnerIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<PlayerIdentifier> getOwnerIdentifierByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getQuarterByIdentifierAsync(server, identifier).thenApply(quarter -> quarter == null ? null : quarter.getOwner());
+    }
+
     public @Nullable Player getOwnerByIdentifier(@NotNull QuarterIdentifier identifier) {
         return getOwnerByIdentifier(server, identifier);
     }
@@ -882,6 +1940,14 @@ public class EMCAPIClient {
         return getPlayerByIdentifier(server, owner);
     }
 
+    public @NotNull CompletableFuture<Player> getOwnerByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getOwnerByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Player> getOwnerByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getOwnerIdentifierByIdentifierAsync(server, identifier).thenCompose(owner -> owner == null ? CompletableFuture.completedFuture(null) : getPlayerByIdentifierAsync(server, owner));
+    }
+
     public @Nullable TownIdentifier getTownIdentifierByIdentifier(@NotNull QuarterIdentifier identifier) {
         return getTownIdentifierByIdentifier(server, identifier);
     }
@@ -893,6 +1959,14 @@ public class EMCAPIClient {
         return quarter.getTown();
     }
 
+    public @NotNull CompletableFuture<TownIdentifier> getTownIdentifierByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getTownIdentifierByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<TownIdentifier> getTownIdentifierByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getQuarterByIdentifierAsync(server, identifier).thenApply(quarter -> quarter == null ? null : quarter.getTown());
+    }
+
     public @Nullable Town getTownByIdentifier(@NotNull QuarterIdentifier identifier) {
         return getTownByIdentifier(server, identifier);
     }
@@ -904,6 +1978,14 @@ public class EMCAPIClient {
         return getTownByIdentifier(server, town);
     }
 
+    public @NotNull CompletableFuture<Town> getTownByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getTownByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<Town> getTownByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getTownIdentifierByIdentifierAsync(server, identifier).thenCompose(town -> town == null ? CompletableFuture.completedFuture(null) : getTownByIdentifierAsync(server, town));
+    }
+
     public @Nullable List<PlayerIdentifier> getTrustedIdentifiersByIdentifier(@NotNull QuarterIdentifier identifier) {
         return getTrustedIdentifiersByIdentifier(server, identifier);
     }
@@ -915,6 +1997,14 @@ public class EMCAPIClient {
         return quarter.getTrusted();
     }
 
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getTrustedIdentifiersByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getTrustedIdentifiersByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<PlayerIdentifier>> getTrustedIdentifiersByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getQuarterByIdentifierAsync(server, identifier).thenApply(quarter -> quarter == null ? null : quarter.getTrusted());
+    }
+
     public @Nullable List<Player> getTrustedByIdentifier(@NotNull QuarterIdentifier identifier) {
         return getTrustedByIdentifier(server, identifier);
     }
@@ -926,11 +2016,247 @@ public class EMCAPIClient {
         return getPlayersByIdentifiers(server, trusted);
     }
 
+    public @NotNull CompletableFuture<List<Player>> getTrustedByIdentifierAsync(@NotNull QuarterIdentifier identifier) {
+        return getTrustedByIdentifierAsync(server, identifier);
+    }
+
+    public @NotNull CompletableFuture<List<Player>> getTrustedByIdentifierAsync(@NotNull Server server, @NotNull QuarterIdentifier identifier) {
+        return getTrustedIdentifiersByIdentifierAsync(server, identifier).thenCompose(trusted -> trusted == null ? CompletableFuture.completedFuture(null) : getPlayersByIdentifiersAsync(server, trusted));
+    }
+
+    public @NotNull Map<PlayerIdentifier, Town> getTownsOfPlayers(@NotNull List<PlayerIdentifier> query) {
+        return getTownsOfPlayers(server, query);
+    }
+
+    /**
+     * Fetches the town of each player. Players without a town or that could not be found are left out.
+     * Takes two waves of batched requests, one for the players and one for their distinct towns, each split at 100 per request
+     */
+    public @NotNull Map<PlayerIdentifier, Town> getTownsOfPlayers(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return requestManager.await(getTownsOfPlayersAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<PlayerIdentifier, Town>> getTownsOfPlayersAsync(@NotNull List<PlayerIdentifier> query) {
+        return getTownsOfPlayersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<PlayerIdentifier, Town>> getTownsOfPlayersAsync(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.PLAYERS, Player::new, Player::getTown, Endpoint.TOWNS, Town::new);
+    }
+
+    public @NotNull Map<PlayerIdentifier, Nation> getNationsOfPlayers(@NotNull List<PlayerIdentifier> query) {
+        return getNationsOfPlayers(server, query);
+    }
+
+    /**
+     * Fetches the nation of each player. Players without a nation or that could not be found are left out.
+     * Takes two waves of batched requests, one for the players and one for their distinct nations, each split at 100 per request
+     */
+    public @NotNull Map<PlayerIdentifier, Nation> getNationsOfPlayers(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return requestManager.await(getNationsOfPlayersAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<PlayerIdentifier, Nation>> getNationsOfPlayersAsync(@NotNull List<PlayerIdentifier> query) {
+        return getNationsOfPlayersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<PlayerIdentifier, Nation>> getNationsOfPlayersAsync(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.PLAYERS, Player::new, Player::getNation, Endpoint.NATIONS, Nation::new);
+    }
+
+    public @NotNull Map<PlayerIdentifier, List<Player>> getFriendsOfPlayers(@NotNull List<PlayerIdentifier> query) {
+        return getFriendsOfPlayers(server, query);
+    }
+
+    /**
+     * Fetches the friends of each player, players that could not be found are left out.
+     * Takes two waves of batched requests, one for the players and one for their distinct friends, each split at 100 per request
+     */
+    public @NotNull Map<PlayerIdentifier, List<Player>> getFriendsOfPlayers(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return requestManager.await(getFriendsOfPlayersAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<PlayerIdentifier, List<Player>>> getFriendsOfPlayersAsync(@NotNull List<PlayerIdentifier> query) {
+        return getFriendsOfPlayersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<PlayerIdentifier, List<Player>>> getFriendsOfPlayersAsync(@NotNull Server server, @NotNull List<PlayerIdentifier> query) {
+        return traverseAsync(server, query, Endpoint.PLAYERS, Player::new, Player::getFriends, Endpoint.PLAYERS, Player::new);
+    }
+
+    public @NotNull Map<TownIdentifier, Player> getMayorsOfTowns(@NotNull List<TownIdentifier> query) {
+        return getMayorsOfTowns(server, query);
+    }
+
+    /**
+     * Fetches the mayor of each town. Towns without a mayor, such as ruined towns, or that could not be found are left out.
+     * Takes two waves of batched requests, one for the towns and one for their mayors, each split at 100 per request
+     */
+    public @NotNull Map<TownIdentifier, Player> getMayorsOfTowns(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return requestManager.await(getMayorsOfTownsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<TownIdentifier, Player>> getMayorsOfTownsAsync(@NotNull List<TownIdentifier> query) {
+        return getMayorsOfTownsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<TownIdentifier, Player>> getMayorsOfTownsAsync(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.TOWNS, Town::new, Town::getMayor, Endpoint.PLAYERS, Player::new);
+    }
+
+    public @NotNull Map<TownIdentifier, Nation> getNationsOfTowns(@NotNull List<TownIdentifier> query) {
+        return getNationsOfTowns(server, query);
+    }
+
+    /**
+     * Fetches the nation of each town. Towns without a nation or that could not be found are left out.
+     * Takes two waves of batched requests, one for the towns and one for their distinct nations, each split at 100 per request
+     */
+    public @NotNull Map<TownIdentifier, Nation> getNationsOfTowns(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return requestManager.await(getNationsOfTownsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<TownIdentifier, Nation>> getNationsOfTownsAsync(@NotNull List<TownIdentifier> query) {
+        return getNationsOfTownsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<TownIdentifier, Nation>> getNationsOfTownsAsync(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.TOWNS, Town::new, Town::getNation, Endpoint.NATIONS, Nation::new);
+    }
+
+    public @NotNull Map<TownIdentifier, List<Player>> getResidentsOfTowns(@NotNull List<TownIdentifier> query) {
+        return getResidentsOfTowns(server, query);
+    }
+
+    /**
+     * Fetches the residents of each town, towns that could not be found are left out.
+     * Takes two waves of batched requests, one for the towns and one for their residents, each split at 100 per request
+     */
+    public @NotNull Map<TownIdentifier, List<Player>> getResidentsOfTowns(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return requestManager.await(getResidentsOfTownsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<TownIdentifier, List<Player>>> getResidentsOfTownsAsync(@NotNull List<TownIdentifier> query) {
+        return getResidentsOfTownsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<TownIdentifier, List<Player>>> getResidentsOfTownsAsync(@NotNull Server server, @NotNull List<TownIdentifier> query) {
+        return traverseAsync(server, query, Endpoint.TOWNS, Town::new, Town::getResidents, Endpoint.PLAYERS, Player::new);
+    }
+
+    public @NotNull Map<NationIdentifier, Player> getKingsOfNations(@NotNull List<NationIdentifier> query) {
+        return getKingsOfNations(server, query);
+    }
+
+    /**
+     * Fetches the king of each nation. Nations without a king or that could not be found are left out.
+     * Takes two waves of batched requests, one for the nations and one for their kings, each split at 100 per request
+     */
+    public @NotNull Map<NationIdentifier, Player> getKingsOfNations(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return requestManager.await(getKingsOfNationsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, Player>> getKingsOfNationsAsync(@NotNull List<NationIdentifier> query) {
+        return getKingsOfNationsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, Player>> getKingsOfNationsAsync(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.NATIONS, Nation::new, Nation::getKing, Endpoint.PLAYERS, Player::new);
+    }
+
+    public @NotNull Map<NationIdentifier, Town> getCapitalsOfNations(@NotNull List<NationIdentifier> query) {
+        return getCapitalsOfNations(server, query);
+    }
+
+    /**
+     * Fetches the capital of each nation. Nations without a capital or that could not be found are left out.
+     * Takes two waves of batched requests, one for the nations and one for their capitals, each split at 100 per request
+     */
+    public @NotNull Map<NationIdentifier, Town> getCapitalsOfNations(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return requestManager.await(getCapitalsOfNationsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, Town>> getCapitalsOfNationsAsync(@NotNull List<NationIdentifier> query) {
+        return getCapitalsOfNationsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, Town>> getCapitalsOfNationsAsync(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.NATIONS, Nation::new, Nation::getCapital, Endpoint.TOWNS, Town::new);
+    }
+
+    public @NotNull Map<NationIdentifier, List<Player>> getResidentsOfNations(@NotNull List<NationIdentifier> query) {
+        return getResidentsOfNations(server, query);
+    }
+
+    /**
+     * Fetches the residents of each nation, nations that could not be found are left out.
+     * Takes two waves of batched requests, one for the nations and one for their residents, each split at 100 per request
+     */
+    public @NotNull Map<NationIdentifier, List<Player>> getResidentsOfNations(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return requestManager.await(getResidentsOfNationsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, List<Player>>> getResidentsOfNationsAsync(@NotNull List<NationIdentifier> query) {
+        return getResidentsOfNationsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, List<Player>>> getResidentsOfNationsAsync(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return traverseAsync(server, query, Endpoint.NATIONS, Nation::new, Nation::getResidents, Endpoint.PLAYERS, Player::new);
+    }
+
+    public @NotNull Map<NationIdentifier, List<Town>> getTownsOfNations(@NotNull List<NationIdentifier> query) {
+        return getTownsOfNations(server, query);
+    }
+
+    /**
+     * Fetches the towns of each nation, nations that could not be found are left out.
+     * Takes two waves of batched requests, one for the nations and one for their towns, each split at 100 per request
+     */
+    public @NotNull Map<NationIdentifier, List<Town>> getTownsOfNations(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return requestManager.await(getTownsOfNationsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, List<Town>>> getTownsOfNationsAsync(@NotNull List<NationIdentifier> query) {
+        return getTownsOfNationsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<NationIdentifier, List<Town>>> getTownsOfNationsAsync(@NotNull Server server, @NotNull List<NationIdentifier> query) {
+        return traverseAsync(server, query, Endpoint.NATIONS, Nation::new, Nation::getTowns, Endpoint.TOWNS, Town::new);
+    }
+
+    public @NotNull Map<QuarterIdentifier, Player> getOwnersOfQuarters(@NotNull List<QuarterIdentifier> query) {
+        return getOwnersOfQuarters(server, query);
+    }
+
+    /**
+     * Fetches the owner of each quarter. Quarters without an owner or that could not be found are left out.
+     * Takes two waves of batched requests, one for the quarters and one for their distinct owners, each split at 100 per request
+     */
+    public @NotNull Map<QuarterIdentifier, Player> getOwnersOfQuarters(@NotNull Server server, @NotNull List<QuarterIdentifier> query) {
+        return requestManager.await(getOwnersOfQuartersAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<Map<QuarterIdentifier, Player>> getOwnersOfQuartersAsync(@NotNull List<QuarterIdentifier> query) {
+        return getOwnersOfQuartersAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<Map<QuarterIdentifier, Player>> getOwnersOfQuartersAsync(@NotNull Server server, @NotNull List<QuarterIdentifier> query) {
+        return traverseToOneAsync(server, query, Endpoint.QUARTERS, Quarter::new, Quarter::getOwner, Endpoint.PLAYERS, Player::new);
+    }
+
     public @NotNull List<LocationInfo> getLocationInfoByLocations(@NotNull List<Location> query) {
         return getLocationInfoByLocations(server, query);
     }
 
     public @NotNull List<LocationInfo> getLocationInfoByLocations(@NotNull Server server, @NotNull List<Location> query) {
+        return requestManager.await(getLocationInfoByLocationsAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<List<LocationInfo>> getLocationInfoByLocationsAsync(@NotNull List<Location> query) {
+        return getLocationInfoByLocationsAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<List<LocationInfo>> getLocationInfoByLocationsAsync(@NotNull Server server, @NotNull List<Location> query) {
         JsonArray queryArray = new JsonArray();
         for (Location entry : query) {
             JsonArray innerArray = new JsonArray();
@@ -939,16 +2265,7 @@ public class EMCAPIClient {
             queryArray.add(innerArray);
         }
 
-        JsonArray response = requestManager.batchPostAsJsonArray(createServerURI(server).resolve("location"), JSONUtil.createRequestBody(queryArray));
-
-        List<LocationInfo> locations = new ArrayList<>();
-        for (JsonElement element : response) {
-            JsonObject jsonObject = element.getAsJsonObject();
-            LocationInfo data = new LocationInfo(jsonObject);
-            locations.add(data);
-        }
-
-        return locations;
+        return postQueryAsync(server, Endpoint.LOCATION, queryArray, retaining(LocationInfo::new));
     }
 
     public @NotNull List<LocationInfo> getLocationInfoByLocations(@NotNull Location... query) {
@@ -964,7 +2281,96 @@ public class EMCAPIClient {
     }
 
     public @NotNull LocationInfo getLocationInfoByLocation(@NotNull Server server, @NotNull Location query) {
-        List<LocationInfo> data = getLocationInfoByLocations(query);
-        return data.get(0);
+        return requestManager.await(getLocationInfoByLocationAsync(server, query));
+    }
+
+    public @NotNull CompletableFuture<LocationInfo> getLocationInfoByLocationAsync(@NotNull Location query) {
+        return getLocationInfoByLocationAsync(server, query);
+    }
+
+    public @NotNull CompletableFuture<LocationInfo> getLocationInfoByLocationAsync(@NotNull Server server, @NotNull Location query) {
+        BatchDispatcher dispatcher = batchDispatcher;
+        if (dispatcher == null) return getLocationInfoByLocationsAsync(server, List.of(query)).thenApply(list -> list.get(0));
+
+        JsonArray innerArray = new JsonArray();
+        innerArray.add(query.getX());
+        innerArray.add(query.getZ());
+
+        return dispatcher.dispatch(createServerURI(server).resolve(Endpoint.LOCATION.getName()), innerArray)
+                .thenApply(element -> element == null ? null : new LocationInfo(element.getAsJsonObject(), jsonRetention));
+    }
+
+    /**
+     * Configures an EMCAPIClient along with the {@link RequestManager} it sends requests through
+     */
+    public static class Builder {
+
+        private final RequestManager.Builder requestManager = RequestManager.builder();
+        private URI apiURI = EARTHMC_API_URI;
+        private Server server = Server.AURORA;
+
+        private Builder() {}
+
+        public @NotNull Builder setAPIURI(@NotNull URI apiURI) {
+            this.apiURI = apiURI;
+            return this;
+        }
+
+        public @NotNull Builder setDefaultServer(@NotNull Server server) {
+            this.server = server;
+            return this;
+        }
+
+        /**
+         * @see RequestManager.Builder#setExecutor(Executor)
+         */
+        public @NotNull Builder setExecutor(@NotNull Executor executor) {
+            requestManager.setExecutor(executor);
+            return this;
+        }
+
+        /**
+         * @see RequestManager.Builder#setVersion(HttpClient.Version)
+         */
+        public @NotNull Builder setVersion(@Nullable HttpClient.Version version) {
+            requestManager.setVersion(version);
+            return this;
+        }
+
+        /**
+         * @see RequestManager.Builder#setConnectTimeout(Duration)
+         */
+        public @NotNull Builder setConnectTimeout(@NotNull Duration connectTimeout) {
+            requestManager.setConnectTimeout(connectTimeout);
+            return this;
+        }
+
+        /**
+         * @see RequestManager.Builder#setRequestTimeout(Duration)
+         */
+        public @NotNull Builder setRequestTimeout(@Nullable Duration requestTimeout) {
+            requestManager.setRequestTimeout(requestTimeout);
+            return this;
+        }
+
+        /**
+         * @see RequestManager.Builder#setProxy(ProxySelector)
+         */
+        public @NotNull Builder setProxy(@Nullable ProxySelector proxy) {
+            requestManager.setProxy(proxy);
+            return this;
+        }
+
+        /**
+         * @see RequestManager.Builder#setMaxConcurrency(int)
+         */
+        public @NotNull Builder setMaxConcurrency(int maxConcurrency) {
+            requestManager.setMaxConcurrency(maxConcurrency);
+            return this;
+        }
+
+        public @NotNull EMCAPIClient build() {
+            return new EMCAPIClient(apiURI, server, requestManager.build());
+        }
     }
 }
@@ -0,0 +1,452 @@
+package au.lupine.emcapiclient.index;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Answers questions about the alliances and enmities between nations, such as who is allied to an ally of a nation or which blocs exist, without a request per hop
+ * <p>
+ * Built from a snapshot of nations, each relation is stored as compressed sparse rows over int ordinals, a sorted run of neighbour ordinals per nation,
+ * both as declared and as received. Relations with nations missing from the snapshot are dropped.
+ * The graph is immutable and safe to query from multiple threads, build a new one from a fresh snapshot to refresh it
+ */
+public class DiplomacyGraph {
+
+    /**
+     * Alliances and enmities are declared by one nation, so A listing B as an ally does not mean B lists A. The mutual relations only hold where both do
+     */
+    public enum Relation {
+        ALLY,
+        ENEMY,
+        MUTUAL_ALLY,
+        MUTUAL_ENEMY
+    }
+
+    private static final int[] NONE = new int[0];
+
+    private final Nation[] nations;
+    private final Map<UUID, Integer> ordinals;
+    /** The relations each nation declared, indexed by {@link Relation#ordinal()} */
+    private final Adjacency[] declared = new Adjacency[Relation.values().length];
+    /** The relations declared towards each nation, indexed by {@link Relation#ordinal()} */
+    private final Adjacency[] received = new Adjacency[Relation.values().length];
+    private final Map<UUID, int[]> sanctionedBy;
+
+    /**
+     * @param nations A snapshot of nations, such as every nation returned by getAllNations
+     */
+    public DiplomacyGraph(@NotNull Collection<Nation> nations) {
+        this.nations = nations.toArray(new Nation[0]);
+        this.ordinals = new HashMap<>(this.nations.length * 2);
+        for (int i = 0; i < this.nations.length; i++) {
+            ordinals.put(this.nations[i].getUUID(), i);
+        }
+
+        Adjacency allies = createAdjacency(Nation::getAllies);
+        Adjacency enemies = createAdjacency(Nation::getEnemies);
+        Adjacency mutualAllies = allies.mutual();
+        Adjacency mutualEnemies = enemies.mutual();
+
+        declared[Relation.ALLY.ordinal()] = allies;
+        declared[Relation.ENEMY.ordinal()] = enemies;
+        declared[Relation.MUTUAL_ALLY.ordinal()] = mutualAllies;
+        declared[Relation.MUTUAL_ENEMY.ordinal()] = mutualEnemies;
+
+        received[Relation.ALLY.ordinal()] = allies.transpose();
+        received[Relation.ENEMY.ordinal()] = enemies.transpose();
+        received[Relation.MUTUAL_ALLY.ordinal()] = mutualAllies;
+        received[Relation.MUTUAL_ENEMY.ordinal()] = mutualEnemies;
+
+        Map<UUID, List<Integer>> sanctions = new HashMap<>();
+        for (int i = 0; i < this.nations.length; i++) {
+            for (TownIdentifier town : this.nations[i].getSanctioned()) {
+                if (town.getUUID() != null) sanctions.computeIfAbsent(town.getUUID(), uuid -> new ArrayList<>()).add(i);
+            }
+        }
+
+        this.sanctionedBy = new HashMap<>(sanctions.size() * 2);
+        sanctions.forEach((uuid, list) -> sanctionedBy.put(uuid, list.stream().mapToInt(Integer::intValue).distinct().toArray()));
+    }
+
+    private Adjacency createAdjacency(Function<Nation, List<NationIdentifier>> relations) {
+        int n = nations.length;
+        int[] offsets = new int[n + 1];
+        int[][] rows = new int[n][];
+
+        for (int i = 0; i < n; i++) {
+            List<NationIdentifier> related = relations.apply(nations[i]);
+            int[] row = new int[related.size()];
+            int size = 0;
+
+            for (NationIdentifier identifier : related) {
+                Integer ordinal = identifier.getUUID() == null ? null : ordinals.get(identifier.getUUID());
+                if (ordinal != null && ordinal != i) row[size++] = ordinal;
+            }
+
+            Arrays.sort(row, 0, size);
+            rows[i] = dedupe(row, size);
+            offsets[i + 1] = offsets[i] + rows[i].length;
+        }
+
+        int[] targets = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(rows[i], 0, targets, offsets[i], rows[i].length);
+        }
+
+        return new Adjacency(offsets, targets);
+    }
+
+    private static int[] dedupe(int[] sorted, int size) {
+        if (size == 0) return NONE;
+
+        int unique = 1;
+        for (int i = 1; i < size; i++) {
+            if (sorted[i] != sorted[unique - 1]) sorted[unique++] = sorted[i];
+        }
+
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    public int getNumNations() {
+        return nations.length;
+    }
+
+    public boolean contains(@NotNull UUID nation) {
+        return ordinals.containsKey(nation);
+    }
+
+    public @Nullable Nation getNation(@NotNull UUID nation) {
+        Integer ordinal = ordinals.get(nation);
+        return ordinal == null ? null : nations[ordinal];
+    }
+
+    /**
+     * @return The nations the graph was built from, in the order they were given
+     */
+    public @NotNull List<Nation> getNations() {
+        return List.of(nations);
+    }
+
+    /**
+     * @return Whether the first nation holds the relation towards the second, false if either is not in the graph
+     */
+    public boolean hasRelation(@NotNull UUID from, @NotNull UUID to, @NotNull Relation relation) {
+        Integer a = ordinals.get(from), b = ordinals.get(to);
+        if (a == null || b == null) return false;
+
+        return declared[relation.ordinal()].contains(a, b);
+    }
+
+    /**
+     * @return Whether both nations list each other as allies, or both as enemies
+     */
+    public boolean isMutual(@NotNull UUID first, @NotNull UUID second, @NotNull Relation relation) {
+        return hasRelation(first, second, relation == Relation.ENEMY || relation == Relation.MUTUAL_ENEMY ? Relation.MUTUAL_ENEMY : Relation.MUTUAL_ALLY);
+    }
+
+    /**
+     * @return The nations the nation holds the relation towards, empty if it is not in the graph
+     */
+    public @NotNull List<Nation> getRelated(@NotNull UUID nation, @NotNull Relation relation) {
+        Integer ordinal = ordinals.get(nation);
+        if (ordinal == null) return List.of();
+
+        return toNations(declared[relation.ordinal()], ordinal);
+    }
+
+    /**
+     * @return The nations that hold the relation towards the nation, such as every nation that lists it as an enemy
+     */
+    public @NotNull List<Nation> getRelatedBy(@NotNull UUID nation, @NotNull Relation relation) {
+        Integer ordinal = ordinals.get(nation);
+        if (ordinal == null) return List.of();
+
+        return toNations(received[relation.ordinal()], ordinal);
+    }
+
+    /**
+     * @return Every nation reachable from the nation through at most the given number of relations, nearest first and excluding the nation itself.
+     *         Allies of allies are two hops away
+     */
+    public @NotNull List<Nation> getWithinHops(@NotNull UUID nation, @NotNull Relation relation, int maxHops) {
+        if (maxHops < 0) throw new IllegalArgumentException("Max hops must not be negative");
+
+        Integer start = ordinals.get(nation);
+        if (start == null) return List.of();
+
+        Adjacency adjacency = declared[relation.ordinal()];
+        int[] distance = newDistances();
+        int[] queue = new int[nations.length];
+        int head = 0, tail = 0;
+
+        distance[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (distance[current] == maxHops) continue;
+
+            for (int i = adjacency.offsets[current]; i < adjacency.offsets[current + 1]; i++) {
+                int next = adjacency.targets[i];
+                if (distance[next] >= 0) continue;
+
+                distance[next] = distance[current] + 1;
+                queue[tail++] = next;
+            }
+        }
+
+        List<Nation> reached = new ArrayList<>(tail - 1);
+        for (int i = 1; i < tail; i++) {
+            reached.add(nations[queue[i]]);
+        }
+
+        return reached;
+    }
+
+    /**
+     * @return The fewest relations leading from one nation to the other, 0 if they are the same nation or -1 if there is no such chain
+     */
+    public int getDistance(@NotNull UUID from, @NotNull UUID to, @NotNull Relation relation) {
+        int[] parents = search(from, to, relation);
+        if (parents == null) return -1;
+
+        int a = ordinals.get(from);
+        int distance = 0;
+        for (int current = ordinals.get(to); current != a; current = parents[current]) {
+            distance++;
+        }
+
+        return distance;
+    }
+
+    /**
+     * @return A shortest chain of relations from one nation to the other including both ends, or an empty list if there is none
+     */
+    public @NotNull List<Nation> getPath(@NotNull UUID from, @NotNull UUID to, @NotNull Relation relation) {
+        int[] parents = search(from, to, relation);
+        if (parents == null) return List.of();
+
+        int a = ordinals.get(from);
+        List<Nation> path = new ArrayList<>();
+        for (int current = ordinals.get(to); current != a; current = parents[current]) {
+            path.add(nations[current]);
+        }
+        path.add(nations[a]);
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Breadth first search until the target is reached
+     * @return The ordinal each visited nation was reached from, or null if the target cannot be reached
+     */
+    private int @Nullable [] search(UUID from, UUID to, Relation relation) {
+        Integer start = ordinals.get(from), target = ordinals.get(to);
+        if (start == null || target == null) return null;
+
+        Adjacency adjacency = declared[relation.ordinal()];
+        int[] parents = newDistances();
+        int[] queue = new int[nations.length];
+        int head = 0, tail = 0;
+
+        parents[start] = start;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == target) return parents;
+
+            for (int i = adjacency.offsets[current]; i < adjacency.offsets[current + 1]; i++) {
+                int next = adjacency.targets[i];
+                if (parents[next] >= 0) continue;
+
+                parents[next] = current;
+                queue[tail++] = next;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The nations connected to the nation through the relation in either direction, including the nation itself, or an empty list if it is not in the graph
+     */
+    public @NotNull List<Nation> getBloc(@NotNull UUID nation, @NotNull Relation relation) {
+        Integer ordinal = ordinals.get(nation);
+        if (ordinal == null) return List.of();
+
+        int[] component = components(relation);
+        int label = component[ordinal];
+
+        List<Nation> bloc = new ArrayList<>();
+        for (int i = 0; i < nations.length; i++) {
+            if (component[i] == label) bloc.add(nations[i]);
+        }
+
+        return bloc;
+    }
+
+    /**
+     * Find the blocs of nations connected through the relation in either direction, such as every group of nations tied together by {@link Relation#MUTUAL_ALLY}
+     * @return Every bloc of at least two nations, largest first
+     */
+    public @NotNull List<List<Nation>> getBlocs(@NotNull Relation relation) {
+        int[] component = components(relation);
+
+        Map<Integer, List<Nation>> blocs = new HashMap<>();
+        for (int i = 0; i < nations.length; i++) {
+            blocs.computeIfAbsent(component[i], label -> new ArrayList<>()).add(nations[i]);
+        }
+
+        List<List<Nation>> result = new ArrayList<>();
+        for (List<Nation> bloc : blocs.values()) {
+            if (bloc.size() > 1) result.add(bloc);
+        }
+
+        result.sort(Comparator.comparingInt(List<Nation>::size).reversed());
+        return result;
+    }
+
+    /**
+     * Labels each nation with the smallest ordinal in its weakly connected component using union-find over both directions of the relation
+     */
+    private int[] components(Relation relation) {
+        Adjacency adjacency = declared[relation.ordinal()];
+        int[] parent = new int[nations.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+
+        for (int a = 0; a < nations.length; a++) {
+            for (int i = adjacency.offsets[a]; i < adjacency.offsets[a + 1]; i++) {
+                int rootA = find(parent, a), rootB = find(parent, adjacency.targets[i]);
+                if (rootA != rootB) parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+            }
+        }
+
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = find(parent, i);
+        }
+
+        return parent;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+
+        return i;
+    }
+
+    /**
+     * @return The nations that list the town as sanctioned, empty if none do
+     */
+    public @NotNull List<Nation> getSanctioningNations(@NotNull UUID town) {
+        int[] sanctioning = sanctionedBy.getOrDefault(town, NONE);
+
+        List<Nation> result = new ArrayList<>(sanctioning.length);
+        for (int ordinal : sanctioning) {
+            result.add(nations[ordinal]);
+        }
+
+        return result;
+    }
+
+    public boolean isSanctioned(@NotNull UUID nation, @NotNull UUID town) {
+        Integer ordinal = ordinals.get(nation);
+        if (ordinal == null) return false;
+
+        for (int sanctioning : sanctionedBy.getOrDefault(town, NONE)) {
+            if (sanctioning == ordinal) return true;
+        }
+
+        return false;
+    }
+
+    private int[] newDistances() {
+        int[] distances = new int[nations.length];
+        Arrays.fill(distances, -1);
+        return distances;
+    }
+
+    private List<Nation> toNations(Adjacency adjacency, int ordinal) {
+        int from = adjacency.offsets[ordinal], to = adjacency.offsets[ordinal + 1];
+
+        List<Nation> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(nations[adjacency.targets[i]]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Compressed sparse rows, the neighbours of ordinal i are targets[offsets[i]] up to targets[offsets[i + 1]], sorted ascending
+     */
+    private record Adjacency(int[] offsets, int[] targets) {
+
+        boolean contains(int from, int to) {
+            return Arrays.binarySearch(targets, offsets[from], offsets[from + 1], to) >= 0;
+        }
+
+        /**
+         * @return The edges whose reverse edge also exists
+         */
+        Adjacency mutual() {
+            int n = offsets.length - 1;
+            int[] mutualOffsets = new int[n + 1];
+            int[] mutualTargets = new int[targets.length];
+            int size = 0;
+
+            for (int a = 0; a < n; a++) {
+                for (int i = offsets[a]; i < offsets[a + 1]; i++) {
+                    if (contains(targets[i], a)) mutualTargets[size++] = targets[i];
+                }
+                mutualOffsets[a + 1] = size;
+            }
+
+            return new Adjacency(mutualOffsets, Arrays.copyOf(mutualTargets, size));
+        }
+
+        /**
+         * @return Every edge reversed, rows stay sorted as sources are visited in ascending order
+         */
+        Adjacency transpose() {
+            int n = offsets.length - 1;
+            int[] transposedOffsets = new int[n + 1];
+            for (int target : targets) {
+                transposedOffsets[target + 1]++;
+            }
+            for (int i = 0; i < n; i++) {
+                transposedOffsets[i + 1] += transposedOffsets[i];
+            }
+
+            int[] next = Arrays.copyOf(transposedOffsets, n);
+            int[] transposedTargets = new int[targets.length];
+            for (int a = 0; a < n; a++) {
+                for (int i = offsets[a]; i < offsets[a + 1]; i++) {
+                    transposedTargets[next[targets[i]]++] = a;
+                }
+            }
+
+            return new Adjacency(transposedOffsets, transposedTargets);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package au.lupine.emcapiclient.index;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing hash map from long keys to non-negative int values, using linear probing and backward-shift deletion so no tombstones build up
+ * <p>
+ * Not thread-safe, {@link WorldClaimIndex} guards it. Probing is bounded by the table size so a reader racing a writer terminates and can then discard its result
+ */
+class LongIntMap {
+
+    static final int NO_VALUE = -1;
+
+    private static final double MAX_LOAD = 0.6;
+
+    private Table table;
+    private int size;
+
+    LongIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / MAX_LOAD)) - 1) << 1;
+        this.table = new Table(capacity);
+    }
+
+    int get(long key) {
+        Table table = this.table;
+        int mask = table.keys.length - 1;
+
+        int index = hash(key) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            int value = table.values[index];
+            if (value == NO_VALUE) return NO_VALUE;
+            if (table.keys[index] == key) return value;
+
+            index = (index + 1) & mask;
+        }
+
+        return NO_VALUE;
+    }
+
+    /**
+     * @return The value previously mapped to the key, or {@link #NO_VALUE}
+     */
+    int put(long key, int value) {
+        if (value < 0) throw new IllegalArgumentException("Values must not be negative");
+        if (size + 1 > table.keys.length * MAX_LOAD) resize(table.keys.length << 1);
+
+        long[] keys = table.keys;
+        int[] values = table.values;
+        int mask = keys.length - 1;
+
+        int index = hash(key) & mask;
+        while (values[index] != NO_VALUE) {
+            if (keys[index] == key) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        size++;
+
+        return NO_VALUE;
+    }
+
+    /**
+     * @return The value that was mapped to the key, or {@link #NO_VALUE}
+     */
+    int remove(long key) {
+        long[] keys = table.keys;
+        int[] values = table.values;
+        int mask = keys.length - 1;
+
+        int index = hash(key) & mask;
+        while (true) {
+            if (values[index] == NO_VALUE) return NO_VALUE;
+            if (keys[index] == key) break;
+
+            index = (index + 1) & mask;
+        }
+
+        int removed = values[index];
+
+        // Shift every following entry of the cluster back into the gap unless that would move it before its home slot
+        int gap = index;
+        int next = index;
+        while (true) {
+            next = (next + 1) & mask;
+            if (values[next] == NO_VALUE) break;
+
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+
+        values[gap] = NO_VALUE;
+        size--;
+
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        Table old = table;
+        Table resized = new Table(capacity);
+        int mask = capacity - 1;
+
+        for (int i = 0; i < old.keys.length; i++) {
+            if (old.values[i] == NO_VALUE) continue;
+
+            int index = hash(old.keys[i]) & mask;
+            while (resized.values[index] != NO_VALUE) index = (index + 1) & mask;
+
+            resized.keys[index] = old.keys[i];
+            resized.values[index] = old.values[i];
+        }
+
+        table = resized;
+    }
+
+    /**
+     * The finaliser of MurmurHash3, packed chunk keys are far from uniform so they need mixing before being masked
+     */
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+
+        return (int) key;
+    }
+
+    /**
+     * Keys and values are swapped together on resize so a reader never pairs arrays of different sizes
+     */
+    private static class Table {
+
+        private final long[] keys;
+        private final int[] values;
+
+        private Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            Arrays.fill(values, NO_VALUE);
+        }
+    }
+}
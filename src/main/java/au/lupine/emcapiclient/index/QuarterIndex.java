@@ -0,0 +1,413 @@
+package au.lupine.emcapiclient.index;
+
+import au.lupine.emcapiclient.object.Cuboid;
+import au.lupine.emcapiclient.object.Location;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Answers which quarters contain or are near a block without scanning every quarter, using an R-tree over the cuboids of a snapshot of quarters
+ * <p>
+ * The tree is bulk loaded with Sort-Tile-Recursive packing, so nodes are full and barely overlap, and is stored in flat int arrays with no object per node.
+ * It is immutable and safe to query from multiple threads, build a new one from a fresh snapshot to refresh it
+ */
+public class QuarterIndex {
+
+    public static final int DEFAULT_NODE_CAPACITY = 16;
+
+    private static final int MIN_X = 0, MIN_Y = 1, MIN_Z = 2, MAX_X = 3, MAX_Y = 4, MAX_Z = 5;
+
+    private final Quarter[] quarters;
+    private final int numQuarters;
+    /** The inclusive block bounds of each cuboid, six ints per cuboid in tree order */
+    private final int[] cuboidBounds;
+    private final int[] cuboidQuarter;
+    /** The bounds of each node, leaves first and the root last */
+    private final int[] nodeBounds;
+    private final int[] nodeFirstChild;
+    private final int[] nodeNumChildren;
+    private final int numLeaves;
+    private final int stackSize;
+
+    /**
+     * @param quarters A snapshot of quarters, such as every quarter returned by getAllQuarters
+     */
+    public QuarterIndex(@NotNull Collection<Quarter> quarters) {
+        this(new Builder().addAll(quarters));
+    }
+
+    private QuarterIndex(Builder builder) {
+        this.quarters = builder.quarters.toArray(new Quarter[0]);
+        this.numQuarters = quarters.length;
+
+        int numCuboids = builder.numCuboids;
+        int capacity = builder.nodeCapacity;
+
+        int[] order = sortTileRecursive(builder.cuboidBounds, numCuboids, capacity);
+        this.cuboidBounds = new int[numCuboids * 6];
+        this.cuboidQuarter = new int[numCuboids];
+        for (int i = 0; i < numCuboids; i++) {
+            System.arraycopy(builder.cuboidBounds, order[i] * 6, cuboidBounds, i * 6, 6);
+            cuboidQuarter[i] = builder.cuboidQuarter[order[i]];
+        }
+
+        List<int[]> levelBounds = new ArrayList<>();
+        List<int[]> levelFirstChild = new ArrayList<>();
+        List<int[]> levelNumChildren = new ArrayList<>();
+
+        // Group the sorted cuboids into leaves, then repeatedly sort each level and group it into the level above until one root remains
+        int[] bounds = cuboidBounds;
+        int count = numCuboids;
+        int childOffset = 0;
+        int numNodes = 0;
+        while (count > 0) {
+            int numGroups = (count + capacity - 1) / capacity;
+            int[] groupBounds = new int[numGroups * 6];
+            int[] groupFirstChild = new int[numGroups];
+            int[] groupNumChildren = new int[numGroups];
+
+            for (int group = 0; group < numGroups; group++) {
+                int first = group * capacity;
+                int last = Math.min(count, first + capacity);
+
+                groupFirstChild[group] = childOffset + first;
+                groupNumChildren[group] = last - first;
+                union(bounds, first, last, groupBounds, group);
+            }
+
+            if (!levelBounds.isEmpty()) childOffset += levelBounds.get(levelBounds.size() - 1).length / 6;
+            if (numGroups > 1) {
+                int[] levelOrder = sortTileRecursive(groupBounds, numGroups, capacity);
+                groupBounds = reorder(groupBounds, levelOrder, 6);
+                groupFirstChild = reorder(groupFirstChild, levelOrder, 1);
+                groupNumChildren = reorder(groupNumChildren, levelOrder, 1);
+            }
+
+            levelBounds.add(groupBounds);
+            levelFirstChild.add(groupFirstChild);
+            levelNumChildren.add(groupNumChildren);
+            numNodes += numGroups;
+
+            if (numGroups == 1) break;
+
+            bounds = groupBounds;
+            count = numGroups;
+        }
+
+        this.nodeBounds = new int[numNodes * 6];
+        this.nodeFirstChild = new int[numNodes];
+        this.nodeNumChildren = new int[numNodes];
+
+        int offset = 0;
+        for (int level = 0; level < levelBounds.size(); level++) {
+            int size = levelFirstChild.get(level).length;
+            System.arraycopy(levelBounds.get(level), 0, nodeBounds, offset * 6, size * 6);
+            System.arraycopy(levelFirstChild.get(level), 0, nodeFirstChild, offset, size);
+            System.arraycopy(levelNumChildren.get(level), 0, nodeNumChildren, offset, size);
+            offset += size;
+        }
+
+        this.numLeaves = levelBounds.isEmpty() ? 0 : levelFirstChild.get(0).length;
+        this.stackSize = Math.max(1, levelBounds.size() * capacity);
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return A quarter containing the block, or null if there is none. Quarters are not meant to overlap, see {@link #getQuartersAt(int, int, int)} if they might
+     */
+    public @Nullable Quarter getQuarterAt(int x, int y, int z) {
+        int[] stack = createStack();
+        int top = pushRoot(stack);
+
+        while (top > 0) {
+            int node = stack[--top];
+            for (int child = nodeFirstChild[node], end = child + nodeNumChildren[node]; child < end; child++) {
+                if (node < numLeaves) {
+                    if (contains(cuboidBounds, child, x, y, z)) return quarters[cuboidQuarter[child]];
+                } else if (contains(nodeBounds, child, x, y, z)) {
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public @Nullable Quarter getQuarterAt(double x, double y, double z) {
+        return getQuarterAt(floor(x), floor(y), floor(z));
+    }
+
+    /**
+     * @return A quarter containing the location, any quarter in the location's column if it has no y coordinate
+     */
+    public @Nullable Quarter getQuarterAt(@NotNull Location location) {
+        Double y = location.getY();
+        if (y != null) return getQuarterAt(location.getX(), y, location.getZ());
+
+        int x = floor(location.getX()), z = floor(location.getZ());
+        List<Quarter> quarters = getQuartersIntersecting(x, Integer.MIN_VALUE, z, x, Integer.MAX_VALUE, z);
+
+        return quarters.isEmpty() ? null : quarters.get(0);
+    }
+
+    public @NotNull List<Quarter> getQuartersAt(int x, int y, int z) {
+        return getQuartersIntersecting(x, y, z, x, y, z);
+    }
+
+    /**
+     * @return Every quarter with a cuboid overlapping the box, whose bounds are inclusive block coordinates
+     */
+    public @NotNull List<Quarter> getQuartersIntersecting(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        Set<Quarter> found = new LinkedHashSet<>();
+        forEachQuarterIntersecting(minX, minY, minZ, maxX, maxY, maxZ, found::add);
+
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Hands every quarter with a cuboid overlapping the box to the consumer without collecting them, a quarter is handed over once for each of its cuboids that overlaps
+     */
+    public void forEachQuarterIntersecting(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, @NotNull Consumer<Quarter> consumer) {
+        int[] stack = createStack();
+        int top = pushRoot(stack);
+
+        while (top > 0) {
+            int node = stack[--top];
+            for (int child = nodeFirstChild[node], end = child + nodeNumChildren[node]; child < end; child++) {
+                if (node < numLeaves) {
+                    if (intersects(cuboidBounds, child, minX, minY, minZ, maxX, maxY, maxZ)) consumer.accept(quarters[cuboidQuarter[child]]);
+                } else if (intersects(nodeBounds, child, minX, minY, minZ, maxX, maxY, maxZ)) {
+                    stack[top++] = child;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The quarter with the cuboid closest to the block, measured to the nearest block of the cuboid, or null if the index is empty
+     */
+    public @Nullable Quarter getNearestQuarter(double x, double y, double z) {
+        return getNearestQuarter(x, y, z, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * @param maxDistance The furthest a quarter may be from the block to be returned
+     * @return The quarter with the cuboid closest to the block, or null if none is within the maximum distance
+     */
+    public @Nullable Quarter getNearestQuarter(double x, double y, double z, double maxDistance) {
+        int[] stack = createStack();
+        int top = pushRoot(stack);
+
+        double best = maxDistance * maxDistance;
+        int bestCuboid = -1;
+        while (top > 0) {
+            int node = stack[--top];
+            if (distanceSquared(nodeBounds, node, x, y, z) > best) continue;
+
+            for (int child = nodeFirstChild[node], end = child + nodeNumChildren[node]; child < end; child++) {
+                if (node < numLeaves) {
+                    double distance = distanceSquared(cuboidBounds, child, x, y, z);
+                    if (distance <= best && (bestCuboid == -1 || distance < best)) {
+                        best = distance;
+                        bestCuboid = child;
+                    }
+                } else if (distanceSquared(nodeBounds, child, x, y, z) <= best) {
+                    stack[top++] = child;
+                }
+            }
+        }
+
+        return bestCuboid == -1 ? null : quarters[cuboidQuarter[bestCuboid]];
+    }
+
+    public int getNumQuarters() {
+        return numQuarters;
+    }
+
+    public int getNumCuboids() {
+        return cuboidQuarter.length;
+    }
+
+    /**
+     * Collects quarters for a {@link QuarterIndex} and packs the tree once they have all been added
+     */
+    public static class Builder {
+
+        private final List<Quarter> quarters = new ArrayList<>();
+        private int[] cuboidBounds = new int[6 * 64];
+        private int[] cuboidQuarter = new int[64];
+        private int numCuboids;
+        private int nodeCapacity = DEFAULT_NODE_CAPACITY;
+
+        private Builder() {}
+
+        public @NotNull Builder add(@NotNull Quarter quarter) {
+            int index = quarters.size();
+            quarters.add(quarter);
+
+            for (Cuboid cuboid : quarter.getCuboids()) {
+                if (numCuboids == cuboidQuarter.length) {
+                    cuboidBounds = Arrays.copyOf(cuboidBounds, cuboidBounds.length * 2);
+                    cuboidQuarter = Arrays.copyOf(cuboidQuarter, cuboidQuarter.length * 2);
+                }
+
+                Location one = cuboid.getCornerOne(), two = cuboid.getCornerTwo();
+                int offset = numCuboids * 6;
+                cuboidBounds[offset + MIN_X] = floor(Math.min(one.getX(), two.getX()));
+                cuboidBounds[offset + MIN_Y] = one.getY() == null || two.getY() == null ? Integer.MIN_VALUE : floor(Math.min(one.getY(), two.getY()));
+                cuboidBounds[offset + MIN_Z] = floor(Math.min(one.getZ(), two.getZ()));
+                cuboidBounds[offset + MAX_X] = floor(Math.max(one.getX(), two.getX()));
+                cuboidBounds[offset + MAX_Y] = one.getY() == null || two.getY() == null ? Integer.MAX_VALUE : floor(Math.max(one.getY(), two.getY()));
+                cuboidBounds[offset + MAX_Z] = floor(Math.max(one.getZ(), two.getZ()));
+                cuboidQuarter[numCuboids++] = index;
+            }
+
+            return this;
+        }
+
+        public @NotNull Builder addAll(@NotNull Collection<Quarter> quarters) {
+            quarters.forEach(this::add);
+            return this;
+        }
+
+        /**
+         * @param nodeCapacity The most children a node may have, 16 by default. Smaller nodes prune more precisely, larger nodes make a shallower tree
+         */
+        public @NotNull Builder setNodeCapacity(int nodeCapacity) {
+            if (nodeCapacity < 2) throw new IllegalArgumentException("Node capacity must be at least 2");
+
+            this.nodeCapacity = nodeCapacity;
+            return this;
+        }
+
+        public @NotNull QuarterIndex build() {
+            return new QuarterIndex(this);
+        }
+    }
+
+    /**
+     * A depth-first search holds at most the unvisited siblings along one path, which is bounded by the height times the node capacity
+     */
+    private int[] createStack() {
+        return new int[stackSize];
+    }
+
+    private int pushRoot(int[] stack) {
+        if (nodeFirstChild.length == 0) return 0;
+
+        stack[0] = nodeFirstChild.length - 1;
+        return 1;
+    }
+
+    /**
+     * Orders boxes so that each consecutive run of the node capacity forms a compact node: sorted into vertical slabs by x, each slab into runs by z and each run by y
+     */
+    private static int[] sortTileRecursive(int[] bounds, int count, int capacity) {
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) order[i] = i;
+        if (count <= capacity) return order;
+
+        int numNodes = (count + capacity - 1) / capacity;
+        int slices = (int) Math.ceil(Math.cbrt(numNodes));
+        int slabSize = slices * slices * capacity;
+        int runSize = slices * capacity;
+
+        sortByCentre(bounds, order, 0, count, MIN_X);
+        for (int slab = 0; slab < count; slab += slabSize) {
+            int slabEnd = Math.min(count, slab + slabSize);
+            sortByCentre(bounds, order, slab, slabEnd, MIN_Z);
+
+            for (int run = slab; run < slabEnd; run += runSize) {
+                sortByCentre(bounds, order, run, Math.min(slabEnd, run + runSize), MIN_Y);
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * Sorts a range of indices by the centre of their boxes along an axis, packing the doubled centre and the index into one long so a primitive sort can be used
+     */
+    private static void sortByCentre(int[] bounds, int[] order, int from, int to, int axis) {
+        long[] keys = new long[to - from];
+        for (int i = from; i < to; i++) {
+            int box = order[i] * 6;
+            long centre = ((long) bounds[box + axis] + bounds[box + axis + 3]) >> 1;
+            keys[i - from] = (centre << 32) | order[i];
+        }
+
+        Arrays.sort(keys);
+        for (int i = from; i < to; i++) order[i] = (int) keys[i - from];
+    }
+
+    private static int[] reorder(int[] values, int[] order, int stride) {
+        int[] reordered = new int[values.length];
+        for (int i = 0; i < order.length; i++) {
+            System.arraycopy(values, order[i] * stride, reordered, i * stride, stride);
+        }
+
+        return reordered;
+    }
+
+    private static void union(int[] bounds, int first, int last, int[] into, int index) {
+        int offset = index * 6;
+        into[offset + MIN_X] = into[offset + MIN_Y] = into[offset + MIN_Z] = Integer.MAX_VALUE;
+        into[offset + MAX_X] = into[offset + MAX_Y] = into[offset + MAX_Z] = Integer.MIN_VALUE;
+
+        for (int i = first; i < last; i++) {
+            for (int axis = 0; axis < 3; axis++) {
+                into[offset + axis] = Math.min(into[offset + axis], bounds[i * 6 + axis]);
+                into[offset + axis + 3] = Math.max(into[offset + axis + 3], bounds[i * 6 + axis + 3]);
+            }
+        }
+    }
+
+    private static boolean contains(int[] bounds, int index, int x, int y, int z) {
+        int offset = index * 6;
+        return x >= bounds[offset + MIN_X] && x <= bounds[offset + MAX_X]
+                && z >= bounds[offset + MIN_Z] && z <= bounds[offset + MAX_Z]
+                && y >= bounds[offset + MIN_Y] && y <= bounds[offset + MAX_Y];
+    }
+
+    private static boolean intersects(int[] bounds, int index, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        int offset = index * 6;
+        return maxX >= bounds[offset + MIN_X] && minX <= bounds[offset + MAX_X]
+                && maxZ >= bounds[offset + MIN_Z] && minZ <= bounds[offset + MAX_Z]
+                && maxY >= bounds[offset + MIN_Y] && minY <= bounds[offset + MAX_Y];
+    }
+
+    private static double distanceSquared(int[] bounds, int index, double x, double y, double z) {
+        int offset = index * 6;
+        double dx = axisDistance(x, bounds[offset + MIN_X], bounds[offset + MAX_X]);
+        double dy = axisDistance(y, bounds[offset + MIN_Y], bounds[offset + MAX_Y]);
+        double dz = axisDistance(z, bounds[offset + MIN_Z], bounds[offset + MAX_Z]);
+
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Distance along one axis from a point to the blocks between min and max inclusive, where a block spans one unit
+     */
+    private static double axisDistance(double value, int min, int max) {
+        if (value < min) return min - value;
+        if (value >= max + 1.0) return value - (max + 1.0);
+
+        return 0;
+    }
+
+    private static int floor(double value) {
+        return (int) Math.floor(value);
+    }
+}
@@ -0,0 +1,246 @@
+package au.lupine.emcapiclient.index;
+
+import au.lupine.emcapiclient.object.Location;
+import au.lupine.emcapiclient.object.apiobject.LocationInfo;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
+import au.lupine.emcapiclient.util.ChunkUtil;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Answers which town, if any, has claimed a location without asking the API, using the town blocks of a snapshot of towns
+ * <p>
+ * Chunks are looked up in an open-addressing map from packed chunk keys to town slots, so a query allocates nothing and takes no lock unless it races an update.
+ * Towns can be updated or removed one at a time as they are fetched again. The index is safe to query and update from multiple threads
+ */
+public class WorldClaimIndex {
+
+    private final StampedLock lock = new StampedLock();
+    private final LongIntMap slotByChunk;
+    private final Map<UUID, Integer> slotByUUID = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private ClaimedTown[] towns = new ClaimedTown[16];
+    private int numSlots;
+
+    public WorldClaimIndex() {
+        this.slotByChunk = new LongIntMap(1024);
+    }
+
+    /**
+     * @param towns A snapshot of towns, such as every town returned by getAllTowns
+     */
+    public WorldClaimIndex(@NotNull Collection<Town> towns) {
+        int numTownBlocks = 0;
+        for (Town town : towns) {
+            numTownBlocks += town.getNumTownBlocks();
+        }
+
+        this.slotByChunk = new LongIntMap(numTownBlocks);
+        towns.forEach(this::update);
+    }
+
+    /**
+     * @return The town that has claimed the chunk, or null if it is wilderness
+     */
+    public @Nullable TownIdentifier getTownAtChunk(int chunkX, int chunkZ) {
+        ClaimedTown town = find(ChunkUtil.pack(chunkX, chunkZ));
+        return town == null ? null : town.town;
+    }
+
+    /**
+     * @return The town that has claimed the block, or null if it is wilderness
+     */
+    public @Nullable TownIdentifier getTownAt(double x, double z) {
+        return getTownAtChunk(ChunkUtil.toChunk(x), ChunkUtil.toChunk(z));
+    }
+
+    /**
+     * @return The nation of the town that has claimed the block, or null if it is wilderness or the town has no nation
+     */
+    public @Nullable NationIdentifier getNationAt(double x, double z) {
+        ClaimedTown town = find(ChunkUtil.pack(ChunkUtil.toChunk(x), ChunkUtil.toChunk(z)));
+        return town == null ? null : town.nation;
+    }
+
+    public boolean isWilderness(double x, double z) {
+        return find(ChunkUtil.pack(ChunkUtil.toChunk(x), ChunkUtil.toChunk(z))) == null;
+    }
+
+    /**
+     * Builds the {@link LocationInfo} the location endpoint would return, for code written against it.
+     * Prefer {@link #getTownAt(double, double)} and {@link #getNationAt(double, double)} in hot paths as this allocates a JSON object per call
+     */
+    public @NotNull LocationInfo getLocationInfo(@NotNull Location location) {
+        ClaimedTown town = find(ChunkUtil.pack(ChunkUtil.toChunk(location.getX()), ChunkUtil.toChunk(location.getZ())));
+
+        JsonObject locationObject = new JsonObject();
+        locationObject.addProperty("x", location.getX());
+        locationObject.addProperty("z", location.getZ());
+
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.add("location", locationObject);
+        jsonObject.addProperty("isWilderness", town == null);
+        jsonObject.add("town", createIdentifierObject(town == null ? null : town.town.getName(), town == null ? null : town.town.getUUID()));
+        jsonObject.add("nation", createIdentifierObject(town == null || town.nation == null ? null : town.nation.getName(), town == null || town.nation == null ? null : town.nation.getUUID()));
+
+        return new LocationInfo(jsonObject, JsonRetention.NONE);
+    }
+
+    /**
+     * Adds the town or replaces its claims with its current ones, a chunk claimed by two towns belongs to the one updated last
+     */
+    public void update(@NotNull Town town) {
+        long[] chunks = town.getPackedTownBlocks();
+        ClaimedTown claimed = new ClaimedTown(new TownIdentifier(town.getName(), town.getUUID()), town.getNation(), chunks);
+
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slotByUUID.get(town.getUUID());
+            if (slot != null) {
+                unclaim(slot, chunks);
+            } else {
+                slot = allocateSlot();
+                slotByUUID.put(town.getUUID(), slot);
+            }
+
+            towns[slot] = claimed;
+            for (long chunk : chunks) {
+                slotByChunk.put(chunk, slot);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the town and frees every chunk it still holds, for towns that have fallen
+     * @return True if the town was in the index
+     */
+    public boolean remove(@NotNull UUID uuid) {
+        long stamp = lock.writeLock();
+        try {
+            Integer slot = slotByUUID.remove(uuid);
+            if (slot == null) return false;
+
+            unclaim(slot, new long[0]);
+            towns[slot] = null;
+            freeSlots.push(slot);
+
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Updates every town of a fresh snapshot and removes the towns missing from it
+     */
+    public void replaceAll(@NotNull Collection<Town> snapshot) {
+        Set<UUID> current = new HashSet<>();
+        for (Town town : snapshot) {
+            update(town);
+            current.add(town.getUUID());
+        }
+
+        Set<UUID> missing;
+        long stamp = lock.readLock();
+        try {
+            missing = new HashSet<>(slotByUUID.keySet());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        missing.removeAll(current);
+        missing.forEach(this::remove);
+    }
+
+    public int getNumTowns() {
+        long stamp = lock.readLock();
+        try {
+            return slotByUUID.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int getNumClaimedChunks() {
+        long stamp = lock.readLock();
+        try {
+            return slotByChunk.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private @Nullable ClaimedTown find(long chunk) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            ClaimedTown town = lookup(chunk);
+            if (lock.validate(stamp)) return town;
+        }
+
+        stamp = lock.readLock();
+        try {
+            return lookup(chunk);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * May run concurrently with a writer under an optimistic read, so it tolerates a slot that is out of range or already freed
+     */
+    private @Nullable ClaimedTown lookup(long chunk) {
+        int slot = slotByChunk.get(chunk);
+        if (slot == LongIntMap.NO_VALUE) return null;
+
+        ClaimedTown[] towns = this.towns;
+        return slot < towns.length ? towns[slot] : null;
+    }
+
+    /**
+     * Frees the slot's previous chunks that are not in the new claims and still point at the slot, chunks taken over by another town are left alone
+     */
+    private void unclaim(int slot, long[] newChunks) {
+        ClaimedTown previous = towns[slot];
+        if (previous == null) return;
+
+        for (long chunk : previous.chunks) {
+            if (Arrays.binarySearch(newChunks, chunk) >= 0) continue;
+            if (slotByChunk.get(chunk) == slot) slotByChunk.remove(chunk);
+        }
+    }
+
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) return free;
+
+        if (numSlots == towns.length) towns = Arrays.copyOf(towns, towns.length * 2);
+        return numSlots++;
+    }
+
+    private static JsonObject createIdentifierObject(@Nullable String name, @Nullable UUID uuid) {
+        JsonObject identifier = new JsonObject();
+        identifier.addProperty("name", name);
+        identifier.addProperty("uuid", uuid == null ? null : uuid.toString());
+
+        return identifier;
+    }
+
+    private record ClaimedTown(@NotNull TownIdentifier town, @Nullable NationIdentifier nation, long @NotNull [] chunks) {}
+}
@@ -0,0 +1,162 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gathers single-entity lookups that arrive within a short window and sends them to their endpoint as one batched POST
+ * <p>
+ * A batch is sent when the window since its first lookup has passed or when it reaches the maximum batch size, whichever is first,
+ * and each response element is handed back to the lookup that asked for it by its UUID, name, location or Discord ID rather than its position
+ */
+public class BatchDispatcher {
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final RequestManager requestManager;
+    private final Executor delayedExecutor;
+    private final int maxBatchSize;
+    private final Map<URI, PendingBatch> pending = new HashMap<>();
+
+    public BatchDispatcher(@NotNull RequestManager requestManager) {
+        this(requestManager, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * @param window How long to wait after the first lookup of a batch for others to join it
+     * @param maxBatchSize The number of lookups that sends a batch immediately, at most 100 as that is all the API accepts in one request
+     */
+    public BatchDispatcher(@NotNull RequestManager requestManager, @NotNull Duration window, int maxBatchSize) {
+        if (window.isNegative()) throw new IllegalArgumentException("Window must not be negative");
+        if (maxBatchSize < 1 || maxBatchSize > 100) throw new IllegalArgumentException("Max batch size must be between 1 and 100");
+
+        this.requestManager = requestManager;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, requestManager.getExecutor());
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * @param uri The endpoint to post to
+     * @param query A single element of a query array, such as a name, a UUID string or a [x, z] coordinate pair
+     * @return A future completing with the response element for the query, or null if the API did not return one
+     */
+    public @NotNull CompletableFuture<JsonElement> dispatch(@NotNull URI uri, @NotNull JsonElement query) {
+        CompletableFuture<JsonElement> future = new CompletableFuture<>();
+
+        PendingBatch batch;
+        boolean isFirst, isFull;
+        synchronized (this) {
+            batch = pending.computeIfAbsent(uri, u -> new PendingBatch());
+            isFirst = batch.waiters.isEmpty();
+
+            batch.waiters.computeIfAbsent(query.toString(), key -> new Waiters(query)).futures.add(future);
+
+            isFull = batch.waiters.size() >= maxBatchSize;
+            if (isFull) pending.remove(uri);
+        }
+
+        if (isFull) {
+            send(uri, batch);
+        } else if (isFirst) {
+            delayedExecutor.execute(() -> flush(uri, batch));
+        }
+
+        return future;
+    }
+
+    private void flush(URI uri, PendingBatch batch) {
+        synchronized (this) {
+            if (!pending.remove(uri, batch)) return;
+        }
+
+        send(uri, batch);
+    }
+
+    private void send(URI uri, PendingBatch batch) {
+        List<Waiters> waiters = new ArrayList<>(batch.waiters.values());
+
+        JsonArray queryArray = new JsonArray();
+        waiters.forEach(waiter -> queryArray.add(waiter.query));
+
+        requestManager.postURIAsJsonArrayAsync(uri, JSONUtil.createRequestBody(queryArray)).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                waiters.forEach(waiter -> waiter.futures.forEach(future -> future.completeExceptionally(throwable)));
+                return;
+            }
+
+            Map<String, JsonElement> byKey = new HashMap<>();
+            for (JsonElement element : response) {
+                if (element.isJsonObject()) addKeys(element.getAsJsonObject(), element, byKey);
+            }
+
+            for (Waiters waiter : waiters) {
+                JsonElement element = byKey.get(toKey(waiter.query));
+                waiter.futures.forEach(future -> future.complete(element));
+            }
+        });
+    }
+
+    /**
+     * Indexes a response element under every key a query could have asked for it by, so it reaches its lookup whatever order the API answers in
+     * and however many elements it leaves out or merges
+     */
+    private static void addKeys(JsonObject object, JsonElement element, Map<String, JsonElement> byKey) {
+        for (String field : new String[]{"uuid", "name", "id"}) {
+            JsonElement value = object.get(field);
+            if (value != null && value.isJsonPrimitive()) byKey.putIfAbsent(value.getAsString().toLowerCase(Locale.ROOT), element);
+        }
+
+        JsonElement location = object.get("location");
+        if (location != null && location.isJsonObject()) {
+            JsonObject coordinates = location.getAsJsonObject();
+            if (coordinates.has("x") && coordinates.has("z")) byKey.putIfAbsent(toLocationKey(coordinates.get("x"), coordinates.get("z")), element);
+        }
+    }
+
+    /**
+     * @return The key of the response element a query asks for, a lowercase name or UUID, a location or a Discord lookup's target
+     */
+    private static String toKey(JsonElement query) {
+        if (query.isJsonArray()) {
+            JsonArray coordinates = query.getAsJsonArray();
+            return toLocationKey(coordinates.get(0), coordinates.get(1));
+        }
+
+        if (query.isJsonObject()) return query.getAsJsonObject().get("target").getAsString().toLowerCase(Locale.ROOT);
+
+        return query.getAsString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String toLocationKey(JsonElement x, JsonElement z) {
+        return x.getAsDouble() + "," + z.getAsDouble();
+    }
+
+    private static class PendingBatch {
+        private final Map<String, Waiters> waiters = new LinkedHashMap<>();
+    }
+
+    private static class Waiters {
+        private final JsonElement query;
+        private final List<CompletableFuture<JsonElement>> futures = new ArrayList<>();
+
+        private Waiters(JsonElement query) {
+            this.query = query;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package au.lupine.emcapiclient.manager;
+
+import com.google.gson.JsonArray;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The outcome of a batched call that is allowed to partly fail, holding the results of every batch that succeeded and a report of every batch that did not
+ */
+public class BatchResult<T> {
+
+    private final List<T> results;
+    private final List<Failure> failures;
+
+    public BatchResult(@NotNull List<T> results, @NotNull List<Failure> failures) {
+        this.results = results;
+        this.failures = failures;
+    }
+
+    /**
+     * @return The results of every successful batch, in query order
+     */
+    public @NotNull List<T> getResults() {
+        return results;
+    }
+
+    public @NotNull List<Failure> getFailures() {
+        return failures;
+    }
+
+    public boolean isComplete() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * @return Every query element of every failed batch, ready to be sent again
+     */
+    public @NotNull JsonArray getFailedQuery() {
+        JsonArray query = new JsonArray();
+        failures.forEach(failure -> query.addAll(failure.getQuery()));
+
+        return query;
+    }
+
+    public <R> @NotNull BatchResult<R> map(@NotNull Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>();
+        for (T result : results) {
+            mapped.add(mapper.apply(result));
+        }
+
+        return new BatchResult<>(mapped, failures);
+    }
+
+    /**
+     * Describes one batch that failed after its retries were exhausted
+     */
+    public static class Failure {
+
+        private final int fromIndex, toIndex;
+        private final JsonArray query;
+        private final Throwable cause;
+
+        public Failure(int fromIndex, int toIndex, @NotNull JsonArray query, @NotNull Throwable cause) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.query = query;
+            this.cause = cause;
+        }
+
+        /**
+         * @return The index of the batch's first element within the original query
+         */
+        public int getFromIndex() {
+            return fromIndex;
+        }
+
+        /**
+         * @return The index after the batch's last element within the original query
+         */
+        public int getToIndex() {
+            return toIndex;
+        }
+
+        public @NotNull JsonArray getQuery() {
+            return query;
+        }
+
+        public @NotNull Throwable getCause() {
+            return cause;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.wrapper.Server;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches players, towns, nations and quarters per {@link Server} so that repeated lookups within their expiry do not reach the API
+ * <p>
+ * Caching is disabled for every endpoint until an expiry is set with {@link #setExpiry(Endpoint, Duration)}
+ */
+public class CacheManager {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final Map<String, Map<Endpoint, EntityCache>> caches = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Long> expiryNanos = new ConcurrentHashMap<>();
+    private final Map<Endpoint, LongAdder> hits = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> misses = new EnumMap<>(Endpoint.class);
+    private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    public CacheManager() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            expiryNanos.put(endpoint, 0L);
+            hits.put(endpoint, new LongAdder());
+            misses.put(endpoint, new LongAdder());
+        }
+    }
+
+    /**
+     * Set how long entities from an endpoint stay cached, a zero duration disables caching for that endpoint
+     * @param endpoint One of {@link Endpoint#PLAYERS}, {@link Endpoint#TOWNS}, {@link Endpoint#NATIONS} or {@link Endpoint#QUARTERS}
+     */
+    public void setExpiry(@NotNull Endpoint endpoint, @NotNull Duration expiry) {
+        if (!isCacheable(endpoint)) throw new IllegalArgumentException(endpoint + " does not return cacheable entities");
+        if (expiry.isNegative()) throw new IllegalArgumentException("Expiry must not be negative");
+
+        expiryNanos.put(endpoint, expiry.toNanos());
+
+        if (expiry.isZero()) invalidate(endpoint);
+    }
+
+    public @NotNull Duration getExpiry(@NotNull Endpoint endpoint) {
+        return Duration.ofNanos(expiryNanos.get(endpoint));
+    }
+
+    public boolean isEnabled(@NotNull Endpoint endpoint) {
+        return expiryNanos.get(endpoint) > 0;
+    }
+
+    /**
+     * Set the maximum number of entities of each type kept per server, the least recently used entity is evicted first
+     * <p>
+     * Only applies to caches created after this is called, so it should be set before the first lookup
+     */
+    public void setMaximumSize(int maximumSize) {
+        if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be at least 1");
+
+        this.maximumSize = maximumSize;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @param key A UUID as a string or a name, names are matched case-insensitively
+     * @return The cached entity or null if it is not cached or has expired
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Identifiable> @Nullable T get(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull String key) {
+        if (!isEnabled(endpoint)) return null;
+
+        Identifiable object = getCache(server, endpoint).get(key, System.nanoTime());
+        (object == null ? misses : hits).get(endpoint).increment();
+
+        return (T) object;
+    }
+
+    public void put(@NotNull Server server, @NotNull Endpoint endpoint, @NotNull Identifiable object) {
+        long expiry = expiryNanos.get(endpoint);
+        if (expiry <= 0) return;
+
+        getCache(server, endpoint).put(object, System.nanoTime() + expiry);
+    }
+
+    public void invalidate(@NotNull Endpoint endpoint) {
+        for (Map<Endpoint, EntityCache> serverCaches : caches.values()) {
+            EntityCache cache = serverCaches.get(endpoint);
+            if (cache != null) cache.clear();
+        }
+    }
+
+    public void invalidateAll() {
+        caches.clear();
+    }
+
+    public long getHitCount(@NotNull Endpoint endpoint) {
+        return hits.get(endpoint).sum();
+    }
+
+    public long getMissCount(@NotNull Endpoint endpoint) {
+        return misses.get(endpoint).sum();
+    }
+
+    public long getHitCount() {
+        return hits.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getMissCount() {
+        return misses.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return The fraction of lookups across every endpoint that were served from the cache, or 0 if there have been none
+     */
+    public double getHitRatio() {
+        long hitCount = getHitCount();
+        long total = hitCount + getMissCount();
+
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return The number of entities currently cached for the endpoint across every server, including any that have expired but not yet been evicted
+     */
+    public int getSize(@NotNull Endpoint endpoint) {
+        int size = 0;
+        for (Map<Endpoint, EntityCache> serverCaches : caches.values()) {
+            EntityCache cache = serverCaches.get(endpoint);
+            if (cache != null) size += cache.size();
+        }
+
+        return size;
+    }
+
+    private EntityCache getCache(Server server, Endpoint endpoint) {
+        Map<Endpoint, EntityCache> serverCaches = caches.computeIfAbsent(server.getName(), name -> new ConcurrentHashMap<>());
+        return serverCaches.computeIfAbsent(endpoint, e -> new EntityCache(maximumSize));
+    }
+
+    private static boolean isCacheable(Endpoint endpoint) {
+        return switch (endpoint) {
+            case PLAYERS, TOWNS, NATIONS, QUARTERS -> true;
+            default -> false;
+        };
+    }
+}
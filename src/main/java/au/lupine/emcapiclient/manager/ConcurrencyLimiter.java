@@ -0,0 +1,131 @@
+package au.lupine.emcapiclient.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A non-blocking semaphore, callers that are over the limit are handed a future that completes once a permit is released
+ * <p>
+ * The limit adapts between 1 and its maximum: it is halved when the server reports overload and grows by one after a full limit's worth of successes
+ */
+class ConcurrencyLimiter {
+
+    private static final long DECREASE_COOLDOWN_NANOS = 1_000_000_000L;
+
+    private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int maximum;
+    private int limit;
+    private int inFlight;
+    private int successes;
+    private long lastDecrease = System.nanoTime() - DECREASE_COOLDOWN_NANOS;
+
+    ConcurrencyLimiter(int maximum) {
+        if (maximum < 1) throw new IllegalArgumentException("Concurrency limit must be at least 1");
+
+        this.maximum = maximum;
+        this.limit = maximum;
+    }
+
+    @NotNull CompletableFuture<Void> acquire() {
+        synchronized (this) {
+            if (inFlight < limit) {
+                inFlight++;
+                return CompletableFuture.completedFuture(null);
+            }
+
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            waiting.add(future);
+            return future;
+        }
+    }
+
+    void release() {
+        CompletableFuture<Void> next;
+        synchronized (this) {
+            inFlight--;
+            next = pollIfPermitted();
+        }
+
+        if (next != null) next.complete(null);
+    }
+
+    synchronized int getLimit() {
+        return limit;
+    }
+
+    synchronized int getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * Set the ceiling the limit may grow to and reset the limit to it
+     */
+    void setMaximum(int maximum) {
+        if (maximum < 1) throw new IllegalArgumentException("Concurrency limit must be at least 1");
+
+        Deque<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            this.maximum = maximum;
+            this.limit = maximum;
+            this.successes = 0;
+
+            granted = pollAllPermitted();
+        }
+
+        granted.forEach(future -> future.complete(null));
+    }
+
+    /**
+     * Additive increase, called after a request succeeded
+     */
+    void onSuccess() {
+        Deque<CompletableFuture<Void>> granted;
+        synchronized (this) {
+            if (limit >= maximum || ++successes < limit) return;
+
+            limit++;
+            successes = 0;
+
+            granted = pollAllPermitted();
+        }
+
+        granted.forEach(future -> future.complete(null));
+    }
+
+    /**
+     * Multiplicative decrease, called after the server responded with 429 or a 5xx status
+     * <p>
+     * Only the first overload in each second halves the limit, as the other requests in flight at the time were sent under the same limit
+     */
+    synchronized void onOverload() {
+        long now = System.nanoTime();
+        if (now - lastDecrease < DECREASE_COOLDOWN_NANOS) return;
+
+        limit = Math.max(1, limit / 2);
+        successes = 0;
+        lastDecrease = now;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private Deque<CompletableFuture<Void>> pollAllPermitted() {
+        Deque<CompletableFuture<Void>> granted = new ArrayDeque<>();
+
+        CompletableFuture<Void> next;
+        while ((next = pollIfPermitted()) != null) granted.add(next);
+
+        return granted;
+    }
+
+    private CompletableFuture<Void> pollIfPermitted() {
+        if (inFlight >= limit || waiting.isEmpty()) return null;
+
+        inFlight++;
+        return waiting.poll();
+    }
+}
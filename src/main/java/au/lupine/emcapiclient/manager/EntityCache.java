@@ -0,0 +1,83 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A size-bounded least recently used cache of one type of entity, reachable by either its UUID or its lowercase name
+ * <p>
+ * A name maps to the UUID it was last seen with, so removing an entry only drops its name if another entity has not taken that name since
+ */
+class EntityCache {
+
+    private final Map<String, Entry> byUUID;
+    private final Map<String, String> uuidByName = new HashMap<>();
+
+    EntityCache(int maximumSize) {
+        this.byUUID = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= maximumSize) return false;
+
+                uuidByName.remove(eldest.getValue().name, eldest.getKey());
+                return true;
+            }
+        };
+    }
+
+    static @NotNull String normalise(@NotNull String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+
+    synchronized @Nullable Identifiable get(@NotNull String key, long now) {
+        String normalised = normalise(key);
+
+        Entry entry = byUUID.get(normalised);
+        if (entry == null) {
+            String uuid = uuidByName.get(normalised);
+            if (uuid != null) entry = byUUID.get(uuid);
+        }
+
+        if (entry == null) return null;
+
+        if (now - entry.expiresAt >= 0) {
+            remove(entry);
+            return null;
+        }
+
+        return entry.object;
+    }
+
+    synchronized void put(@NotNull Identifiable object, long expiresAt) {
+        String uuid = object.getUUID().toString();
+
+        Entry previous = byUUID.get(uuid);
+        if (previous != null) uuidByName.remove(previous.name, uuid);
+
+        String name = object.getName() == null ? null : normalise(object.getName());
+        byUUID.put(uuid, new Entry(object, name, expiresAt));
+        if (name != null) uuidByName.put(name, uuid);
+    }
+
+    synchronized void clear() {
+        byUUID.clear();
+        uuidByName.clear();
+    }
+
+    synchronized int size() {
+        return byUUID.size();
+    }
+
+    private void remove(Entry entry) {
+        byUUID.remove(entry.object.getUUID().toString());
+        if (entry.name != null) uuidByName.remove(entry.name, entry.object.getUUID().toString());
+    }
+
+    private record Entry(Identifiable object, String name, long expiresAt) {}
+}
@@ -0,0 +1,244 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import au.lupine.emcapiclient.object.identifier.QuarterIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.wrapper.Server;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+
+/**
+ * Resolves identifiers to the entities they refer to in batches, the way a GraphQL DataLoader does
+ * <p>
+ * Each load hands back a future and remembers the identifier, nothing is sent until {@link #dispatch()} is called,
+ * which sends one batched request per entity type for everything loaded since the last dispatch and completes the futures.
+ * Loads are memoized for the life of the loader, so asking for the same entity twice, by name or by UUID, costs one lookup.
+ * A loader is meant to be short-lived, such as one per command or page being rendered, so that what it remembers does not go stale
+ */
+public class EntityLoader {
+
+    private final Server server;
+    private final Loads<Player> players;
+    private final Loads<Town> towns;
+    private final Loads<Nation> nations;
+    private final Loads<Quarter> quarters;
+
+    public EntityLoader(@NotNull EMCAPIClient client) {
+        this(client, client.getDefaultServer());
+    }
+
+    public EntityLoader(@NotNull EMCAPIClient client, @NotNull Server server) {
+        this.server = server;
+        this.players = new Loads<>(client::getPlayersByStringsAsync);
+        this.towns = new Loads<>(client::getTownsByStringsAsync);
+        this.nations = new Loads<>(client::getNationsByStringsAsync);
+        this.quarters = new Loads<>(client::getQuartersByStringsAsync);
+    }
+
+    public @NotNull Server getServer() {
+        return server;
+    }
+
+    /**
+     * @return A future completing with the player once {@link #dispatch()} has been called, or with null if the API does not know of them.
+     *         An identifier with neither a UUID nor a name completes with null straight away
+     */
+    public @NotNull CompletableFuture<Player> load(@NotNull PlayerIdentifier identifier) {
+        return load(players, identifier);
+    }
+
+    public @NotNull CompletableFuture<Town> load(@NotNull TownIdentifier identifier) {
+        return load(towns, identifier);
+    }
+
+    public @NotNull CompletableFuture<Nation> load(@NotNull NationIdentifier identifier) {
+        return load(nations, identifier);
+    }
+
+    public @NotNull CompletableFuture<Quarter> load(@NotNull QuarterIdentifier identifier) {
+        return load(quarters, identifier);
+    }
+
+    /**
+     * @return A future completing with every player that was found once {@link #dispatch()} has been called, in the order of the identifiers
+     */
+    public @NotNull CompletableFuture<List<Player>> loadPlayers(@NotNull Collection<PlayerIdentifier> identifiers) {
+        return loadAll(players, identifiers);
+    }
+
+    public @NotNull CompletableFuture<List<Town>> loadTowns(@NotNull Collection<TownIdentifier> identifiers) {
+        return loadAll(towns, identifiers);
+    }
+
+    public @NotNull CompletableFuture<List<Nation>> loadNations(@NotNull Collection<NationIdentifier> identifiers) {
+        return loadAll(nations, identifiers);
+    }
+
+    public @NotNull CompletableFuture<List<Quarter>> loadQuarters(@NotNull Collection<QuarterIdentifier> identifiers) {
+        return loadAll(quarters, identifiers);
+    }
+
+    /**
+     * Remember an entity that is already at hand, such as one held by a {@link au.lupine.emcapiclient.sync.WorldSync}, so loading it costs no request
+     */
+    public synchronized void prime(@NotNull Identifiable entity) {
+        if (entity instanceof Player player) {
+            players.complete(player);
+        } else if (entity instanceof Town town) {
+            towns.complete(town);
+        } else if (entity instanceof Nation nation) {
+            nations.complete(nation);
+        } else if (entity instanceof Quarter quarter) {
+            quarters.complete(quarter);
+        } else {
+            throw new IllegalArgumentException("Cannot prime " + entity.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * @return The number of loads that will be sent by the next {@link #dispatch()}
+     */
+    public synchronized int getNumPending() {
+        return players.pending.size() + towns.pending.size() + nations.pending.size() + quarters.pending.size();
+    }
+
+    /**
+     * Send everything loaded since the last dispatch, one batched request per entity type with anything over 100 entities split into concurrent batches
+     * @return A future completing once every load it sent has been completed. If a request fails, the loads it carried fail with it and are forgotten so they can be loaded again
+     */
+    public @NotNull CompletableFuture<Void> dispatch() {
+        List<CompletableFuture<Void>> sent = new ArrayList<>(4);
+
+        synchronized (this) {
+            for (Loads<?> loads : List.of(players, towns, nations, quarters)) {
+                if (!loads.pending.isEmpty()) sent.add(sendPending(loads));
+            }
+        }
+
+        return CompletableFuture.allOf(sent.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Forget every entity loaded so far, loads that are still pending are unaffected
+     */
+    public synchronized void clear() {
+        for (Loads<?> loads : List.of(players, towns, nations, quarters)) {
+            loads.memo.values().removeIf(CompletableFuture::isDone);
+        }
+    }
+
+    private synchronized <T extends Identifiable> @NotNull CompletableFuture<T> load(@NotNull Loads<T> loads, @NotNull Identifier identifier) {
+        // An identifier with neither a UUID nor a name, such as the capital of a nation without one, refers to nothing the API could return
+        String query = identifier.getUUIDOrNameAsString();
+        if (query == null) return CompletableFuture.completedFuture(null);
+
+        String key = toLookupKey(query);
+
+        CompletableFuture<T> future = loads.memo.get(key);
+        if (future == null) {
+            future = new CompletableFuture<>();
+            loads.memo.put(key, future);
+            loads.pending.put(key, new Pending<>(query, future));
+        }
+
+        return future.copy();
+    }
+
+    private <T extends Identifiable> @NotNull CompletableFuture<List<T>> loadAll(@NotNull Loads<T> loads, @NotNull Collection<? extends Identifier> identifiers) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(identifiers.size());
+        for (Identifier identifier : identifiers) {
+            futures.add(load(loads, identifier));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(v -> futures.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    private <T extends Identifiable> @NotNull CompletableFuture<Void> sendPending(@NotNull Loads<T> loads) {
+        Map<String, Pending<T>> batch = loads.takePending();
+        List<String> query = new ArrayList<>(batch.size());
+        batch.values().forEach(pending -> query.add(pending.query()));
+
+        return loads.fetcher.apply(server, query).handle((objects, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+
+                synchronized (this) {
+                    batch.keySet().forEach(loads.memo::remove);
+                }
+                batch.values().forEach(pending -> pending.future().completeExceptionally(cause));
+
+                return null;
+            }
+
+            Map<String, T> byKey = new HashMap<>(objects.size() * 4);
+            synchronized (this) {
+                for (T object : objects) {
+                    byKey.put(object.getUUID().toString(), object);
+                    if (object.getName() != null) byKey.put(toLookupKey(object.getName()), object);
+
+                    loads.complete(object);
+                }
+            }
+
+            batch.forEach((key, pending) -> pending.future().complete(byKey.get(key)));
+            return null;
+        });
+    }
+
+    private static @NotNull String toLookupKey(@NotNull String query) {
+        return query.toLowerCase(Locale.ROOT);
+    }
+
+    private record Pending<T>(@NotNull String query, @NotNull CompletableFuture<T> future) {}
+
+    /**
+     * The loads of one entity type, guarded by the loader's lock
+     */
+    private static class Loads<T extends Identifiable> {
+
+        private final BiFunction<Server, List<String>, CompletableFuture<List<T>>> fetcher;
+        private final Map<String, CompletableFuture<T>> memo = new HashMap<>();
+        private Map<String, Pending<T>> pending = new LinkedHashMap<>();
+
+        private Loads(@NotNull BiFunction<Server, List<String>, CompletableFuture<List<T>>> fetcher) {
+            this.fetcher = fetcher;
+        }
+
+        private @NotNull Map<String, Pending<T>> takePending() {
+            Map<String, Pending<T>> taken = pending;
+            pending = new LinkedHashMap<>();
+
+            return taken;
+        }
+
+        /**
+         * Remembers the entity under both its UUID and name, so a later load by either is answered without a request
+         */
+        private void complete(@NotNull T entity) {
+            memo.putIfAbsent(entity.getUUID().toString(), CompletableFuture.completedFuture(entity));
+            if (entity.getName() != null) memo.putIfAbsent(toLookupKey(entity.getName()), CompletableFuture.completedFuture(entity));
+        }
+    }
+}
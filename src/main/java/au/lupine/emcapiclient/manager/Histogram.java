@@ -0,0 +1,119 @@
+package au.lupine.emcapiclient.manager;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts non-negative values in log-linear buckets the way HdrHistogram does, so a percentile is within 1.6% of the true value anywhere in its range
+ * <p>
+ * Each power of two is split into 64 equal buckets and values below 128 get a bucket each. Recording is lock-free and allocates nothing,
+ * a value is one atomic increment of its bucket. Reads are not a consistent snapshot while values are being recorded, which is fine for monitoring
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+
+    private final long highestTrackableValue;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * @param highestTrackableValue The largest value told apart from others, larger values are counted as this value
+     */
+    public Histogram(long highestTrackableValue) {
+        if (highestTrackableValue < SUB_BUCKET_COUNT) throw new IllegalArgumentException("Highest trackable value must be at least " + SUB_BUCKET_COUNT);
+        if (highestTrackableValue > Long.MAX_VALUE >>> 1) throw new IllegalArgumentException("Highest trackable value is too large");
+
+        this.highestTrackableValue = highestTrackableValue;
+        this.counts = new AtomicLongArray(indexOf(highestTrackableValue) + 1);
+    }
+
+    /**
+     * @param value A non-negative value, negative values are counted as 0
+     */
+    public void record(long value) {
+        long clamped = Math.min(Math.max(value, 0), highestTrackableValue);
+
+        counts.incrementAndGet(indexOf(clamped));
+        count.increment();
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * @param percentile Between 0 and 100, such as 99 for the p99
+     * @return The largest value that counts as equal to the value at the percentile, or 0 if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) throw new IllegalArgumentException("Percentile must be between 0 and 100");
+
+        long total = 0;
+        long[] snapshot = new long[counts.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+
+        if (total == 0) return 0;
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) return Math.min(highestValueOf(i), max.get());
+        }
+
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Values below 128 map to themselves. Above that, a value whose highest set bit is bit e falls in row e - 7 of 64 buckets,
+     * at the offset given by its top 7 bits
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) return (int) value;
+
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1;
+        int mantissa = (int) (value >>> shift);
+
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT + (mantissa - HALF_SUB_BUCKET_COUNT);
+    }
+
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) return index;
+
+        int row = index - SUB_BUCKET_COUNT;
+        int shift = row / HALF_SUB_BUCKET_COUNT + 1;
+        long mantissa = row % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,91 @@
+package au.lupine.emcapiclient.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket shared by every {@link RequestManager} sending requests to the same host
+ * <p>
+ * Unlimited by default, the rate only needs setting if the API's limits are known. Independently of the rate,
+ * the bucket is paused whenever the host asks callers to back off via Retry-After
+ */
+public class RateLimiter {
+
+    private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private double permitsPerSecond = Double.POSITIVE_INFINITY;
+    private double burst = 1;
+    private double tokens = 1;
+    private long lastRefill = System.nanoTime();
+    private long pausedUntil = lastRefill;
+
+    private RateLimiter() {}
+
+    public static @NotNull RateLimiter forHost(@NotNull String host) {
+        return LIMITERS.computeIfAbsent(host.toLowerCase(Locale.ROOT), h -> new RateLimiter());
+    }
+
+    /**
+     * @param permitsPerSecond The sustained number of requests per second, {@link Double#POSITIVE_INFINITY} for no limit
+     * @param burst The number of requests that may be sent at once after a quiet period
+     */
+    public synchronized void setRate(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) throw new IllegalArgumentException("Permits per second must be greater than 0");
+        if (burst < 1) throw new IllegalArgumentException("Burst must be at least 1");
+
+        refill(System.nanoTime());
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.tokens = Math.min(tokens, burst);
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Stop handing out permits for the given time, used when the host responds with Retry-After
+     */
+    public synchronized void pause(long duration, @NotNull TimeUnit unit) {
+        long until = System.nanoTime() + unit.toNanos(duration);
+        if (until - pausedUntil > 0) pausedUntil = until;
+    }
+
+    /**
+     * @return A future that completes on the executor once a permit is available
+     */
+    @NotNull CompletableFuture<Void> acquire(@NotNull Executor executor) {
+        long wait = reserve(System.nanoTime());
+        if (wait <= 0) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.runAsync(() -> {}, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS, executor));
+    }
+
+    /**
+     * Takes a permit, going into debt if none are left, and returns how long the caller must wait before using it
+     */
+    private synchronized long reserve(long now) {
+        long paused = pausedUntil - now;
+        if (permitsPerSecond == Double.POSITIVE_INFINITY) return paused;
+
+        refill(now);
+        tokens -= 1;
+
+        long wait = tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * 1_000_000_000D);
+        return Math.max(wait, paused);
+    }
+
+    private void refill(long now) {
+        if (permitsPerSecond != Double.POSITIVE_INFINITY) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerSecond / 1_000_000_000D);
+        }
+
+        lastRefill = now;
+    }
+}
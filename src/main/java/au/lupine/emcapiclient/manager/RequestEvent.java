@@ -0,0 +1,28 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+
+/**
+ * One attempt at a request, see {@link RequestListener#onRequest(RequestEvent)}
+ * @param endpoint The endpoint requested, or null for the server info at the root of a server's URI
+ * @param attempt 1 for the first attempt, counting up with each retry
+ * @param statusCode The response's status code, or -1 if no response was received
+ * @param latencyNanos The time from sending the request until its response was received, including the whole body
+ * @param bytesSent The size of the request body
+ * @param bytesReceived The size of the response body as it came over the network, before it was decompressed
+ * @param failure Why the attempt failed, such as a timeout while the body was being read, or null if it did not throw
+ * @param retrying Whether the request will be sent again because of this attempt's status or failure
+ */
+public record RequestEvent(@NotNull URI uri, @Nullable Endpoint endpoint, @NotNull String method, int attempt, int statusCode, long latencyNanos, long bytesSent, long bytesReceived, @Nullable Throwable failure, boolean retrying) {
+
+    /**
+     * @return Whether the attempt got a 200, or a 304 answered from the {@link ResponseCache}, without failing
+     */
+    public boolean isSuccess() {
+        return failure == null && (statusCode == 200 || statusCode == 304);
+    }
+}
@@ -0,0 +1,36 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+
+/**
+ * Told about every request a {@link RequestManager} sends, for collecting metrics such as with {@link RequestMetrics}
+ * <p>
+ * Methods are called on the threads that complete requests, so they should be quick and must be safe to call concurrently. Anything they throw is ignored.
+ * Every method does nothing by default, and while the listener is {@link #NONE} no events are created at all
+ */
+public interface RequestListener {
+
+    RequestListener NONE = new RequestListener() {};
+
+    /**
+     * Called once per attempt, after the response has been received or the attempt has failed
+     */
+    default void onRequest(@NotNull RequestEvent event) {}
+
+    /**
+     * Called when a query is split into batches of at most {@link RequestManager#MAX_BATCH_SIZE}, before they are sent
+     * @param endpoint The endpoint the query is posted to, or null if the URI is not one
+     */
+    default void onBatched(@NotNull URI uri, @Nullable Endpoint endpoint, int querySize, int numBatches) {}
+
+    /**
+     * Called when entities are looked up in an enabled {@link CacheManager} before the ones it does not hold are requested
+     * @param hits The number of entities found in the cache
+     * @param misses The number of entities that had to be requested
+     */
+    default void onCacheLookup(@NotNull Endpoint endpoint, int hits, int misses) {}
+}
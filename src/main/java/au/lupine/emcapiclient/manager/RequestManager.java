@@ -1,122 +1,964 @@
 package au.lupine.emcapiclient.manager;
 
 import au.lupine.emcapiclient.object.exception.FailedRequestException;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 public class RequestManager {
 
-    private final HttpClient client = HttpClient.newHttpClient();
+    public static final int DEFAULT_MAX_CONCURRENCY = 16;
+
+    /**
+     * The largest query the API accepts in one request
+     */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    public static final String DEFAULT_USER_AGENT = createDefaultUserAgent();
+
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    /**
+     * The request timeout of managers created with {@link #builder()}, managers created with a constructor wait indefinitely as they always have
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+    /**
+     * Streamed bodies are read with blocking calls, so they get their own threads rather than risk starving the executor the HttpClient needs to deliver them
+     */
+    private static final Executor STREAM_EXECUTOR = Executors.newCachedThreadPool(createThreadFactory("EMCAPIClient-stream-"));
+
+    private final Executor executor;
+    private final HttpClient client;
+    private final ConcurrencyLimiter limiter;
+    private final Map<String, CompletableFuture<? extends JsonElement>> inFlight = new ConcurrentHashMap<>();
     private final Gson gson = new Gson();
+    private volatile boolean coalescing = true;
+    private volatile RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+    private final ResponseCache responseCache = new ResponseCache();
+    private volatile boolean compressionEnabled = true;
+    private volatile String userAgent = DEFAULT_USER_AGENT;
+    private volatile Duration requestTimeout;
+    private volatile RequestListener requestListener = RequestListener.NONE;
+
+    /**
+     * Create a RequestManager backed by the shared default executor, which uses a virtual thread per task on Java 21+ and a bounded pool of daemon platform threads otherwise.
+     * It has no request timeout, use {@link #builder()} or {@link #setRequestTimeout(Duration)} for one
+     */
+    public RequestManager() {
+        this(DEFAULT_EXECUTOR);
+    }
+
+    /**
+     * Create a RequestManager that sends requests and parses responses on the provided executor
+     * @param executor The executor used by the underlying {@link HttpClient} and for parsing responses, it is never shut down by this class
+     */
+    public RequestManager(@NotNull Executor executor) {
+        this(builder().setExecutor(executor).setRequestTimeout(null));
+    }
+
+    private RequestManager(@NotNull Builder builder) {
+        this.executor = builder.executor;
+        this.requestTimeout = builder.requestTimeout;
+        this.limiter = new ConcurrencyLimiter(builder.maxConcurrency);
+
+        HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(builder.connectTimeout);
+
+        if (builder.version != null) clientBuilder.version(builder.version);
+        if (builder.proxy != null) clientBuilder.proxy(builder.proxy);
+
+        this.client = clientBuilder.build();
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) method.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ignored) {}
+
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), createThreadFactory("EMCAPIClient-"));
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    private static String createDefaultUserAgent() {
+        String version = RequestManager.class.getPackage().getImplementationVersion();
+        return version == null ? "EMCAPIClient" : "EMCAPIClient/" + version;
+    }
+
+    private static ThreadFactory createThreadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
     public HttpClient getClient() {
         return client;
     }
 
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return The maximum number of requests this RequestManager will have in flight at once
+     */
+    public int getMaxConcurrency() {
+        return limiter.getMaximum();
+    }
+
+    /**
+     * @return The number of requests currently allowed in flight, which is lowered below {@link #getMaxConcurrency()} while the API reports overload and recovers as requests succeed
+     */
+    public int getCurrentConcurrency() {
+        return limiter.getLimit();
+    }
+
+    /**
+     * Set the maximum number of requests this RequestManager will have in flight at once, requests over the limit are queued without blocking a thread
+     * @param maxConcurrency A number greater than zero, {@link #DEFAULT_MAX_CONCURRENCY} by default
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        limiter.setMaximum(maxConcurrency);
+    }
+
+    /**
+     * @return The token bucket shared by every RequestManager sending requests to the URI's host
+     */
+    public @NotNull RateLimiter getRateLimiter(@NotNull URI uri) {
+        return RateLimiter.forHost(uri.getHost());
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * When enabled, concurrent identical requests (same method, URI and body) share one in-flight request and every caller receives its result
+     * <p>
+     * The parsed {@link JsonElement} is shared between those callers, so it should not be modified. Enabled by default
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public @NotNull RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Set how requests that fail with an IOException, a 429 or a 5xx status are retried, {@link RetryPolicy#DEFAULT} by default
+     */
+    public void setRetryPolicy(@NotNull RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * @return The cache of GET responses used to revalidate them with If-None-Match and If-Modified-Since
+     */
+    public @NotNull ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    /**
+     * @param compressionEnabled Whether to ask for gzip or deflate compressed responses, true by default. Compressed responses are always decoded
+     */
+    public void setCompressionEnabled(boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+    }
+
+    public @NotNull String getUserAgent() {
+        return userAgent;
+    }
+
+    /**
+     * @param userAgent The User-Agent header sent with every request, {@link #DEFAULT_USER_AGENT} by default
+     */
+    public void setUserAgent(@NotNull String userAgent) {
+        this.userAgent = userAgent;
+    }
+
+    public @Nullable Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * @param requestTimeout How long one attempt may take from being sent until its whole body has been received before it fails with an {@link HttpTimeoutException} and is retried,
+     *                       or null to wait indefinitely. Managers created with {@link #builder()} default to {@link #DEFAULT_REQUEST_TIMEOUT} and those created with a constructor to null
+     */
+    public void setRequestTimeout(@Nullable Duration requestTimeout) {
+        if (requestTimeout != null && (requestTimeout.isZero() || requestTimeout.isNegative())) throw new IllegalArgumentException("Request timeout must be positive");
+
+        this.requestTimeout = requestTimeout;
+    }
+
+    public @NotNull RequestListener getRequestListener() {
+        return requestListener;
+    }
+
+    /**
+     * @param requestListener The listener told about every request sent from now on, such as a {@link RequestMetrics}, or {@link RequestListener#NONE} to stop collecting
+     */
+    public void setRequestListener(@NotNull RequestListener requestListener) {
+        this.requestListener = requestListener;
+    }
+
     public Gson getGson() {
         return gson;
     }
 
     public JsonObject getURIAsJsonObject(@NotNull URI uri) {
-        return (JsonObject) getURIAsJsonElement(uri, JsonObject.class);
+        return await(getURIAsJsonObjectAsync(uri));
     }
 
     public JsonArray getURIAsJsonArray(@NotNull URI uri) {
-        return (JsonArray) getURIAsJsonElement(uri, JsonArray.class);
+        return await(getURIAsJsonArrayAsync(uri));
     }
 
-    private <T extends JsonElement> JsonElement getURIAsJsonElement(@NotNull URI uri, @NotNull Class<T> elementClass) {
-        try {
-            HttpResponse<String> response = client.send(
-                    HttpRequest.newBuilder().GET().uri(uri).build(),
-                    HttpResponse.BodyHandlers.ofString()
-            );
+    public @NotNull CompletableFuture<JsonObject> getURIAsJsonObjectAsync(@NotNull URI uri) {
+        return getURIAsJsonElementAsync(uri, JsonObject.class);
+    }
 
-            int statusCode = response.statusCode();
-            String body = response.body();
-            if (statusCode != 200) throw new FailedRequestException(statusCode, body);
+    public @NotNull CompletableFuture<JsonArray> getURIAsJsonArrayAsync(@NotNull URI uri) {
+        return getURIAsJsonElementAsync(uri, JsonArray.class);
+    }
 
-            return gson.fromJson(body, elementClass);
-        } catch (IOException | InterruptedException e) {
-            return null;
-        }
+    private <T extends JsonElement> @NotNull CompletableFuture<T> getURIAsJsonElementAsync(@NotNull URI uri, @NotNull Class<T> elementClass) {
+        return coalesce("GET " + uri, () -> {
+            HttpRequest.Builder builder = newRequestBuilder(uri).GET();
+
+            ResponseCache.Entry cached = responseCache.get(uri);
+            if (cached != null) cached.addValidators(builder);
+
+            return sendAsync(builder.build(), elementClass, createRetryBudget(), cached, 1);
+        });
     }
 
     public JsonObject postURIAsJsonObject(@NotNull URI uri, @NotNull JsonObject body) {
-        return (JsonObject) postURIAsJsonElement(uri, body, JsonObject.class);
+        return await(postURIAsJsonObjectAsync(uri, body));
     }
 
     public JsonArray postURIAsJsonArray(@NotNull URI uri, @NotNull JsonObject body) {
-        return (JsonArray) postURIAsJsonElement(uri, body, JsonArray.class);
+        return await(postURIAsJsonArrayAsync(uri, body));
+    }
+
+    public @NotNull CompletableFuture<JsonObject> postURIAsJsonObjectAsync(@NotNull URI uri, @NotNull JsonObject body) {
+        return postURIAsJsonElementAsync(uri, body, JsonObject.class, createRetryBudget());
+    }
+
+    public @NotNull CompletableFuture<JsonArray> postURIAsJsonArrayAsync(@NotNull URI uri, @NotNull JsonObject body) {
+        return postURIAsJsonElementAsync(uri, body, JsonArray.class, createRetryBudget());
+    }
+
+    private <T extends JsonElement> @NotNull CompletableFuture<T> postURIAsJsonElementAsync(@NotNull URI uri, @NotNull JsonObject requestBody, @NotNull Class<T> elementClass, @NotNull AtomicInteger retryBudget) {
+        String body = requestBody.toString();
+
+        return coalesce("POST " + uri + " " + body, () -> sendAsync(
+                newRequestBuilder(uri).POST(
+                        HttpRequest.BodyPublishers.ofString(body)
+                ).build(),
+                elementClass,
+                retryBudget
+        ));
+    }
+
+    private @NotNull HttpRequest.Builder newRequestBuilder(@NotNull URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .header("User-Agent", userAgent)
+                .header("Accept", "application/json");
+
+        if (compressionEnabled) builder.header("Accept-Encoding", "gzip, deflate");
+
+        Duration timeout = requestTimeout;
+        if (timeout != null) builder.timeout(timeout);
+
+        return builder;
+    }
+
+    /**
+     * Joins an identical request that is already in flight, or starts a new one that later identical requests can join
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends JsonElement> @NotNull CompletableFuture<T> coalesce(@NotNull String key, @NotNull Supplier<CompletableFuture<T>> request) {
+        if (!coalescing) return request.get();
+
+        CompletableFuture<T> created = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(key, created);
+        if (existing != null) return existing.copy();
+
+        request.get().whenComplete((result, throwable) -> {
+            inFlight.remove(key, created);
+
+            if (throwable != null) {
+                created.completeExceptionally(throwable);
+            } else {
+                created.complete(result);
+            }
+        });
+
+        return created.copy();
     }
 
-    private <T extends JsonElement> JsonElement postURIAsJsonElement(@NotNull URI uri, @NotNull JsonObject requestBody, @NotNull Class<T> elementClass) {
+    private <T extends JsonElement> @NotNull CompletableFuture<T> sendAsync(@NotNull HttpRequest request, @NotNull Class<T> elementClass, @NotNull AtomicInteger retryBudget) {
+        return sendAsync(request, elementClass, retryBudget, null, 1);
+    }
+
+    /**
+     * Sends the request once a concurrency permit and a rate limit permit are available, resending it according to the {@link RetryPolicy} if it fails
+     * @param cached The cached response the request was made conditional on, whose body a 304 Not Modified stands for
+     */
+    private <T extends JsonElement> @NotNull CompletableFuture<T> sendAsync(@NotNull HttpRequest request, @NotNull Class<T> elementClass, @NotNull AtomicInteger retryBudget, @Nullable ResponseCache.Entry cached, int attempt) {
+        RetryPolicy policy = retryPolicy;
+        RateLimiter rateLimiter = getRateLimiter(request.uri());
+        RequestListener listener = requestListener;
+        long[] timing = new long[2];
+
+        return limiter.acquire()
+                .thenCompose(v -> rateLimiter.acquire(executor))
+                .thenCompose(v -> {
+                    if (listener != RequestListener.NONE) timing[0] = System.nanoTime();
+                    return sendWithDeadline(request, HttpResponse.BodyHandlers.ofByteArray());
+                })
+                .whenComplete((response, throwable) -> {
+                    if (listener != RequestListener.NONE) timing[1] = System.nanoTime();
+                    limiter.release();
+                    if (response != null) recordStatus(response.statusCode());
+                })
+                .handleAsync((response, throwable) -> {
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+
+                    long delay = getRetryDelayMillis(response, cause, policy, retryBudget, rateLimiter, attempt);
+                    if (listener != RequestListener.NONE) notifyRequest(listener, request, attempt, response, response == null ? 0 : response.body().length, timing, cause, delay >= 0);
+
+                    if (delay >= 0) return retryAsync(() -> sendAsync(request, elementClass, retryBudget, cached, attempt + 1), delay);
+
+                    if (cause != null) return CompletableFuture.<T>failedFuture(cause);
+
+                    int statusCode = response.statusCode();
+                    if (statusCode == 304 && cached != null) return CompletableFuture.completedFuture(parse(cached.body(), elementClass));
+
+                    byte[] body;
+                    try {
+                        body = decode(response.body(), response.headers());
+                    } catch (IOException e) {
+                        return CompletableFuture.<T>failedFuture(e);
+                    }
+
+                    if (statusCode != 200) return CompletableFuture.<T>failedFuture(new FailedRequestException(statusCode, new String(body, StandardCharsets.UTF_8)));
+                    if (request.method().equals("GET")) responseCache.put(request.uri(), response.headers(), body);
+
+                    return CompletableFuture.completedFuture(parse(body, elementClass));
+                }, executor)
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Like {@link #sendAsync(HttpRequest, Class, AtomicInteger, ResponseCache.Entry, int)}, but parses the response body as it arrives and hands each element of its top-level array to the consumer
+     * <p>
+     * The concurrency permit is held until the body has been read. A failure part way through the body is not retried as some elements have already been consumed
+     */
+    private @NotNull CompletableFuture<Void> streamAsync(@NotNull HttpRequest request, @NotNull Consumer<JsonElement> consumer, @NotNull AtomicInteger retryBudget, int attempt) {
+        RetryPolicy policy = retryPolicy;
+        RateLimiter rateLimiter = getRateLimiter(request.uri());
+        RequestListener listener = requestListener;
+        long[] timing = new long[2];
+        long[] deadline = new long[1];
+
+        return limiter.acquire()
+                .thenCompose(v -> rateLimiter.acquire(executor))
+                .thenCompose(v -> {
+                    timing[0] = System.nanoTime();
+                    deadline[0] = timing[0] + request.timeout().map(Duration::toNanos).orElse(0L);
+                    return sendWithDeadline(request, HttpResponse.BodyHandlers.ofInputStream());
+                })
+                .handleAsync((response, throwable) -> {
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    CountingInputStream counted = null;
+                    boolean retrying = false;
+
+                    try {
+                        if (response != null) recordStatus(response.statusCode());
+
+                        long delay = getRetryDelayMillis(response, cause, policy, retryBudget, rateLimiter, attempt);
+                        if (delay >= 0) {
+                            retrying = true;
+                            if (response != null) response.body().close();
+                            return retryAsync(() -> streamAsync(request, consumer, retryBudget, attempt + 1), delay);
+                        }
+
+                        if (cause != null) return CompletableFuture.<Void>failedFuture(cause);
+
+                        request.timeout().ifPresent(timeout -> closeAt(response.body(), deadline[0]));
+
+                        InputStream received = response.body();
+                        if (listener != RequestListener.NONE) received = counted = new CountingInputStream(received);
+
+                        try (InputStream body = decode(received, response.headers())) {
+                            int statusCode = response.statusCode();
+                            if (statusCode != 200) return CompletableFuture.<Void>failedFuture(new FailedRequestException(statusCode, new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+
+                            readArray(body, consumer);
+                        }
+
+                        return CompletableFuture.<Void>completedFuture(null);
+                    } catch (IOException e) {
+                        boolean timedOut = request.timeout().isPresent() && System.nanoTime() - deadline[0] >= 0;
+                        cause = timedOut ? new HttpTimeoutException("Response not received within " + request.timeout().get().toMillis() + "ms") : e;
+                        return CompletableFuture.<Void>failedFuture(cause);
+                    } catch (RuntimeException e) {
+                        return CompletableFuture.<Void>failedFuture(e);
+                    } finally {
+                        limiter.release();
+
+                        if (listener != RequestListener.NONE) {
+                            timing[1] = System.nanoTime();
+                            notifyRequest(listener, request, attempt, response, counted == null ? 0 : counted.count, timing, cause, retrying);
+                        }
+                    }
+                }, STREAM_EXECUTOR)
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Sends the request, failing with an {@link HttpTimeoutException} if the response has not been completely received within the request's timeout.
+     * The HttpClient's own timeout only covers waiting for the response headers, so a server that stalls part way through a body would otherwise hold the request forever
+     */
+    private <T> @NotNull CompletableFuture<HttpResponse<T>> sendWithDeadline(@NotNull HttpRequest request, @NotNull HttpResponse.BodyHandler<T> handler) {
+        CompletableFuture<HttpResponse<T>> sent = client.sendAsync(request, handler);
+
+        Duration timeout = request.timeout().orElse(null);
+        if (timeout == null) return sent;
+
+        CompletableFuture<HttpResponse<T>> bounded = new CompletableFuture<>();
+        sent.whenComplete((response, throwable) -> {
+            if (throwable == null) {
+                bounded.complete(response);
+            } else {
+                bounded.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        });
+
+        CompletableFuture.delayedExecutor(timeout.toNanos(), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            if (bounded.completeExceptionally(new HttpTimeoutException("Response not received within " + timeout.toMillis() + "ms"))) sent.cancel(true);
+        });
+
+        return bounded;
+    }
+
+    /**
+     * Closes a streamed body at the deadline so a blocked read fails instead of waiting forever, closing one that has already been read is harmless
+     */
+    private void closeAt(@NotNull InputStream body, long deadline) {
+        CompletableFuture.delayedExecutor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS, executor).execute(() -> {
+            try {
+                body.close();
+            } catch (IOException ignored) {}
+        });
+    }
+
+    /**
+     * Tells the listener about one attempt, ignoring anything it throws so a broken listener cannot fail requests
+     * @param timing When the attempt was sent and when it completed, from {@link System#nanoTime()}
+     */
+    private static void notifyRequest(@NotNull RequestListener listener, @NotNull HttpRequest request, int attempt, @Nullable HttpResponse<?> response, long bytesReceived, long @NotNull [] timing, @Nullable Throwable failure, boolean retrying) {
+        long bytesSent = request.bodyPublisher().map(HttpRequest.BodyPublisher::contentLength).orElse(0L);
+        long latency = timing[0] == 0 ? 0 : Math.max(0, timing[1] - timing[0]);
+
         try {
-            HttpResponse<String> response = client.send(
-                    HttpRequest.newBuilder().POST(
-                            HttpRequest.BodyPublishers.ofString(requestBody.toString())
-                    ).uri(uri).build(),
-                    HttpResponse.BodyHandlers.ofString()
-            );
-
-            int statusCode = response.statusCode();
-            String body = response.body();
-            if (statusCode != 200) throw new FailedRequestException(statusCode, body);
-
-            return gson.fromJson(body, elementClass);
-        } catch (IOException | InterruptedException e) {
-            return null;
+            listener.onRequest(new RequestEvent(
+                    request.uri(), getEndpoint(request.uri()), request.method(), attempt,
+                    response == null ? -1 : response.statusCode(), latency, Math.max(0, bytesSent), bytesReceived, failure, retrying
+            ));
+        } catch (RuntimeException ignored) {}
+    }
+
+    private void notifyBatched(@NotNull URI uri, int querySize, int numBatches) {
+        RequestListener listener = requestListener;
+        if (listener == RequestListener.NONE) return;
+
+        try {
+            listener.onBatched(uri, getEndpoint(uri), querySize, numBatches);
+        } catch (RuntimeException ignored) {}
+    }
+
+    /**
+     * @return The endpoint named by the last segment of the URI's path, or null if it names none such as for the server info
+     */
+    private static @Nullable Endpoint getEndpoint(@NotNull URI uri) {
+        String path = uri.getPath();
+        if (path == null) return null;
+
+        if (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        String name = path.substring(path.lastIndexOf('/') + 1);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (endpoint.getName().equals(name)) return endpoint;
+        }
+
+        return null;
+    }
+
+    private <T extends JsonElement> T parse(byte @NotNull [] body, @NotNull Class<T> elementClass) {
+        return gson.fromJson(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8), elementClass);
+    }
+
+    private static byte @NotNull [] decode(byte @NotNull [] body, @NotNull HttpHeaders headers) throws IOException {
+        if (getContentEncoding(headers).equals("identity")) return body;
+
+        try (InputStream decoded = decode(new ByteArrayInputStream(body), headers)) {
+            return decoded.readAllBytes();
+        }
+    }
+
+    /**
+     * Wraps the body in a decompressing stream if the response's Content-Encoding is gzip or deflate.
+     * Deflate is meant to be zlib wrapped but some servers send it raw, so the zlib header is checked for first
+     */
+    private static @NotNull InputStream decode(@NotNull InputStream body, @NotNull HttpHeaders headers) throws IOException {
+        String encoding = getContentEncoding(headers);
+
+        switch (encoding) {
+            case "identity":
+                return body;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(body, 8192);
+            case "deflate":
+                BufferedInputStream buffered = new BufferedInputStream(body, 8192);
+                buffered.mark(2);
+                int first = buffered.read(), second = buffered.read();
+                buffered.reset();
+
+                boolean zlib = first >= 0 && second >= 0 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+                Inflater inflater = new Inflater(!zlib);
+
+                return new InflaterInputStream(buffered, inflater, 8192) {
+                    @Override
+                    public void close() throws IOException {
+                        super.close();
+                        inflater.end();
+                    }
+                };
+            default:
+                body.close();
+                throw new IOException("Unsupported Content-Encoding " + encoding);
         }
     }
 
+    private static @NotNull String getContentEncoding(@NotNull HttpHeaders headers) {
+        String encoding = headers.firstValue("Content-Encoding").orElse("identity").trim().toLowerCase(Locale.ROOT);
+        return encoding.isEmpty() ? "identity" : encoding;
+    }
+
+    /**
+     * Reads a JSON array one element at a time so only the element being parsed is held in memory
+     */
+    private static void readArray(@NotNull InputStream body, @NotNull Consumer<JsonElement> consumer) throws IOException {
+        JsonReader reader = new JsonReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            consumer.accept(JsonParser.parseReader(reader));
+        }
+        reader.endArray();
+    }
+
+    /**
+     * Counts the bytes read through it, so a streamed body's size is known without buffering it
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(@NotNull InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) count++;
+
+            return b;
+        }
+
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count += n;
+
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+
+            return skipped;
+        }
+    }
+
+    private void recordStatus(int statusCode) {
+        if (statusCode == 429 || statusCode >= 500) {
+            limiter.onOverload();
+        } else {
+            limiter.onSuccess();
+        }
+    }
+
+    /**
+     * Takes a retry from the budget if the failure is worth retrying, pausing the host's {@link RateLimiter} if the API asked for it via Retry-After
+     * @return How many milliseconds to wait before the next attempt, or -1 if the failure should not be retried
+     */
+    private static long getRetryDelayMillis(@Nullable HttpResponse<?> response, @Nullable Throwable cause, @NotNull RetryPolicy policy, @NotNull AtomicInteger retryBudget, @NotNull RateLimiter rateLimiter, int attempt) {
+        if (response == null) {
+            if (!(cause instanceof IOException) || !canRetry(policy, retryBudget, attempt)) return -1;
+
+            return policy.getDelayMillis(attempt);
+        }
+
+        int statusCode = response.statusCode();
+        if ((statusCode != 429 && statusCode < 500) || !canRetry(policy, retryBudget, attempt)) return -1;
+
+        Long retryAfter = getRetryAfterMillis(response);
+        if (retryAfter == null) return policy.getDelayMillis(attempt);
+
+        rateLimiter.pause(retryAfter, TimeUnit.MILLISECONDS);
+        return 0;
+    }
+
+    private <T> @NotNull CompletableFuture<T> retryAsync(@NotNull Supplier<CompletableFuture<T>> attempt, long delayMillis) {
+        if (delayMillis == 0) return attempt.get();
+
+        Executor delayed = CompletableFuture.delayedExecutor(delayMillis, TimeUnit.MILLISECONDS, executor);
+        return CompletableFuture.runAsync(() -> {}, delayed).thenCompose(v -> attempt.get());
+    }
+
+    private static boolean canRetry(@NotNull RetryPolicy policy, @NotNull AtomicInteger retryBudget, int attempt) {
+        if (attempt >= policy.getMaxAttempts()) return false;
+
+        int remaining;
+        do {
+            remaining = retryBudget.get();
+            if (remaining <= 0) return false;
+        } while (!retryBudget.compareAndSet(remaining, remaining - 1));
+
+        return true;
+    }
+
+    /**
+     * A single request may use every retry its policy allows, batched calls share a budget created by {@link #batchPostAsBatchResultAsync(URI, JsonObject)}
+     */
+    private @NotNull AtomicInteger createRetryBudget() {
+        return new AtomicInteger(retryPolicy.getMaxAttempts() - 1);
+    }
+
+    /**
+     * @return How long the response's Retry-After header asks to wait, or null if it has no valid Retry-After header
+     */
+    private static @Nullable Long getRetryAfterMillis(@NotNull HttpResponse<?> response) {
+        String retryAfter = response.headers().firstValue("Retry-After").orElse(null);
+        if (retryAfter == null) return null;
+
+        try {
+            return Long.parseLong(retryAfter.trim()) * 1000;
+        } catch (NumberFormatException ignored) {}
+
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(), date).toMillis());
+        } catch (DateTimeParseException ignored) {}
+
+        return null;
+    }
+
     public JsonArray batchPostAsJsonArray(@NotNull URI uri, @NotNull JsonObject body) {
-        if (!body.has("query") || !body.get("query").isJsonArray()) return null;
+        return await(batchPostAsJsonArrayAsync(uri, body));
+    }
 
-        JsonArray query = body.getAsJsonArray("query");
-        int size = query.size();
+    /**
+     * Splits the body's query into batches of {@link #MAX_BATCH_SIZE} and posts them concurrently, up to {@link #getMaxConcurrency()} at a time, without blocking the calling thread
+     * @return A future completing with the combined responses of every batch in query order, or with null if the body has no query array.
+     * If any batch still fails after its retries the future fails with that batch's cause, see {@link #batchPostAsBatchResultAsync(URI, JsonObject)} to keep the batches that succeeded
+     */
+    public @NotNull CompletableFuture<JsonArray> batchPostAsJsonArrayAsync(@NotNull URI uri, @NotNull JsonObject body) {
+        return batchPostAsBatchResultAsync(uri, body).thenApply(result -> {
+            if (result == null) return null;
+            if (!result.isComplete()) throw new CompletionException(result.getFailures().get(0).getCause());
 
-        List<JsonObject> batches = new ArrayList<>();
-        for (int i = 0; i < size; i += 100) {
-            JsonObject batchBody = new JsonObject();
-            JsonArray batchQuery = new JsonArray();
-            for (int j = i; j < i + 100 & j < size; j++) {
-                batchQuery.add(query.get(j));
-            }
+            JsonArray combined = new JsonArray();
+            result.getResults().forEach(combined::add);
+
+            return combined;
+        });
+    }
+
+    public BatchResult<JsonElement> batchPostAsBatchResult(@NotNull URI uri, @NotNull JsonObject body) {
+        return await(batchPostAsBatchResultAsync(uri, body));
+    }
+
+    /**
+     * Posts the body's query in batches like {@link #batchPostAsJsonArrayAsync(URI, JsonObject)}, but a batch that fails after its retries does not fail the others
+     * <p>
+     * Every batch of the call shares the retry budget of the current {@link RetryPolicy}
+     * @return A future completing with the response elements of every successful batch and a report of every failed one, or with null if the body has no query array
+     */
+    public @NotNull CompletableFuture<BatchResult<JsonElement>> batchPostAsBatchResultAsync(@NotNull URI uri, @NotNull JsonObject body) {
+        if (!body.has("query") || !body.get("query").isJsonArray()) return CompletableFuture.completedFuture(null);
+
+        List<JsonArray> batches = splitQuery(body.getAsJsonArray("query"));
+        int numBatches = batches.size();
+        notifyBatched(uri, body.getAsJsonArray("query").size(), numBatches);
 
-            batchBody.add("query", batchQuery);
-            batches.add(batchBody);
+        AtomicInteger retryBudget = new AtomicInteger(retryPolicy.getRetryBudget());
+        JsonArray[] responses = new JsonArray[numBatches];
+        BatchResult.Failure[] failures = new BatchResult.Failure[numBatches];
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[numBatches];
+        for (int batch = 0; batch < numBatches; batch++) {
+            JsonArray batchQuery = batches.get(batch);
+            int from = batch * MAX_BATCH_SIZE;
+            int to = from + batchQuery.size();
+
+            int index = batch;
+            futures[batch] = postURIAsJsonElementAsync(uri, JSONUtil.createRequestBody(batchQuery), JsonArray.class, retryBudget).handle((response, throwable) -> {
+                if (throwable == null) {
+                    responses[index] = response;
+                } else {
+                    Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                    failures[index] = new BatchResult.Failure(from, to, batchQuery, cause);
+                }
+
+                return null;
+            });
         }
 
-        List<CompletableFuture<JsonArray>> futures = batches.stream()
-                .map(batch -> CompletableFuture.supplyAsync(() ->
-                        postURIAsJsonArray(uri, batch)))
-                .toList();
+        return CompletableFuture.allOf(futures).thenApply(v -> {
+            List<JsonElement> results = new ArrayList<>();
+            List<BatchResult.Failure> failed = new ArrayList<>();
+            for (int batch = 0; batch < numBatches; batch++) {
+                if (responses[batch] != null) responses[batch].forEach(results::add);
+                if (failures[batch] != null) failed.add(failures[batch]);
+            }
+
+            return new BatchResult<>(results, failed);
+        });
+    }
+
+    public void batchPostAndStream(@NotNull URI uri, @NotNull JsonObject body, @NotNull Consumer<JsonElement> consumer) {
+        await(batchPostAndStreamAsync(uri, body, consumer));
+    }
+
+    /**
+     * Posts the body's query in batches like {@link #batchPostAsJsonArrayAsync(URI, JsonObject)}, but hands each response element to the consumer as soon as it has been parsed instead of building the combined array
+     * <p>
+     * Responses are read from the network one element at a time, so memory is bounded by one element per batch in flight rather than by the size of the responses.
+     * The consumer is never called concurrently, but it may be called from different threads and elements of different batches may interleave
+     * @return A future completing once every batch has been consumed, or failing with the cause of the first batch that failed after its retries
+     */
+    public @NotNull CompletableFuture<Void> batchPostAndStreamAsync(@NotNull URI uri, @NotNull JsonObject body, @NotNull Consumer<JsonElement> consumer) {
+        if (!body.has("query") || !body.get("query").isJsonArray()) return CompletableFuture.completedFuture(null);
+
+        AtomicInteger retryBudget = new AtomicInteger(retryPolicy.getRetryBudget());
+        Object lock = new Object();
+        Consumer<JsonElement> serialConsumer = element -> {
+            synchronized (lock) {
+                consumer.accept(element);
+            }
+        };
 
-        CompletableFuture<JsonArray> combined = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
-            JsonArray result = new JsonArray();
-            futures.forEach(future -> result.addAll(future.join()));
+        List<JsonArray> batches = splitQuery(body.getAsJsonArray("query"));
+        notifyBatched(uri, body.getAsJsonArray("query").size(), batches.size());
 
-            return result;
+        List<CompletableFuture<Throwable>> futures = new ArrayList<>();
+        for (JsonArray batchQuery : batches) {
+            HttpRequest request = newRequestBuilder(uri).POST(
+                    HttpRequest.BodyPublishers.ofString(JSONUtil.createRequestBody(batchQuery).toString())
+            ).build();
+
+            futures.add(streamAsync(request, serialConsumer, retryBudget, 1).handle((v, throwable) -> throwable));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenApply(v -> {
+            for (CompletableFuture<Throwable> future : futures) {
+                Throwable throwable = future.join();
+                if (throwable != null) throw throwable instanceof CompletionException ? (CompletionException) throwable : new CompletionException(throwable);
+            }
+
+            return null;
         });
+    }
+
+    private static @NotNull List<JsonArray> splitQuery(@NotNull JsonArray query) {
+        List<JsonArray> batches = new ArrayList<>();
+        for (int from = 0; from < query.size(); from += MAX_BATCH_SIZE) {
+            int to = Math.min(from + MAX_BATCH_SIZE, query.size());
+
+            JsonArray batch = new JsonArray();
+            for (int i = from; i < to; i++) {
+                batch.add(query.get(i));
+            }
+
+            batches.add(batch);
+        }
 
+        return batches;
+    }
+
+    /**
+     * Waits for a future returned by one of the asynchronous methods and unwraps its failure
+     * @return The future's value
+     * @throws FailedRequestException If the API responded with a status code other than 200
+     * @throws UncheckedIOException If the request could not be sent
+     */
+    public <T> T await(@NotNull CompletableFuture<T> future) {
         try {
-            return combined.join();
+            return future.join();
         } catch (CompletionException e) {
             if (e.getCause() instanceof FailedRequestException) throw (FailedRequestException) e.getCause();
+            if (e.getCause() instanceof IOException) throw new UncheckedIOException((IOException) e.getCause());
             throw e;
         }
     }
+
+    /**
+     * Configures the {@link HttpClient} behind a RequestManager, which cannot be changed once it has been built
+     */
+    public static class Builder {
+
+        private Executor executor = DEFAULT_EXECUTOR;
+        private HttpClient.Version version;
+        private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+        private ProxySelector proxy;
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+        private Builder() {}
+
+        /**
+         * @param executor The executor used by the underlying {@link HttpClient} and for parsing responses, it is never shut down by the RequestManager
+         */
+        public @NotNull Builder setExecutor(@NotNull Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * @param version {@link HttpClient.Version#HTTP_2} to multiplex every request to a host over one connection, or {@link HttpClient.Version#HTTP_1_1} to open a connection per concurrent request.
+         *                Null by default, which leaves the choice to the HttpClient. HTTP/2 falls back to HTTP/1.1 if the server does not support it
+         */
+        public @NotNull Builder setVersion(@Nullable HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        /**
+         * @param connectTimeout How long to wait for a connection to be established, {@link #DEFAULT_CONNECT_TIMEOUT} by default
+         */
+        public @NotNull Builder setConnectTimeout(@NotNull Duration connectTimeout) {
+            if (connectTimeout.isZero() || connectTimeout.isNegative()) throw new IllegalArgumentException("Connect timeout must be positive");
+
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * @see RequestManager#setRequestTimeout(Duration)
+         */
+        public @NotNull Builder setRequestTimeout(@Nullable Duration requestTimeout) {
+            if (requestTimeout != null && (requestTimeout.isZero() || requestTimeout.isNegative())) throw new IllegalArgumentException("Request timeout must be positive");
+
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * @param proxy The proxy selector to route requests through, such as {@link ProxySelector#of(InetSocketAddress)}, or null to use the system default
+         */
+        public @NotNull Builder setProxy(@Nullable ProxySelector proxy) {
+            this.proxy = proxy;
+            return this;
+        }
+
+        /**
+         * @see RequestManager#setMaxConcurrency(int)
+         */
+        public @NotNull Builder setMaxConcurrency(int maxConcurrency) {
+            if (maxConcurrency < 1) throw new IllegalArgumentException("Max concurrency must be at least 1");
+
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public @NotNull RequestManager build() {
+            return new RequestManager(this);
+        }
+    }
 }
@@ -0,0 +1,198 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RequestListener} that keeps latency, throughput, size, error, retry, batching and cache statistics for each endpoint
+ * <p>
+ * Register it with {@link RequestManager#setRequestListener(RequestListener)} and read it from any thread, for example to chart the p99 latency of the towns endpoint:
+ * {@code metrics.get(Endpoint.TOWNS).getLatencyNanos().getValueAtPercentile(99)}
+ */
+public class RequestMetrics implements RequestListener {
+
+    /**
+     * Latencies longer than this are recorded as this long
+     */
+    public static final Duration HIGHEST_TRACKABLE_LATENCY = Duration.ofMinutes(10);
+
+    private final EndpointMetrics serverInfo = new EndpointMetrics();
+    private final EndpointMetrics[] endpoints = new EndpointMetrics[Endpoint.values().length];
+
+    public RequestMetrics() {
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = new EndpointMetrics();
+        }
+    }
+
+    /**
+     * @param endpoint The endpoint, or null for the server info at the root of a server's URI
+     */
+    public @NotNull EndpointMetrics get(@Nullable Endpoint endpoint) {
+        return endpoint == null ? serverInfo : endpoints[endpoint.ordinal()];
+    }
+
+    public void reset() {
+        serverInfo.reset();
+        for (EndpointMetrics metrics : endpoints) {
+            metrics.reset();
+        }
+    }
+
+    @Override
+    public void onRequest(@NotNull RequestEvent event) {
+        EndpointMetrics metrics = get(event.endpoint());
+
+        metrics.requests.increment();
+        metrics.bytesSent.add(event.bytesSent());
+        metrics.bytesReceived.add(event.bytesReceived());
+        metrics.latencyNanos.record(event.latencyNanos());
+
+        if (!event.isSuccess()) metrics.errors.increment();
+        if (event.retrying()) metrics.retries.increment();
+        if (event.statusCode() == 304) metrics.notModified.increment();
+    }
+
+    @Override
+    public void onBatched(@NotNull URI uri, @Nullable Endpoint endpoint, int querySize, int numBatches) {
+        EndpointMetrics metrics = get(endpoint);
+
+        metrics.querySizes.record(querySize);
+        metrics.batchesPerQuery.record(numBatches);
+    }
+
+    @Override
+    public void onCacheLookup(@NotNull Endpoint endpoint, int hits, int misses) {
+        EndpointMetrics metrics = get(endpoint);
+
+        metrics.cacheHits.add(hits);
+        metrics.cacheMisses.add(misses);
+    }
+
+    /**
+     * The statistics of one endpoint since it was created or last reset
+     */
+    public static class EndpointMetrics {
+
+        private final Histogram latencyNanos = new Histogram(HIGHEST_TRACKABLE_LATENCY.toNanos());
+        private final Histogram querySizes = new Histogram(1 << 20);
+        private final Histogram batchesPerQuery = new Histogram(1 << 14);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder notModified = new LongAdder();
+        private final LongAdder bytesSent = new LongAdder();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+        private volatile long resetAt = System.nanoTime();
+
+        private EndpointMetrics() {}
+
+        /**
+         * @return The latency of every attempt in nanoseconds, including failed ones
+         */
+        public @NotNull Histogram getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        /**
+         * @return The number of elements in each batched query
+         */
+        public @NotNull Histogram getQuerySizes() {
+            return querySizes;
+        }
+
+        /**
+         * @return The number of requests each batched query was split into
+         */
+        public @NotNull Histogram getBatchesPerQuery() {
+            return batchesPerQuery;
+        }
+
+        /**
+         * @return The number of attempts sent, each retry counts as another
+         */
+        public long getNumRequests() {
+            return requests.sum();
+        }
+
+        /**
+         * @return The number of attempts that failed or got a status other than 200 or 304
+         */
+        public long getNumErrors() {
+            return errors.sum();
+        }
+
+        public double getErrorRate() {
+            long numRequests = requests.sum();
+            return numRequests == 0 ? 0 : (double) errors.sum() / numRequests;
+        }
+
+        public long getNumRetries() {
+            return retries.sum();
+        }
+
+        /**
+         * @return The number of attempts answered with 304 Not Modified, see {@link ResponseCache}
+         */
+        public long getNumNotModified() {
+            return notModified.sum();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.sum();
+        }
+
+        /**
+         * @return The bytes received before decompression
+         */
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        /**
+         * @return The attempts sent per second since the metrics were created or last reset
+         */
+        public double getRequestsPerSecond() {
+            double seconds = (System.nanoTime() - resetAt) / 1e9;
+            return seconds <= 0 ? 0 : requests.sum() / seconds;
+        }
+
+        public long getNumCacheHits() {
+            return cacheHits.sum();
+        }
+
+        public long getNumCacheMisses() {
+            return cacheMisses.sum();
+        }
+
+        /**
+         * @return The share of entities looked up that were found in the {@link CacheManager}, 0 if none were looked up
+         */
+        public double getCacheHitRatio() {
+            long hits = cacheHits.sum(), total = hits + cacheMisses.sum();
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        private void reset() {
+            latencyNanos.reset();
+            querySizes.reset();
+            batchesPerQuery.reset();
+            requests.reset();
+            errors.reset();
+            retries.reset();
+            notModified.reset();
+            bytesSent.reset();
+            bytesReceived.reset();
+            cacheHits.reset();
+            cacheMisses.reset();
+            resetAt = System.nanoTime();
+        }
+    }
+}
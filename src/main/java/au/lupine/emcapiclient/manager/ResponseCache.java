@@ -0,0 +1,87 @@
+package au.lupine.emcapiclient.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the decoded body of GET responses that carried an ETag or Last-Modified header, so the request can be revalidated next time
+ * and an unchanged resource costs a 304 Not Modified instead of its whole body
+ * <p>
+ * Bounded by the total size of the bodies it holds, the least recently used responses are evicted first
+ */
+public class ResponseCache {
+
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private final Map<URI, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private long bytes;
+
+    ResponseCache() {}
+
+    /**
+     * @return The total size of the response bodies the cache may hold before evicting, 0 disables revalidation
+     */
+    public synchronized long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public synchronized void setMaxBytes(long maxBytes) {
+        if (maxBytes < 0) throw new IllegalArgumentException("Maximum size must not be negative");
+
+        this.maxBytes = maxBytes;
+        evict();
+    }
+
+    public synchronized long getSize() {
+        return bytes;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    synchronized @Nullable Entry get(@NotNull URI uri) {
+        return entries.get(uri);
+    }
+
+    /**
+     * Remember a 200 response if it can be revalidated, otherwise forget any earlier response for the URI as it can no longer be trusted
+     */
+    synchronized void put(@NotNull URI uri, @NotNull HttpHeaders headers, byte @NotNull [] body) {
+        String eTag = headers.firstValue("ETag").orElse(null);
+        String lastModified = headers.firstValue("Last-Modified").orElse(null);
+
+        Entry previous = (eTag == null && lastModified == null) || body.length > maxBytes
+                ? entries.remove(uri)
+                : entries.put(uri, new Entry(eTag, lastModified, body));
+        if (previous != null) bytes -= previous.body.length;
+
+        if (entries.containsKey(uri)) bytes += body.length;
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (bytes > maxBytes && iterator.hasNext()) {
+            bytes -= iterator.next().body.length;
+            iterator.remove();
+        }
+    }
+
+    record Entry(@Nullable String eTag, @Nullable String lastModified, byte @NotNull [] body) {
+
+        void addValidators(@NotNull HttpRequest.Builder builder) {
+            if (eTag != null) builder.header("If-None-Match", eTag);
+            if (lastModified != null) builder.header("If-Modified-Since", lastModified);
+        }
+    }
+}
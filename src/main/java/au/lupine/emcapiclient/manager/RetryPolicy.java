@@ -0,0 +1,68 @@
+package au.lupine.emcapiclient.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides how often and how long apart {@link RequestManager} resends a request that failed with an IOException, a 429 or a 5xx status
+ * <p>
+ * Delays grow exponentially from the base delay up to the maximum delay and are fully jittered, unless the API sent a Retry-After header
+ */
+public class RetryPolicy {
+
+    /**
+     * Up to 4 attempts per request starting 250ms apart, and at most 20 retries across all batches of one batched call
+     */
+    public static final RetryPolicy DEFAULT = new RetryPolicy(4, Duration.ofMillis(250), Duration.ofSeconds(10), 20);
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 0);
+
+    private final int maxAttempts;
+    private final Duration baseDelay, maxDelay;
+    private final int retryBudget;
+
+    /**
+     * @param maxAttempts The maximum number of times a single request is sent, including the first attempt
+     * @param baseDelay The delay before the first retry, doubled for each retry after it
+     * @param maxDelay The longest delay between two attempts
+     * @param retryBudget The maximum number of retries shared by every request of one call, so a failing API cannot multiply the load of a large batched call
+     */
+    public RetryPolicy(int maxAttempts, @NotNull Duration baseDelay, @NotNull Duration maxDelay, int retryBudget) {
+        if (maxAttempts < 1) throw new IllegalArgumentException("Max attempts must be at least 1");
+        if (baseDelay.isNegative() || maxDelay.isNegative()) throw new IllegalArgumentException("Delays must not be negative");
+        if (retryBudget < 0) throw new IllegalArgumentException("Retry budget must not be negative");
+
+        this.maxAttempts = maxAttempts;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.retryBudget = retryBudget;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public @NotNull Duration getBaseDelay() {
+        return baseDelay;
+    }
+
+    public @NotNull Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public int getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * @param attempt The number of attempts already made, starting from 1
+     * @return A random delay between zero and the exponential backoff for this attempt
+     */
+    public long getDelayMillis(int attempt) {
+        long ceiling = baseDelay.toMillis() << Math.min(attempt - 1, 30);
+        if (ceiling < 0 || ceiling > maxDelay.toMillis()) ceiling = maxDelay.toMillis();
+
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -2,25 +2,51 @@ package au.lupine.emcapiclient.object.apiobject;
 
 import au.lupine.emcapiclient.object.identifier.Identifier;
 import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 
 public abstract class APIObject {
 
     private final JsonObject jsonObject;
+    private final byte[] compactJson;
 
     public APIObject(JsonObject jsonObject) {
-        this.jsonObject = jsonObject;
+        this(jsonObject, JsonRetention.FULL);
     }
 
+    /**
+     * @param retention What to keep of the JSON once the subclass has parsed it, see {@link JsonRetention}
+     */
+    public APIObject(@NotNull JsonObject jsonObject, @NotNull JsonRetention retention) {
+        this.jsonObject = retention == JsonRetention.FULL ? jsonObject : null;
+        this.compactJson = retention == JsonRetention.COMPACT ? jsonObject.toString().getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * @deprecated Reads the retained JSON, which is not there for objects created with {@link JsonRetention#NONE}. Use {@link #createRanksMap(JsonObject)} with the JSON passed to the constructor instead
+     * @throws IllegalStateException If the object did not retain its JSON
+     */
+    @Deprecated
     protected HashMap<String, List<PlayerIdentifier>> createRanksMap() {
+        JsonObject json = getJsonObject();
+        if (json == null) throw new IllegalStateException("Ranks can only be read from retained JSON, this object was created with JsonRetention.NONE");
+
+        return createRanksMap(json);
+    }
+
+    protected HashMap<String, List<PlayerIdentifier>> createRanksMap(JsonObject jsonObject) {
         JsonObject ranksObject = jsonObject.getAsJsonObject("ranks");
         HashMap<String, List<PlayerIdentifier>> ranksMap = new HashMap<>();
 
         for (String rank : ranksObject.keySet()) {
-            List<PlayerIdentifier> residentsWithRank = Identifier.createIdentifierList(ranksObject.getAsJsonArray(rank), PlayerIdentifier.class);
+            List<PlayerIdentifier> residentsWithRank = Identifier.createIdentifierList(ranksObject.getAsJsonArray(rank), PlayerIdentifier::new);
             ranksMap.put(rank, residentsWithRank);
         }
 
@@ -29,25 +55,44 @@ public abstract class APIObject {
 
     /**
      * Use this to access any values that may not be parsed by EMCAPIClient
-     * @return The {@link JsonObject} that was parsed to create this object
+     * @return The {@link JsonObject} that was parsed to create this object, a freshly parsed copy if it was retained as {@link JsonRetention#COMPACT} or null if it was retained as {@link JsonRetention#NONE}
      */
-    public JsonObject getJsonObject() {
-        return jsonObject;
+    public @Nullable JsonObject getJsonObject() {
+        if (jsonObject != null) return jsonObject;
+        if (compactJson == null) return null;
+
+        return JsonParser.parseString(new String(compactJson, StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    public @NotNull JsonRetention getJsonRetention() {
+        if (jsonObject != null) return JsonRetention.FULL;
+
+        return compactJson != null ? JsonRetention.COMPACT : JsonRetention.NONE;
     }
 
     /**
+     * Players, towns, nations and quarters override this to compare by class and UUID instead
      * @param obj Any object
-     * @return True if the object is an {@link APIObject} and if the object's internal {@link JsonObject} variable is equal
+     * @return True if the object is an {@link APIObject} and if the object's internal {@link JsonObject} variable is equal, two objects that did not retain their JSON are only equal to themselves
      */
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) return true;
         if (!(obj instanceof APIObject apiObject)) return false;
 
-        return this.jsonObject.equals(apiObject.getJsonObject());
+        JsonObject json = getJsonObject();
+        return json != null && json.equals(apiObject.getJsonObject());
+    }
+
+    @Override
+    public int hashCode() {
+        JsonObject json = getJsonObject();
+        return json != null ? json.hashCode() : System.identityHashCode(this);
     }
 
     @Override
     public String toString() {
-        return jsonObject.toString();
+        JsonObject json = getJsonObject();
+        return json != null ? json.toString() : getClass().getSimpleName();
     }
 }
@@ -1,5 +1,6 @@
 package au.lupine.emcapiclient.object.apiobject;
 
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonObject;
 import org.jetbrains.annotations.Nullable;
@@ -15,7 +16,11 @@ public class Discord extends APIObject {
     private final UUID uuid;
 
     public Discord(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public Discord(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         this.id = JSONUtil.getElementAsStringOrNull(jsonObject.get("id"));
 
@@ -3,6 +3,7 @@ package au.lupine.emcapiclient.object.apiobject;
 import au.lupine.emcapiclient.object.Location;
 import au.lupine.emcapiclient.object.identifier.NationIdentifier;
 import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonObject;
 import org.jetbrains.annotations.Nullable;
@@ -15,7 +16,11 @@ public class LocationInfo extends APIObject {
     private final NationIdentifier nation;
 
     public LocationInfo(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public LocationInfo(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         JsonObject locationObject = jsonObject.get("location").getAsJsonObject();
         double x = locationObject.get("x").getAsDouble();
@@ -1,10 +1,12 @@
 package au.lupine.emcapiclient.object.apiobject;
 
 import au.lupine.emcapiclient.object.Location;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
 import au.lupine.emcapiclient.object.identifier.Identifier;
 import au.lupine.emcapiclient.object.identifier.NationIdentifier;
 import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
 import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonObject;
 import org.jetbrains.annotations.Nullable;
@@ -14,7 +16,7 @@ import java.util.List;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
-public class Nation extends APIObject {
+public class Nation extends APIObject implements Identifiable {
 
     private final String name, board, dynmapColour, dynmapOutline, wiki;
     private final UUID uuid;
@@ -30,7 +32,11 @@ public class Nation extends APIObject {
     private final HashMap<String, List<PlayerIdentifier>> ranks;
 
     public Nation(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public Nation(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         this.name = jsonObject.get("name").getAsString();
         this.uuid = UUID.fromString(jsonObject.get("uuid").getAsString());
@@ -71,13 +77,13 @@ public class Nation extends APIObject {
         JsonObject spawn = coordinates.getAsJsonObject("spawn");
         this.spawn = spawn.get("world").isJsonNull() ? null : new Location(spawn);
 
-        this.residents = Identifier.createIdentifierList(jsonObject.getAsJsonArray("residents"), PlayerIdentifier.class);
-        this.towns = Identifier.createIdentifierList(jsonObject.getAsJsonArray("towns"), TownIdentifier.class);
-        this.allies = Identifier.createIdentifierList(jsonObject.getAsJsonArray("allies"), NationIdentifier.class);
-        this.enemies = Identifier.createIdentifierList(jsonObject.getAsJsonArray("enemies"), NationIdentifier.class);
-        this.sanctioned = Identifier.createIdentifierList(jsonObject.getAsJsonArray("sanctioned"), TownIdentifier.class);
+        this.residents = Identifier.createIdentifierList(jsonObject.getAsJsonArray("residents"), PlayerIdentifier::new);
+        this.towns = Identifier.createIdentifierList(jsonObject.getAsJsonArray("towns"), TownIdentifier::new);
+        this.allies = Identifier.createIdentifierList(jsonObject.getAsJsonArray("allies"), NationIdentifier::new);
+        this.enemies = Identifier.createIdentifierList(jsonObject.getAsJsonArray("enemies"), NationIdentifier::new);
+        this.sanctioned = Identifier.createIdentifierList(jsonObject.getAsJsonArray("sanctioned"), TownIdentifier::new);
 
-        this.ranks = createRanksMap();
+        this.ranks = createRanksMap(jsonObject);
     }
 
     public String getName() {
@@ -188,4 +194,27 @@ public class Nation extends APIObject {
     public HashMap<String, List<PlayerIdentifier>> getRanks() {
         return ranks;
     }
+
+    /**
+     * @return True if the object is also a Nation with the same UUID, regardless of when either was fetched
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Nation nation)) return false;
+
+        return uuid.equals(nation.uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (getJsonRetention() != JsonRetention.NONE) return super.toString();
+
+        return "Nation{name=" + name + ", uuid=" + uuid + "}";
+    }
 }
@@ -1,9 +1,11 @@
 package au.lupine.emcapiclient.object.apiobject;
 
+import au.lupine.emcapiclient.object.identifier.Identifiable;
 import au.lupine.emcapiclient.object.identifier.Identifier;
 import au.lupine.emcapiclient.object.identifier.NationIdentifier;
 import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
 import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.object.wrapper.Permissions;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonArray;
@@ -16,7 +18,7 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 
 @SuppressWarnings("unused")
-public class Player extends APIObject {
+public class Player extends APIObject implements Identifiable {
 
     private final String name, title, surname, formattedName, about;
     private final UUID uuid;
@@ -31,7 +33,11 @@ public class Player extends APIObject {
     private final List<PlayerIdentifier> friends;
 
     public Player(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public Player(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         this.name = jsonObject.get("name").getAsString();
         this.uuid = UUID.fromString(jsonObject.get("uuid").getAsString());
@@ -73,14 +79,14 @@ public class Player extends APIObject {
         this.balance = stats.get("balance").getAsInt();
         this.numFriends = stats.get("numFriends").getAsInt();
 
-        this.permissions = new Permissions(jsonObject.getAsJsonObject("perms"));
+        this.permissions = new Permissions(jsonObject.getAsJsonObject("perms"), retention);
 
         JsonObject ranks = jsonObject.getAsJsonObject("ranks");
         this.townRanks = ranks.get("townRanks").getAsJsonArray().asList().stream().map(JsonElement::getAsString).collect(Collectors.toList());
         this.nationRanks = ranks.get("nationRanks").getAsJsonArray().asList().stream().map(JsonElement::getAsString).collect(Collectors.toList());
 
         JsonArray friends = jsonObject.getAsJsonArray("friends");
-        this.friends = Identifier.createIdentifierList(friends, PlayerIdentifier.class);
+        this.friends = Identifier.createIdentifierList(friends, PlayerIdentifier::new);
     }
 
     public String getName() {
@@ -183,4 +189,27 @@ public class Player extends APIObject {
     public List<PlayerIdentifier> getFriends() {
         return friends;
     }
+
+    /**
+     * @return True if the object is also a Player with the same UUID, regardless of when either was fetched
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Player player)) return false;
+
+        return uuid.equals(player.uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (getJsonRetention() != JsonRetention.NONE) return super.toString();
+
+        return "Player{name=" + name + ", uuid=" + uuid + "}";
+    }
 }
@@ -1,9 +1,11 @@
 package au.lupine.emcapiclient.object.apiobject;
 
 import au.lupine.emcapiclient.object.Cuboid;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
 import au.lupine.emcapiclient.object.identifier.Identifier;
 import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
 import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -16,7 +18,7 @@ import java.util.List;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
-public class Quarter extends APIObject {
+public class Quarter extends APIObject implements Identifiable {
 
     private final String name;
     private final UUID uuid;
@@ -33,7 +35,11 @@ public class Quarter extends APIObject {
     private final List<Cuboid> cuboids;
 
     public Quarter(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public Quarter(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         this.name = jsonObject.get("name").getAsString();
         this.uuid = UUID.fromString(jsonObject.get("uuid").getAsString());
@@ -69,7 +75,7 @@ public class Quarter extends APIObject {
         this.colour = new Color(colour.get(0).getAsInt(), colour.get(1).getAsInt(), colour.get(2).getAsInt());
 
         JsonArray trusted = jsonObject.getAsJsonArray("trusted");
-        this.trusted = Identifier.createIdentifierList(trusted, PlayerIdentifier.class);
+        this.trusted = Identifier.createIdentifierList(trusted, PlayerIdentifier::new);
 
         List<Cuboid> cuboidsList = new ArrayList<>();
         JsonArray cuboids = jsonObject.getAsJsonArray("cuboids");
@@ -136,4 +142,27 @@ public class Quarter extends APIObject {
     public List<Cuboid> getCuboids() {
         return cuboids;
     }
+
+    /**
+     * @return True if the object is also a Quarter with the same UUID, regardless of when either was fetched
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Quarter quarter)) return false;
+
+        return uuid.equals(quarter.uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (getJsonRetention() != JsonRetention.NONE) return super.toString();
+
+        return "Quarter{name=" + name + ", uuid=" + uuid + "}";
+    }
 }
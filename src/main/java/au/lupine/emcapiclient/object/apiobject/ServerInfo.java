@@ -1,5 +1,6 @@
 package au.lupine.emcapiclient.object.apiobject;
 
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import com.google.gson.JsonObject;
 
 @SuppressWarnings("unused")
@@ -11,7 +12,11 @@ public class ServerInfo extends APIObject {
     private final int maxPlayers, numOnlinePlayers, numOnlineNomads, numResidents, numNomads, numTowns, numTownBlocks, numNations, numQuarters, numCuboids, votePartyTarget, numVotesRemaining;
 
     public ServerInfo(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public ServerInfo(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         this.version = jsonObject.get("version").getAsString();
         this.moonPhase = jsonObject.get("moonPhase").getAsString();
@@ -2,24 +2,29 @@ package au.lupine.emcapiclient.object.apiobject;
 
 import au.lupine.emcapiclient.object.Location;
 import au.lupine.emcapiclient.object.Pair;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
 import au.lupine.emcapiclient.object.identifier.Identifier;
 import au.lupine.emcapiclient.object.identifier.NationIdentifier;
 import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
 import au.lupine.emcapiclient.object.identifier.QuarterIdentifier;
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import au.lupine.emcapiclient.object.wrapper.Permissions;
+import au.lupine.emcapiclient.util.ChunkConsumer;
+import au.lupine.emcapiclient.util.ChunkUtil;
 import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
 
 @SuppressWarnings("unused")
-public class Town extends APIObject {
+public class Town extends APIObject implements Identifiable {
 
     private final String name, board, founder, wiki;
     private final UUID uuid;
@@ -33,13 +38,17 @@ public class Town extends APIObject {
     private final Permissions permissions;
     private final Location spawn;
     private final Pair<Integer, Integer> homeBlock;
-    private final List<Pair<Integer, Integer>> townBlocks;
+    private final long[] townBlocks;
     private final List<PlayerIdentifier> residents, trusted, outlaws;
     private final List<QuarterIdentifier> quarters;
     private final HashMap<String, List<PlayerIdentifier>> ranks;
 
     public Town(JsonObject jsonObject) {
-        super(jsonObject);
+        this(jsonObject, JsonRetention.FULL);
+    }
+
+    public Town(JsonObject jsonObject, JsonRetention retention) {
+        super(jsonObject, retention);
 
         this.name = jsonObject.get("name").getAsString();
         this.uuid =  UUID.fromString(jsonObject.get("uuid").getAsString());
@@ -88,7 +97,7 @@ public class Town extends APIObject {
         this.balance = stats.get("balance").getAsInt();
         this.forSalePrice = JSONUtil.getElementAsDoubleOrNull(stats.get("forSalePrice"));
 
-        this.permissions = new Permissions(jsonObject.getAsJsonObject("perms"));
+        this.permissions = new Permissions(jsonObject.getAsJsonObject("perms"), retention);
 
         JsonObject coordinates = jsonObject.getAsJsonObject("coordinates");
         JsonObject spawn = coordinates.getAsJsonObject("spawn");
@@ -97,21 +106,22 @@ public class Town extends APIObject {
         JsonArray homeBlock = coordinates.getAsJsonArray("homeBlock");
         this.homeBlock = homeBlock.get(0).isJsonNull() ? null : new Pair<>(homeBlock.get(0).getAsInt(), homeBlock.get(1).getAsInt());
 
-        List<Pair<Integer, Integer>> townBlocksList = new ArrayList<>();
-        JsonArray townBlocks = coordinates.getAsJsonArray("townBlocks");
-        for (JsonElement townBlockElement : townBlocks) {
-            JsonArray townBlockArray = townBlockElement.getAsJsonArray();
-            townBlocksList.add(new Pair<>(townBlockArray.get(0).getAsInt(), townBlockArray.get(1).getAsInt()));
+        JsonArray townBlocksArray = coordinates.getAsJsonArray("townBlocks");
+        long[] townBlocks = new long[townBlocksArray.size()];
+        for (int i = 0; i < townBlocks.length; i++) {
+            JsonArray townBlockArray = townBlocksArray.get(i).getAsJsonArray();
+            townBlocks[i] = ChunkUtil.pack(townBlockArray.get(0).getAsInt(), townBlockArray.get(1).getAsInt());
         }
-        this.townBlocks = townBlocksList;
+        Arrays.sort(townBlocks);
+        this.townBlocks = townBlocks;
 
-        this.residents = Identifier.createIdentifierList(jsonObject.getAsJsonArray("residents"), PlayerIdentifier.class);
-        this.trusted = Identifier.createIdentifierList(jsonObject.getAsJsonArray("trusted"), PlayerIdentifier.class);
-        this.outlaws = Identifier.createIdentifierList(jsonObject.getAsJsonArray("outlaws"), PlayerIdentifier.class);
+        this.residents = Identifier.createIdentifierList(jsonObject.getAsJsonArray("residents"), PlayerIdentifier::new);
+        this.trusted = Identifier.createIdentifierList(jsonObject.getAsJsonArray("trusted"), PlayerIdentifier::new);
+        this.outlaws = Identifier.createIdentifierList(jsonObject.getAsJsonArray("outlaws"), PlayerIdentifier::new);
 
-        this.quarters = Identifier.createIdentifierList(jsonObject.getAsJsonArray("quarters"), QuarterIdentifier.class);
+        this.quarters = Identifier.createIdentifierList(jsonObject.getAsJsonArray("quarters"), QuarterIdentifier::new);
 
-        this.ranks = createRanksMap();
+        this.ranks = createRanksMap(jsonObject);
     }
 
     public String getName() {
@@ -249,8 +259,41 @@ public class Town extends APIObject {
         return homeBlock;
     }
 
+    /**
+     * @return True if the town has claimed the chunk
+     */
+    public boolean containsChunk(int x, int z) {
+        return Arrays.binarySearch(townBlocks, ChunkUtil.pack(x, z)) >= 0;
+    }
+
+    /**
+     * Passes the coordinates of every claimed chunk to the consumer without boxing them, in {@link #getPackedTownBlocks()}'s order
+     */
+    public void forEachTownBlock(@NotNull ChunkConsumer consumer) {
+        for (long townBlock : townBlocks) {
+            consumer.accept(ChunkUtil.unpackX(townBlock), ChunkUtil.unpackZ(townBlock));
+        }
+    }
+
+    /**
+     * @return A copy of every claimed chunk packed with {@link ChunkUtil#pack(int, int)}, sorted ascending
+     */
+    public long @NotNull [] getPackedTownBlocks() {
+        return townBlocks.clone();
+    }
+
+    /**
+     * The chunks are no longer in the order the API listed them. They are sorted like {@link #getPackedTownBlocks()}, by x and then by z as an unsigned int,
+     * so negative z comes after positive z. Callers that relied on the API's order must sort the list themselves
+     * @deprecated Creates a list of boxed pairs on every call, use {@link #containsChunk(int, int)}, {@link #forEachTownBlock(ChunkConsumer)} or {@link #getPackedTownBlocks()} instead
+     * @return A new list of every claimed chunk as (x, z), sorted by packed key rather than in the API's order
+     */
+    @Deprecated
     public List<Pair<Integer, Integer>> getTownBlocks() {
-        return townBlocks;
+        List<Pair<Integer, Integer>> pairs = new ArrayList<>(townBlocks.length);
+        forEachTownBlock((x, z) -> pairs.add(new Pair<>(x, z)));
+
+        return pairs;
     }
 
     public List<PlayerIdentifier> getResidents() {
@@ -272,4 +315,27 @@ public class Town extends APIObject {
     public HashMap<String, List<PlayerIdentifier>> getRanks() {
         return ranks;
     }
+
+    /**
+     * @return True if the object is also a Town with the same UUID, regardless of when either was fetched
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Town town)) return false;
+
+        return uuid.equals(town.uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        if (getJsonRetention() != JsonRetention.NONE) return super.toString();
+
+        return "Town{name=" + name + ", uuid=" + uuid + "}";
+    }
 }
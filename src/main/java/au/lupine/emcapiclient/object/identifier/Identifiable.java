@@ -0,0 +1,13 @@
+package au.lupine.emcapiclient.object.identifier;
+
+import java.util.UUID;
+
+/**
+ * Implemented by anything that can be referred to by a name and a UUID, such as players, towns, nations and quarters
+ */
+public interface Identifiable {
+
+    String getName();
+
+    UUID getUUID();
+}
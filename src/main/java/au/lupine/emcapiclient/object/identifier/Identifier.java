@@ -1,6 +1,7 @@
 package au.lupine.emcapiclient.object.identifier;
 
 import au.lupine.emcapiclient.object.apiobject.APIObject;
+import au.lupine.emcapiclient.util.JSONUtil;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -9,12 +10,15 @@ import org.jetbrains.annotations.NotNull;
 import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.BiFunction;
 
 /**
  * Represents a reference to an {@link APIObject}
  */
-public abstract class Identifier {
+public abstract class Identifier implements Identifiable {
 
     private final String name;
     private final UUID uuid;
@@ -44,29 +48,65 @@ public abstract class Identifier {
         return uuid != null ? uuid.toString() : name;
     }
 
-    public static <T extends Identifier> @NotNull List<T> createIdentifierList(JsonArray array, Class<T> type) {
-        List<T> identifiers = new ArrayList<>();
+    /**
+     * @return True if the object is an identifier of the same type with the same UUID, or with the same name ignoring case if neither has a UUID
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || obj.getClass() != getClass()) return false;
 
-        Constructor<T> constructor;
-        try {
-            constructor = type.getConstructor(String.class, UUID.class);
-        } catch (NoSuchMethodException e) {
-            return identifiers;
-        }
+        Identifier identifier = (Identifier) obj;
+        if (uuid != null || identifier.uuid != null) return Objects.equals(uuid, identifier.uuid);
+
+        return name != null && name.equalsIgnoreCase(identifier.name);
+    }
+
+    @Override
+    public int hashCode() {
+        if (uuid != null) return uuid.hashCode();
+
+        return name == null ? 0 : name.toLowerCase(Locale.ROOT).hashCode();
+    }
+
+    /**
+     * Creates an identifier for every element of an array of {"name": ..., "uuid": ...} objects, skipping elements without a name or UUID
+     * @param factory Creates one identifier, such as {@code PlayerIdentifier::new}
+     */
+    public static <T extends Identifier> @NotNull List<T> createIdentifierList(@NotNull JsonArray array, @NotNull BiFunction<String, UUID, T> factory) {
+        List<T> identifiers = new ArrayList<>(array.size());
 
         for (JsonElement element : array) {
             JsonObject jsonObject = element.getAsJsonObject();
 
-            try {
-                T identifier = constructor.newInstance(
-                        jsonObject.get("name").getAsString(),
-                        UUID.fromString(jsonObject.get("uuid").getAsString())
-                );
+            String name = JSONUtil.getElementAsStringOrNull(jsonObject.get("name"));
+            String uuid = JSONUtil.getElementAsStringOrNull(jsonObject.get("uuid"));
+            if (name == null || uuid == null) continue;
 
-                identifiers.add(identifier);
-            } catch (Exception ignored) {}
+            identifiers.add(factory.apply(name, UUID.fromString(uuid)));
         }
 
         return identifiers;
     }
+
+    /**
+     * @deprecated Looks up the type's (String, UUID) constructor reflectively, use {@link #createIdentifierList(JsonArray, BiFunction)} instead
+     */
+    @Deprecated
+    public static <T extends Identifier> @NotNull List<T> createIdentifierList(JsonArray array, Class<T> type) {
+        Constructor<T> constructor;
+        try {
+            constructor = type.getConstructor(String.class, UUID.class);
+        } catch (NoSuchMethodException e) {
+            return new ArrayList<>();
+        }
+
+        return createIdentifierList(array, (name, uuid) -> {
+            try {
+                return constructor.newInstance(name, uuid);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Could not create " + type.getSimpleName(), e);
+            }
+        });
+    }
 }
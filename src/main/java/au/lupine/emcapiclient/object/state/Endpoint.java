@@ -0,0 +1,24 @@
+package au.lupine.emcapiclient.object.state;
+
+/**
+ * Represents one of the endpoints under a server's API URI
+ */
+public enum Endpoint {
+
+    PLAYERS("players"),
+    TOWNS("towns"),
+    NATIONS("nations"),
+    QUARTERS("quarters"),
+    LOCATION("location"),
+    DISCORD("discord");
+
+    private final String name;
+
+    Endpoint(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
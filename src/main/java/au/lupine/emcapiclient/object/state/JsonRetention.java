@@ -0,0 +1,20 @@
+package au.lupine.emcapiclient.object.state;
+
+/**
+ * Decides what an {@link au.lupine.emcapiclient.object.apiobject.APIObject} keeps of the JSON it was parsed from
+ */
+public enum JsonRetention {
+
+    /**
+     * Keep the parsed {@link com.google.gson.JsonObject}, the default
+     */
+    FULL,
+    /**
+     * Keep the JSON as UTF-8 bytes and parse it again each time it is asked for, a fraction of the size of the parsed tree
+     */
+    COMPACT,
+    /**
+     * Keep nothing, only the fields parsed by EMCAPIClient remain available
+     */
+    NONE
+}
@@ -1,7 +1,9 @@
 package au.lupine.emcapiclient.object.wrapper;
 
+import au.lupine.emcapiclient.object.state.JsonRetention;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import org.jetbrains.annotations.Nullable;
 
 @SuppressWarnings("unused")
 public class Permissions {
@@ -15,7 +17,14 @@ public class Permissions {
     private final Flags flags;
 
     public Permissions(JsonObject permsObject) {
-        this.jsonObject = permsObject;
+        this(permsObject, JsonRetention.FULL);
+    }
+
+    /**
+     * @param retention Whether to keep the perms object, only {@link JsonRetention#FULL} keeps it
+     */
+    public Permissions(JsonObject permsObject, JsonRetention retention) {
+        this.jsonObject = retention == JsonRetention.FULL ? permsObject : null;
 
         this.buildPermissions = new Build(permsObject.getAsJsonArray("build"));
         this.destroyPermissions = new Destroy(permsObject.getAsJsonArray("destroy"));
@@ -105,7 +114,10 @@ public class Permissions {
         }
     }
 
-    public JsonObject getJsonObject() {
+    /**
+     * @return The perms object this was parsed from, or null if the owning object did not retain its JSON in full
+     */
+    public @Nullable JsonObject getJsonObject() {
         return jsonObject;
     }
 
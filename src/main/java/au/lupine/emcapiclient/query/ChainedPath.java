@@ -0,0 +1,17 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A path of two or more relations, see {@link Path#then(Relation)}
+ */
+record ChainedPath<S extends Identifiable, R extends Identifiable>(@NotNull List<Relation<?, ?>> relations) implements Path<S, R> {
+
+    @Override
+    public @NotNull List<Relation<?, ?>> getRelations() {
+        return relations;
+    }
+}
@@ -0,0 +1,102 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Declares which entities to fetch and which of their relations to fetch along with them, run it with {@link au.lupine.emcapiclient.EMCAPIClient#fetch(FetchPlan)}
+ * <p>
+ * For example a nation with its towns, their mayors and their quarters:
+ * <pre>{@code
+ * FetchPlan.nations("Kingdom").expand(
+ *         Relation.NATION_TOWNS.then(Relation.TOWN_MAYOR),
+ *         Relation.NATION_TOWNS.then(Relation.TOWN_QUARTERS)
+ * )
+ * }</pre>
+ * Paths sharing a prefix share its fetches, and every hop at the same depth is fetched in one wave of one batched request per endpoint, see {@link FetchResult}
+ * @param <T> The entities the plan starts from
+ */
+public final class FetchPlan<T extends Identifiable> {
+
+    private final Endpoint endpoint;
+    private final Class<T> type;
+    private final List<String> query;
+    private final List<Path<?, ?>> expansions = new ArrayList<>();
+
+    private FetchPlan(@NotNull Endpoint endpoint, @NotNull Class<T> type, @NotNull Collection<String> query) {
+        this.endpoint = endpoint;
+        this.type = type;
+        this.query = List.copyOf(query);
+    }
+
+    /**
+     * @param query The names or UUIDs of the players to start from
+     */
+    public static @NotNull FetchPlan<Player> players(@NotNull String... query) {
+        return players(List.of(query));
+    }
+
+    public static @NotNull FetchPlan<Player> players(@NotNull Collection<String> query) {
+        return new FetchPlan<>(Endpoint.PLAYERS, Player.class, query);
+    }
+
+    public static @NotNull FetchPlan<Town> towns(@NotNull String... query) {
+        return towns(List.of(query));
+    }
+
+    public static @NotNull FetchPlan<Town> towns(@NotNull Collection<String> query) {
+        return new FetchPlan<>(Endpoint.TOWNS, Town.class, query);
+    }
+
+    public static @NotNull FetchPlan<Nation> nations(@NotNull String... query) {
+        return nations(List.of(query));
+    }
+
+    public static @NotNull FetchPlan<Nation> nations(@NotNull Collection<String> query) {
+        return new FetchPlan<>(Endpoint.NATIONS, Nation.class, query);
+    }
+
+    public static @NotNull FetchPlan<Quarter> quarters(@NotNull String... query) {
+        return quarters(List.of(query));
+    }
+
+    public static @NotNull FetchPlan<Quarter> quarters(@NotNull Collection<String> query) {
+        return new FetchPlan<>(Endpoint.QUARTERS, Quarter.class, query);
+    }
+
+    /**
+     * Also fetch everything reached by following each path from the entities the plan starts from
+     */
+    @SafeVarargs
+    public final @NotNull FetchPlan<T> expand(@NotNull Path<T, ?>... paths) {
+        for (Path<T, ?> path : paths) {
+            expansions.add(path);
+        }
+        return this;
+    }
+
+    public @NotNull Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public @NotNull Class<T> getType() {
+        return type;
+    }
+
+    public @NotNull List<String> getQuery() {
+        return query;
+    }
+
+    public @NotNull List<Path<?, ?>> getExpansions() {
+        return List.copyOf(expansions);
+    }
+}
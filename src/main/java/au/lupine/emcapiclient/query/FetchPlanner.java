@@ -0,0 +1,165 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.wrapper.Server;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs {@link FetchPlan}s against one server in as few rounds of requests as the plan's depth allows
+ * <p>
+ * The plan's paths are merged into a tree so a shared prefix such as a nation's towns is only followed once. The tree is then walked a level at a time:
+ * every identifier needed at that level is gathered across all branches, anything already fetched is skipped, and the rest is fetched in one wave of
+ * one deduplicated batched request per endpoint, with the endpoints requested concurrently
+ */
+public class FetchPlanner {
+
+    private final EMCAPIClient client;
+    private final Server server;
+
+    public FetchPlanner(@NotNull EMCAPIClient client) {
+        this(client, client.getDefaultServer());
+    }
+
+    public FetchPlanner(@NotNull EMCAPIClient client, @NotNull Server server) {
+        this.client = client;
+        this.server = server;
+    }
+
+    public <T extends Identifiable> @NotNull FetchResult<T> fetch(@NotNull FetchPlan<T> plan) {
+        return client.getRequestManager().await(fetchAsync(plan));
+    }
+
+    public <T extends Identifiable> @NotNull CompletableFuture<FetchResult<T>> fetchAsync(@NotNull FetchPlan<T> plan) {
+        Node tree = new Node();
+        for (Path<?, ?> path : plan.getExpansions()) {
+            Node node = tree;
+            for (Relation<?, ?> relation : path.getRelations()) {
+                node = node.children.computeIfAbsent(relation, r -> new Node());
+            }
+        }
+
+        Map<Endpoint, Map<String, Identifiable>> fetched = new EnumMap<>(Endpoint.class);
+
+        Map<Endpoint, Map<String, String>> rootQuery = new EnumMap<>(Endpoint.class);
+        Map<String, String> query = new LinkedHashMap<>();
+        plan.getQuery().forEach(entry -> query.putIfAbsent(FetchResult.toLookupKey(entry), entry));
+        rootQuery.put(plan.getEndpoint(), query);
+
+        return fetchWaveAsync(rootQuery, fetched).thenCompose(wave -> {
+            List<T> roots = new ArrayList<>();
+            for (Identifiable root : wave.getOrDefault(plan.getEndpoint(), List.of())) {
+                roots.add(plan.getType().cast(root));
+            }
+
+            if (tree.children.isEmpty() || roots.isEmpty()) return CompletableFuture.completedFuture(new FetchResult<>(roots, fetched, 1));
+
+            return expandAsync(List.of(new Level(tree, List.copyOf(roots))), fetched, 1)
+                    .thenApply(numWaves -> new FetchResult<>(roots, fetched, numWaves));
+        });
+    }
+
+    /**
+     * Fetches what the children of every node at this level refer to in one wave, then moves on to the next level
+     * @return The number of waves sent in total
+     */
+    private @NotNull CompletableFuture<Integer> expandAsync(@NotNull List<Level> levels, @NotNull Map<Endpoint, Map<String, Identifiable>> fetched, int numWaves) {
+        Map<Endpoint, Map<String, String>> needed = new EnumMap<>(Endpoint.class);
+        for (Level level : levels) {
+            level.node.children.forEach((relation, child) -> {
+                Map<String, Identifiable> known = fetched.getOrDefault(relation.getTarget(), Map.of());
+
+                for (Identifiable source : level.sources) {
+                    for (Identifier identifier : relation.getIdentifiers(source)) {
+                        String key = FetchResult.toLookupKey(identifier.getUUIDOrNameAsString());
+                        if (!known.containsKey(key)) needed.computeIfAbsent(relation.getTarget(), e -> new LinkedHashMap<>()).putIfAbsent(key, identifier.getUUIDOrNameAsString());
+                    }
+                }
+            });
+        }
+
+        CompletableFuture<?> wave = needed.isEmpty() ? CompletableFuture.completedFuture(null) : fetchWaveAsync(needed, fetched);
+        int total = needed.isEmpty() ? numWaves : numWaves + 1;
+
+        return wave.thenCompose(v -> {
+            List<Level> next = new ArrayList<>();
+            for (Level level : levels) {
+                level.node.children.forEach((relation, child) -> {
+                    if (child.children.isEmpty()) return;
+
+                    Map<String, Identifiable> known = fetched.getOrDefault(relation.getTarget(), Map.of());
+                    Set<Identifiable> targets = new LinkedHashSet<>();
+                    for (Identifiable source : level.sources) {
+                        for (Identifier identifier : relation.getIdentifiers(source)) {
+                            Identifiable target = known.get(FetchResult.toLookupKey(identifier.getUUIDOrNameAsString()));
+                            if (target != null) targets.add(target);
+                        }
+                    }
+
+                    if (!targets.isEmpty()) next.add(new Level(child, List.copyOf(targets)));
+                });
+            }
+
+            if (next.isEmpty()) return CompletableFuture.completedFuture(total);
+
+            return expandAsync(next, fetched, total);
+        });
+    }
+
+    /**
+     * Requests each endpoint's query concurrently and records every entity returned under its UUID and lower case name
+     * @param queries The query of each endpoint, keyed by lookup key so it holds no duplicates
+     * @return The entities each endpoint returned
+     */
+    private @NotNull CompletableFuture<Map<Endpoint, List<? extends Identifiable>>> fetchWaveAsync(@NotNull Map<Endpoint, Map<String, String>> queries, @NotNull Map<Endpoint, Map<String, Identifiable>> fetched) {
+        Map<Endpoint, CompletableFuture<? extends List<? extends Identifiable>>> requests = new EnumMap<>(Endpoint.class);
+        queries.forEach((endpoint, query) -> {
+            if (!query.isEmpty()) requests.put(endpoint, requestAsync(endpoint, new ArrayList<>(query.values())));
+        });
+
+        return CompletableFuture.allOf(requests.values().toArray(new CompletableFuture<?>[0])).thenApply(v -> {
+            Map<Endpoint, List<? extends Identifiable>> wave = new EnumMap<>(Endpoint.class);
+            requests.forEach((endpoint, request) -> {
+                List<? extends Identifiable> entities = request.join();
+                wave.put(endpoint, entities);
+
+                Map<String, Identifiable> known = fetched.computeIfAbsent(endpoint, e -> new HashMap<>());
+                for (Identifiable entity : entities) {
+                    known.put(entity.getUUID().toString(), entity);
+                    if (entity.getName() != null) known.put(FetchResult.toLookupKey(entity.getName()), entity);
+                }
+            });
+
+            return wave;
+        });
+    }
+
+    private @NotNull CompletableFuture<? extends List<? extends Identifiable>> requestAsync(@NotNull Endpoint endpoint, @NotNull List<String> query) {
+        return switch (endpoint) {
+            case PLAYERS -> client.getPlayersByStringsAsync(server, query);
+            case TOWNS -> client.getTownsByStringsAsync(server, query);
+            case NATIONS -> client.getNationsByStringsAsync(server, query);
+            case QUARTERS -> client.getQuartersByStringsAsync(server, query);
+            default -> throw new IllegalArgumentException(endpoint + " does not hold entities");
+        };
+    }
+
+    private static class Node {
+
+        private final Map<Relation<?, ?>, Node> children = new LinkedHashMap<>();
+    }
+
+    private record Level(@NotNull Node node, @NotNull List<Identifiable> sources) {}
+}
@@ -0,0 +1,91 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The entities fetched by a {@link FetchPlan}, linked together so each relation that was expanded can be followed without another request
+ * @param <T> The entities the plan started from
+ */
+public class FetchResult<T extends Identifiable> {
+
+    private final List<T> roots;
+    private final Map<Endpoint, Map<String, Identifiable>> fetched;
+    private final int numWaves;
+
+    FetchResult(@NotNull List<T> roots, @NotNull Map<Endpoint, Map<String, Identifiable>> fetched, int numWaves) {
+        this.roots = roots;
+        this.fetched = fetched;
+        this.numWaves = numWaves;
+    }
+
+    /**
+     * @return The entities the plan started from that were found, in the order they were returned
+     */
+    public @NotNull List<T> getRoots() {
+        return roots;
+    }
+
+    /**
+     * @return The root with the name or UUID, or null if it was not found
+     */
+    public @Nullable T getRoot(@NotNull String nameOrUUID) {
+        String key = toLookupKey(nameOrUUID);
+        for (T root : roots) {
+            if (root.getUUID().toString().equals(key) || (root.getName() != null && root.getName().toLowerCase(Locale.ROOT).equals(key))) return root;
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The entities the source refers to through the relation, in the order the source lists them. Only entities fetched by the plan are included,
+     *         so this is empty for a relation that was not expanded from the source
+     */
+    @SuppressWarnings("unchecked")
+    public <S extends Identifiable, R extends Identifiable> @NotNull List<R> getAll(@NotNull S source, @NotNull Relation<S, R> relation) {
+        Map<String, Identifiable> entities = fetched.getOrDefault(relation.getTarget(), Map.of());
+
+        List<R> related = new ArrayList<>();
+        for (Identifier identifier : relation.getIdentifiers(source)) {
+            Identifiable entity = entities.get(toLookupKey(identifier.getUUIDOrNameAsString()));
+            if (entity != null) related.add((R) entity);
+        }
+
+        return related;
+    }
+
+    /**
+     * @return The entity the source refers to through a relation to at most one entity such as {@link Relation#TOWN_MAYOR}, or null if it refers to none or it was not fetched
+     */
+    public <S extends Identifiable, R extends Identifiable> @Nullable R get(@NotNull S source, @NotNull Relation<S, R> relation) {
+        List<R> related = getAll(source, relation);
+        return related.isEmpty() ? null : related.get(0);
+    }
+
+    /**
+     * @return How many entities were fetched from the endpoint, including the roots
+     */
+    public int getNumFetched(@NotNull Endpoint endpoint) {
+        return (int) fetched.getOrDefault(endpoint, Map.of()).values().stream().distinct().count();
+    }
+
+    /**
+     * @return How many rounds of concurrent batched requests the plan took, one for the roots plus one per level of expansion
+     */
+    public int getNumWaves() {
+        return numWaves;
+    }
+
+    static @NotNull String toLookupKey(@NotNull String nameOrUUID) {
+        return nameOrUUID.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,32 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A chain of {@link Relation}s leading from one kind of entity to another, such as a nation's towns' mayors
+ * <p>
+ * Build one by chaining relations, for example {@code Relation.NATION_TOWNS.then(Relation.TOWN_MAYOR)}
+ * @param <S> The entity the path starts from
+ * @param <R> The entity the path leads to
+ */
+public interface Path<S extends Identifiable, R extends Identifiable> {
+
+    /**
+     * @return The relations followed in order, never empty
+     */
+    @NotNull List<Relation<?, ?>> getRelations();
+
+    /**
+     * @return A path that follows this one and then the relation
+     */
+    default <X extends Identifiable> @NotNull Path<S, X> then(@NotNull Relation<R, X> relation) {
+        List<Relation<?, ?>> relations = new ArrayList<>(getRelations());
+        relations.add(relation);
+
+        return new ChainedPath<>(List.copyOf(relations));
+    }
+}
@@ -0,0 +1,95 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One hop from an entity to the entities it refers to by identifier, such as from a town to its mayor, to be expanded by a {@link FetchPlan}
+ * @param <S> The entity holding the identifiers
+ * @param <R> The entity the identifiers refer to
+ */
+public final class Relation<S extends Identifiable, R extends Identifiable> implements Path<S, R> {
+
+    public static final Relation<Player, Town> PLAYER_TOWN = one("PLAYER_TOWN", Player.class, Endpoint.TOWNS, Player::getTown);
+    public static final Relation<Player, Nation> PLAYER_NATION = one("PLAYER_NATION", Player.class, Endpoint.NATIONS, Player::getNation);
+    public static final Relation<Player, Player> PLAYER_FRIENDS = many("PLAYER_FRIENDS", Player.class, Endpoint.PLAYERS, Player::getFriends);
+
+    public static final Relation<Town, Player> TOWN_MAYOR = one("TOWN_MAYOR", Town.class, Endpoint.PLAYERS, Town::getMayor);
+    public static final Relation<Town, Nation> TOWN_NATION = one("TOWN_NATION", Town.class, Endpoint.NATIONS, Town::getNation);
+    public static final Relation<Town, Player> TOWN_RESIDENTS = many("TOWN_RESIDENTS", Town.class, Endpoint.PLAYERS, Town::getResidents);
+    public static final Relation<Town, Player> TOWN_TRUSTED = many("TOWN_TRUSTED", Town.class, Endpoint.PLAYERS, Town::getTrusted);
+    public static final Relation<Town, Player> TOWN_OUTLAWS = many("TOWN_OUTLAWS", Town.class, Endpoint.PLAYERS, Town::getOutlaws);
+    public static final Relation<Town, Quarter> TOWN_QUARTERS = many("TOWN_QUARTERS", Town.class, Endpoint.QUARTERS, Town::getQuarters);
+
+    public static final Relation<Nation, Player> NATION_KING = one("NATION_KING", Nation.class, Endpoint.PLAYERS, Nation::getKing);
+    public static final Relation<Nation, Town> NATION_CAPITAL = one("NATION_CAPITAL", Nation.class, Endpoint.TOWNS, Nation::getCapital);
+    public static final Relation<Nation, Town> NATION_TOWNS = many("NATION_TOWNS", Nation.class, Endpoint.TOWNS, Nation::getTowns);
+    public static final Relation<Nation, Player> NATION_RESIDENTS = many("NATION_RESIDENTS", Nation.class, Endpoint.PLAYERS, Nation::getResidents);
+    public static final Relation<Nation, Nation> NATION_ALLIES = many("NATION_ALLIES", Nation.class, Endpoint.NATIONS, Nation::getAllies);
+    public static final Relation<Nation, Nation> NATION_ENEMIES = many("NATION_ENEMIES", Nation.class, Endpoint.NATIONS, Nation::getEnemies);
+    public static final Relation<Nation, Town> NATION_SANCTIONED = many("NATION_SANCTIONED", Nation.class, Endpoint.TOWNS, Nation::getSanctioned);
+
+    public static final Relation<Quarter, Player> QUARTER_OWNER = one("QUARTER_OWNER", Quarter.class, Endpoint.PLAYERS, Quarter::getOwner);
+    public static final Relation<Quarter, Town> QUARTER_TOWN = one("QUARTER_TOWN", Quarter.class, Endpoint.TOWNS, Quarter::getTown);
+    public static final Relation<Quarter, Player> QUARTER_TRUSTED = many("QUARTER_TRUSTED", Quarter.class, Endpoint.PLAYERS, Quarter::getTrusted);
+
+    private final String name;
+    private final Class<S> sourceType;
+    private final Endpoint target;
+    private final Function<S, List<? extends Identifier>> identifiers;
+
+    private Relation(@NotNull String name, @NotNull Class<S> sourceType, @NotNull Endpoint target, @NotNull Function<S, List<? extends Identifier>> identifiers) {
+        this.name = name;
+        this.sourceType = sourceType;
+        this.target = target;
+        this.identifiers = identifiers;
+    }
+
+    /**
+     * A relation to at most one entity. An identifier with neither a UUID nor a name, such as the king of a nation without one, counts as no relation
+     */
+    private static <S extends Identifiable, R extends Identifiable> Relation<S, R> one(String name, Class<S> sourceType, Endpoint target, Function<S, ? extends Identifier> identifier) {
+        return new Relation<>(name, sourceType, target, source -> {
+            Identifier related = identifier.apply(source);
+            return related == null || related.getUUIDOrNameAsString() == null ? List.of() : List.of(related);
+        });
+    }
+
+    private static <S extends Identifiable, R extends Identifiable> Relation<S, R> many(String name, Class<S> sourceType, Endpoint target, Function<S, List<? extends Identifier>> identifiers) {
+        return new Relation<>(name, sourceType, target, identifiers);
+    }
+
+    /**
+     * @return The endpoint the related entities are fetched from
+     */
+    public @NotNull Endpoint getTarget() {
+        return target;
+    }
+
+    @Override
+    public @NotNull List<Relation<?, ?>> getRelations() {
+        return List.of(this);
+    }
+
+    /**
+     * @return The identifiers of the entities the source refers to through this relation, empty if it refers to none
+     */
+    @NotNull List<? extends Identifier> getIdentifiers(@NotNull Identifiable source) {
+        List<? extends Identifier> related = identifiers.apply(sourceType.cast(source));
+        return related == null ? List.of() : related;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
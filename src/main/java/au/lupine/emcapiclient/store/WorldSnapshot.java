@@ -0,0 +1,436 @@
+package au.lupine.emcapiclient.store;
+
+import au.lupine.emcapiclient.object.apiobject.APIObject;
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import au.lupine.emcapiclient.object.identifier.QuarterIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.state.JsonRetention;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A full-world snapshot of players, towns, nations and quarters read from a memory-mapped file, so it opens in milliseconds however large it is
+ * <p>
+ * The file is columnar: for each endpoint a sorted column of UUIDs, columns locating each record and its name, then the records themselves as deflated JSON.
+ * Looking up an entity is a binary search over the UUID columns followed by inflating and parsing only that entity, and listing identifiers reads only the name column.
+ * Write one with {@link Writer}
+ */
+public class WorldSnapshot {
+
+    private static final int MAGIC = 0x454D4353;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int SECTION_SIZE = 24;
+    /** Bytes per entity across the fixed-width columns: UUID halves, record offset, record length, raw length, name offset and name length */
+    private static final int COLUMNS_WIDTH = 8 + 8 + 8 + 4 + 4 + 4 + 4;
+
+    private final ByteBuffer buffer;
+    private final long createdAt;
+    private final Map<Endpoint, Section> sections = new EnumMap<>(Endpoint.class);
+    private final JsonRetention retention;
+
+    private WorldSnapshot(ByteBuffer buffer, JsonRetention retention) throws IOException {
+        this.buffer = buffer;
+        this.retention = retention;
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) throw new IOException("Not a world snapshot");
+        if (buffer.getInt(4) != VERSION) throw new IOException("Unsupported world snapshot version " + buffer.getInt(4));
+
+        this.createdAt = buffer.getLong(8);
+
+        int numSections = buffer.getInt(16);
+        for (int i = 0; i < numSections; i++) {
+            int position = HEADER_SIZE + i * SECTION_SIZE;
+            Endpoint endpoint = Endpoint.values()[buffer.getInt(position)];
+
+            sections.put(endpoint, new Section(buffer.getInt(position + 4), (int) buffer.getLong(position + 8), (int) buffer.getLong(position + 16)));
+        }
+    }
+
+    public static @NotNull WorldSnapshot open(@NotNull Path path) throws IOException {
+        return open(path, JsonRetention.FULL);
+    }
+
+    /**
+     * Map a snapshot file into memory, nothing is decoded until an entity is asked for
+     * @param retention What entities decoded from the snapshot keep of their JSON
+     */
+    public static @NotNull WorldSnapshot open(@NotNull Path path, @NotNull JsonRetention retention) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("World snapshot is larger than 2 GiB");
+
+            return new WorldSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), retention);
+        }
+    }
+
+    /**
+     * @return When the snapshot was written, in milliseconds since the epoch
+     */
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * @return The number of entities of the endpoint in the snapshot, 0 if it has none
+     */
+    public int size(@NotNull Endpoint endpoint) {
+        Section section = sections.get(endpoint);
+        return section == null ? 0 : section.count;
+    }
+
+    public @Nullable Player getPlayer(@NotNull UUID uuid) {
+        return get(Endpoint.PLAYERS, uuid, Player::new);
+    }
+
+    public @Nullable Town getTown(@NotNull UUID uuid) {
+        return get(Endpoint.TOWNS, uuid, Town::new);
+    }
+
+    public @Nullable Nation getNation(@NotNull UUID uuid) {
+        return get(Endpoint.NATIONS, uuid, Nation::new);
+    }
+
+    public @Nullable Quarter getQuarter(@NotNull UUID uuid) {
+        return get(Endpoint.QUARTERS, uuid, Quarter::new);
+    }
+
+    /**
+     * Decodes every player, prefer {@link #getPlayer(UUID)} or {@link #getPlayerIdentifiers()} when only some are needed
+     */
+    public @NotNull List<Player> getAllPlayers() {
+        return getAll(Endpoint.PLAYERS, Player::new);
+    }
+
+    public @NotNull List<Town> getAllTowns() {
+        return getAll(Endpoint.TOWNS, Town::new);
+    }
+
+    public @NotNull List<Nation> getAllNations() {
+        return getAll(Endpoint.NATIONS, Nation::new);
+    }
+
+    public @NotNull List<Quarter> getAllQuarters() {
+        return getAll(Endpoint.QUARTERS, Quarter::new);
+    }
+
+    /**
+     * @return The name and UUID of every player, read from the name and UUID columns without decoding any player
+     */
+    public @NotNull List<PlayerIdentifier> getPlayerIdentifiers() {
+        return getIdentifiers(Endpoint.PLAYERS, PlayerIdentifier::new);
+    }
+
+    public @NotNull List<TownIdentifier> getTownIdentifiers() {
+        return getIdentifiers(Endpoint.TOWNS, TownIdentifier::new);
+    }
+
+    public @NotNull List<NationIdentifier> getNationIdentifiers() {
+        return getIdentifiers(Endpoint.NATIONS, NationIdentifier::new);
+    }
+
+    public @NotNull List<QuarterIdentifier> getQuarterIdentifiers() {
+        return getIdentifiers(Endpoint.QUARTERS, QuarterIdentifier::new);
+    }
+
+    private <T> @Nullable T get(Endpoint endpoint, UUID uuid, BiFunction<JsonObject, JsonRetention, T> factory) {
+        Section section = sections.get(endpoint);
+        if (section == null) return null;
+
+        int index = section.indexOf(uuid);
+        return index < 0 ? null : factory.apply(section.decode(index), retention);
+    }
+
+    private <T> @NotNull List<T> getAll(Endpoint endpoint, BiFunction<JsonObject, JsonRetention, T> factory) {
+        Section section = sections.get(endpoint);
+        if (section == null) return new ArrayList<>();
+
+        List<T> entities = new ArrayList<>(section.count);
+        for (int i = 0; i < section.count; i++) {
+            entities.add(factory.apply(section.decode(i), retention));
+        }
+
+        return entities;
+    }
+
+    private <T extends Identifier> @NotNull List<T> getIdentifiers(Endpoint endpoint, BiFunction<String, UUID, T> factory) {
+        Section section = sections.get(endpoint);
+        if (section == null) return new ArrayList<>();
+
+        List<T> identifiers = new ArrayList<>(section.count);
+        for (int i = 0; i < section.count; i++) {
+            identifiers.add(factory.apply(section.name(i), section.uuid(i)));
+        }
+
+        return identifiers;
+    }
+
+    /**
+     * Locates one endpoint's columns, every read is absolute so the shared buffer is safe to read from multiple threads
+     */
+    private class Section {
+
+        private final int count;
+        private final int msb, lsb, recordOffset, recordLength, rawLength, nameOffset, nameLength, names;
+        private final int data;
+
+        private Section(int count, int columns, int data) {
+            this.count = count;
+            this.msb = columns;
+            this.lsb = msb + count * 8;
+            this.recordOffset = lsb + count * 8;
+            this.recordLength = recordOffset + count * 8;
+            this.rawLength = recordLength + count * 4;
+            this.nameOffset = rawLength + count * 4;
+            this.nameLength = nameOffset + count * 4;
+            this.names = nameLength + count * 4;
+            this.data = data;
+        }
+
+        private int indexOf(UUID uuid) {
+            long targetMsb = uuid.getMostSignificantBits(), targetLsb = uuid.getLeastSignificantBits();
+
+            int low = 0, high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+
+                int comparison = Long.compare(buffer.getLong(msb + mid * 8), targetMsb);
+                if (comparison == 0) comparison = Long.compare(buffer.getLong(lsb + mid * 8), targetLsb);
+
+                if (comparison < 0) {
+                    low = mid + 1;
+                } else if (comparison > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+
+            return -1;
+        }
+
+        private UUID uuid(int index) {
+            return new UUID(buffer.getLong(msb + index * 8), buffer.getLong(lsb + index * 8));
+        }
+
+        private String name(int index) {
+            byte[] bytes = new byte[buffer.getInt(nameLength + index * 4)];
+            buffer.get(names + buffer.getInt(nameOffset + index * 4), bytes);
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private JsonObject decode(int index) {
+            byte[] compressed = new byte[buffer.getInt(recordLength + index * 4)];
+            buffer.get(data + (int) buffer.getLong(recordOffset + index * 8), compressed);
+
+            byte[] raw = new byte[buffer.getInt(rawLength + index * 4)];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(compressed);
+                if (inflater.inflate(raw) != raw.length) throw new IllegalStateException("Truncated world snapshot record");
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Corrupt world snapshot record", e);
+            } finally {
+                inflater.end();
+            }
+
+            return JsonParser.parseString(new String(raw, StandardCharsets.UTF_8)).getAsJsonObject();
+        }
+    }
+
+    /**
+     * Collects entities and writes them as a {@link WorldSnapshot} file, entities must have kept their JSON, so none can be {@link JsonRetention#NONE}
+     */
+    public static class Writer {
+
+        private final Map<Endpoint, List<Record>> sections = new EnumMap<>(Endpoint.class);
+
+        public @NotNull Writer addPlayers(@NotNull Collection<Player> players) {
+            return add(Endpoint.PLAYERS, players);
+        }
+
+        public @NotNull Writer addTowns(@NotNull Collection<Town> towns) {
+            return add(Endpoint.TOWNS, towns);
+        }
+
+        public @NotNull Writer addNations(@NotNull Collection<Nation> nations) {
+            return add(Endpoint.NATIONS, nations);
+        }
+
+        public @NotNull Writer addQuarters(@NotNull Collection<Quarter> quarters) {
+            return add(Endpoint.QUARTERS, quarters);
+        }
+
+        private <T extends APIObject & Identifiable> Writer add(Endpoint endpoint, Collection<T> entities) {
+            List<Record> records = sections.computeIfAbsent(endpoint, key -> new ArrayList<>());
+
+            for (T entity : entities) {
+                JsonObject jsonObject = entity.getJsonObject();
+                if (jsonObject == null) throw new IllegalArgumentException("Cannot write " + entity.getName() + " as it did not retain its JSON");
+
+                records.add(new Record(entity.getUUID(), entity.getName().getBytes(StandardCharsets.UTF_8), jsonObject.toString().getBytes(StandardCharsets.UTF_8)));
+            }
+
+            return this;
+        }
+
+        /**
+         * Write the snapshot to a temporary file beside the path and then move it into place, so a reader never sees a partly written snapshot
+         */
+        public void write(@NotNull Path path) throws IOException {
+            List<List<byte[]>> compressed = new ArrayList<>();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                for (List<Record> records : sections.values()) {
+                    records.sort(Comparator.comparing(Record::uuid));
+
+                    List<byte[]> deflated = new ArrayList<>(records.size());
+                    for (Record record : records) {
+                        deflated.add(deflate(deflater, record.json));
+                    }
+
+                    compressed.add(deflated);
+                }
+            } finally {
+                deflater.end();
+            }
+
+            // Lay the sections out one after another, each as its columns, its names and then its records
+            List<long[]> layout = new ArrayList<>();
+            long position = HEADER_SIZE + (long) sections.size() * SECTION_SIZE;
+            int index = 0;
+            for (List<Record> records : sections.values()) {
+                long columns = position;
+                long data = columns + (long) records.size() * COLUMNS_WIDTH + namesSize(records);
+
+                layout.add(new long[]{columns, data});
+                position = data + recordsSize(compressed.get(index++));
+            }
+
+            if (position > Integer.MAX_VALUE) throw new IOException("World snapshot would be larger than 2 GiB");
+
+            Path absolute = path.toAbsolutePath();
+            Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(sections.size());
+                out.writeInt(0);
+
+                index = 0;
+                for (Map.Entry<Endpoint, List<Record>> section : sections.entrySet()) {
+                    long[] offsets = layout.get(index++);
+
+                    out.writeInt(section.getKey().ordinal());
+                    out.writeInt(section.getValue().size());
+                    out.writeLong(offsets[0]);
+                    out.writeLong(offsets[1]);
+                }
+
+                index = 0;
+                for (List<Record> records : sections.values()) {
+                    writeSection(out, records, compressed.get(index++));
+                }
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporary);
+                throw e;
+            }
+
+            try {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        private static void writeSection(DataOutputStream out, List<Record> records, List<byte[]> compressed) throws IOException {
+            for (Record record : records) out.writeLong(record.uuid.getMostSignificantBits());
+            for (Record record : records) out.writeLong(record.uuid.getLeastSignificantBits());
+
+            long offset = 0;
+            for (byte[] record : compressed) {
+                out.writeLong(offset);
+                offset += record.length;
+            }
+
+            for (byte[] record : compressed) out.writeInt(record.length);
+            for (Record record : records) out.writeInt(record.json.length);
+
+            int nameOffset = 0;
+            for (Record record : records) {
+                out.writeInt(nameOffset);
+                nameOffset += record.name.length;
+            }
+
+            for (Record record : records) out.writeInt(record.name.length);
+            for (Record record : records) out.write(record.name);
+            for (byte[] record : compressed) out.write(record);
+        }
+
+        private static long namesSize(List<Record> records) {
+            long size = 0;
+            for (Record record : records) size += record.name.length;
+
+            return size;
+        }
+
+        private static long recordsSize(List<byte[]> compressed) {
+            long size = 0;
+            for (byte[] record : compressed) size += record.length;
+
+            return size;
+        }
+
+        private static byte[] deflate(Deflater deflater, byte[] raw) {
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+
+            byte[] buffer = new byte[Math.max(64, raw.length / 2)];
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+
+            return Arrays.copyOf(buffer, length);
+        }
+
+        private record Record(UUID uuid, byte[] name, byte[] json) {}
+    }
+}
@@ -0,0 +1,291 @@
+package au.lupine.emcapiclient.stub;
+
+import au.lupine.emcapiclient.object.state.Endpoint;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An embeddable fake of the EarthMC API serving a {@link StubWorld} on the loopback interface, for testing throughput and failure handling offline
+ * <p>
+ * Every server name is answered with the same world, using the real API's contract: GET /{server} for server info,
+ * GET /{server}/{endpoint} for identifiers and POST /{server}/{endpoint} with a query of at most 100 elements, unknown elements are left out of the response.
+ * Latency, 429 and 5xx responses can be injected, see {@link #setLatency(Duration, Duration)}, {@link #setThrottleProbability(double)} and {@link #setErrorProbability(double)}
+ */
+public class StubServer implements AutoCloseable {
+
+    private static final int MAX_QUERY_SIZE = 100;
+
+    private final StubWorld world;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile long minLatencyNanos, maxLatencyNanos;
+    private volatile double throttleProbability, errorProbability;
+    private volatile Duration retryAfter = Duration.ofSeconds(1);
+
+    public StubServer(@NotNull StubWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Start serving on a free port of the loopback interface
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) throw new IllegalStateException("Stub server is already running");
+
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "EMCAPIClient-stub-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    /**
+     * @return The URI to pass to {@link au.lupine.emcapiclient.EMCAPIClient#EMCAPIClient(URI)}
+     */
+    public synchronized @NotNull URI getURI() {
+        if (server == null) throw new IllegalStateException("Stub server is not running");
+
+        InetSocketAddress address = server.getAddress();
+        return URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/");
+    }
+
+    public @NotNull StubWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Delay every response by a uniformly random time between the minimum and maximum, both zero by default
+     */
+    public void setLatency(@NotNull Duration min, @NotNull Duration max) {
+        if (min.isNegative() || max.compareTo(min) < 0) throw new IllegalArgumentException("Latency must satisfy 0 <= min <= max");
+
+        this.minLatencyNanos = min.toNanos();
+        this.maxLatencyNanos = max.toNanos();
+    }
+
+    /**
+     * @param probability The chance of answering a request with 429 Too Many Requests, 0 by default
+     */
+    public void setThrottleProbability(double probability) {
+        checkProbability(probability);
+        this.throttleProbability = probability;
+    }
+
+    /**
+     * @param retryAfter The Retry-After sent with every 429, rounded up to whole seconds, or null to send none
+     */
+    public void setRetryAfter(@Nullable Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @param probability The chance of answering a request with a 500, 502 or 503, 0 by default
+     */
+    public void setErrorProbability(double probability) {
+        checkProbability(probability);
+        this.errorProbability = probability;
+    }
+
+    /**
+     * @return The number of requests received, including those answered with an injected failure
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.increment();
+            delay();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < throttleProbability) {
+                throttled.increment();
+
+                Duration wait = retryAfter;
+                if (wait != null) exchange.getResponseHeaders().set("Retry-After", Long.toString((wait.toMillis() + 999) / 1000));
+
+                sendError(exchange, 429, "Too many requests");
+                return;
+            }
+
+            if (random.nextDouble() < errorProbability) {
+                errors.increment();
+
+                int[] statusCodes = {500, 502, 503};
+                sendError(exchange, statusCodes[random.nextInt(statusCodes.length)], "Injected failure");
+                return;
+            }
+
+            respond(exchange);
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String[] segments = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/+");
+        String method = exchange.getRequestMethod();
+
+        if (segments.length == 1 && !segments[0].isEmpty()) {
+            if (!method.equals("GET")) {
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            send(exchange, 200, world.getServerInfo());
+            return;
+        }
+
+        Endpoint endpoint = segments.length == 2 ? getEndpoint(segments[1]) : null;
+        if (endpoint == null) {
+            sendError(exchange, 404, "Not found");
+            return;
+        }
+
+        if (method.equals("GET")) {
+            if (endpoint == Endpoint.LOCATION || endpoint == Endpoint.DISCORD) {
+                sendError(exchange, 405, "Method not allowed");
+                return;
+            }
+
+            send(exchange, 200, world.getIdentifiers(endpoint));
+            return;
+        }
+
+        if (!method.equals("POST")) {
+            sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        JsonArray query;
+        try (InputStreamReader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonElement body = JsonParser.parseReader(reader);
+            query = body.isJsonObject() && body.getAsJsonObject().has("query") ? body.getAsJsonObject().get("query").getAsJsonArray() : null;
+        } catch (JsonParseException | IllegalStateException e) {
+            query = null;
+        }
+
+        if (query == null) {
+            sendError(exchange, 400, "Request body must be an object with a query array");
+            return;
+        }
+
+        if (query.size() > MAX_QUERY_SIZE) {
+            sendError(exchange, 400, "Query must not have more than " + MAX_QUERY_SIZE + " elements");
+            return;
+        }
+
+        JsonArray response = new JsonArray();
+        for (JsonElement element : query) {
+            JsonObject result = resolve(endpoint, element);
+            if (result != null) response.add(result);
+        }
+
+        send(exchange, 200, response);
+    }
+
+    private @Nullable JsonObject resolve(Endpoint endpoint, JsonElement element) {
+        try {
+            return switch (endpoint) {
+                case LOCATION -> world.getLocationInfo(element.getAsJsonArray().get(0).getAsDouble(), element.getAsJsonArray().get(1).getAsDouble());
+                case DISCORD -> world.getDiscord(element.getAsJsonObject().get("type").getAsString(), element.getAsJsonObject().get("target").getAsString());
+                default -> world.lookup(endpoint, element.getAsString());
+            };
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void delay() {
+        long min = minLatencyNanos, max = maxLatencyNanos;
+        if (max == 0) return;
+
+        long nanos = min == max ? min : ThreadLocalRandom.current().nextLong(min, max + 1);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static @Nullable Endpoint getEndpoint(String name) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (endpoint.getName().equals(name.toLowerCase(Locale.ROOT))) return endpoint;
+        }
+
+        return null;
+    }
+
+    private static void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+
+        send(exchange, statusCode, error);
+    }
+
+    private static void send(HttpExchange exchange, int statusCode, JsonElement body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void checkProbability(double probability) {
+        if (!(probability >= 0 && probability <= 1)) throw new IllegalArgumentException("Probability must be between 0 and 1");
+    }
+}
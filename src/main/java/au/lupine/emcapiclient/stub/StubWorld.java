@@ -0,0 +1,609 @@
+package au.lupine.emcapiclient.stub;
+
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.util.ChunkUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * A synthetic, internally consistent set of players, towns, nations and quarters for {@link StubServer} to serve
+ * <p>
+ * Every reference resolves: residents live in the towns that list them, towns belong to the nations that list them and quarters sit inside their town's claims.
+ * Generation is seeded, so the same seed and scale always produce the same world
+ */
+public class StubWorld {
+
+    private static final String[] TOWN_RANKS = {"Councillor", "Builder", "Recruiter", "Police", "Tax-exempt", "Treasurer", "Realtor", "Settler"};
+    private static final String[] NATION_RANKS = {"Chancellor", "Colonist", "Diplomat"};
+    private static final int TOWN_SPACING = 40;
+    private static final int TOWNS_PER_ROW = 100;
+
+    private final Map<Endpoint, Map<String, JsonObject>> entities = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<String, String>> uuidByName = new EnumMap<>(Endpoint.class);
+    private final Map<Long, JsonObject> townByChunk = new HashMap<>();
+    private final Map<String, String> uuidByDiscord = new HashMap<>();
+    private final Map<String, String> discordByUUID = new HashMap<>();
+    private final Random random;
+    private final long createdAt = 1_700_000_000_000L;
+
+    private StubWorld(long seed) {
+        this.random = new Random(seed);
+
+        for (Endpoint endpoint : List.of(Endpoint.PLAYERS, Endpoint.TOWNS, Endpoint.NATIONS, Endpoint.QUARTERS)) {
+            entities.put(endpoint, new LinkedHashMap<>());
+            uuidByName.put(endpoint, new HashMap<>());
+        }
+    }
+
+    /**
+     * @param seed The seed every random choice is derived from
+     * @param numTowns The number of towns, players, nations and quarters scale with it, Aurora has roughly 2000
+     */
+    public static @NotNull StubWorld generate(long seed, int numTowns) {
+        if (numTowns < 1) throw new IllegalArgumentException("A world needs at least one town");
+
+        StubWorld world = new StubWorld(seed);
+        world.populate(numTowns);
+
+        return world;
+    }
+
+    /**
+     * @return The name and UUID of every entity of the endpoint, as a GET request to it returns
+     */
+    public @NotNull JsonArray getIdentifiers(@NotNull Endpoint endpoint) {
+        JsonArray identifiers = new JsonArray();
+        getEntities(endpoint).values().forEach(entity -> identifiers.add(identifier(entity)));
+
+        return identifiers;
+    }
+
+    /**
+     * @param key A name (case-insensitive) or UUID string
+     * @return The entity's full JSON, or null if the world has no such entity
+     */
+    public @Nullable JsonObject lookup(@NotNull Endpoint endpoint, @NotNull String key) {
+        Map<String, JsonObject> byUUID = getEntities(endpoint);
+
+        JsonObject entity = byUUID.get(key.toLowerCase(Locale.ROOT));
+        if (entity != null) return entity;
+
+        String uuid = uuidByName.get(endpoint).get(key.toLowerCase(Locale.ROOT));
+        return uuid == null ? null : byUUID.get(uuid);
+    }
+
+    /**
+     * @return What the location endpoint returns for the block coordinates, wilderness if no town has claimed the chunk
+     */
+    public @NotNull JsonObject getLocationInfo(double x, double z) {
+        JsonObject town = townByChunk.get(ChunkUtil.pack(ChunkUtil.toChunk(x), ChunkUtil.toChunk(z)));
+
+        JsonObject location = new JsonObject();
+        location.addProperty("x", x);
+        location.addProperty("z", z);
+
+        JsonObject info = new JsonObject();
+        info.add("location", location);
+        info.addProperty("isWilderness", town == null);
+        info.add("town", town == null ? identifier(null, null) : identifier(town));
+        info.add("nation", town == null ? identifier(null, null) : town.getAsJsonObject("nation").deepCopy());
+
+        return info;
+    }
+
+    /**
+     * @param type minecraft to look up by UUID, discord to look up by Discord ID
+     * @return The linked pair, or null if the target is not linked
+     */
+    public @Nullable JsonObject getDiscord(@NotNull String type, @NotNull String target) {
+        String id, uuid;
+        if (type.equalsIgnoreCase("minecraft")) {
+            uuid = target.toLowerCase(Locale.ROOT);
+            id = discordByUUID.get(uuid);
+        } else {
+            id = target;
+            uuid = uuidByDiscord.get(target);
+        }
+
+        if (id == null || uuid == null) return null;
+
+        JsonObject discord = new JsonObject();
+        discord.addProperty("id", id);
+        discord.addProperty("uuid", uuid);
+
+        return discord;
+    }
+
+    public @NotNull JsonObject getServerInfo() {
+        int numResidents = 0, numTownBlocks = 0, numCuboids = 0;
+        for (JsonObject player : getEntities(Endpoint.PLAYERS).values()) {
+            if (player.getAsJsonObject("status").get("hasTown").getAsBoolean()) numResidents++;
+        }
+        for (JsonObject town : getEntities(Endpoint.TOWNS).values()) {
+            numTownBlocks += town.getAsJsonObject("stats").get("numTownBlocks").getAsInt();
+        }
+        for (JsonObject quarter : getEntities(Endpoint.QUARTERS).values()) {
+            numCuboids += quarter.getAsJsonObject("stats").get("numCuboids").getAsInt();
+        }
+
+        int numPlayers = getSize(Endpoint.PLAYERS);
+
+        JsonObject info = new JsonObject();
+        info.addProperty("version", "1.21.1");
+        info.addProperty("moonPhase", "FULL_MOON");
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("newDayTime", 0);
+        timestamps.addProperty("serverTimeOfDay", 6000);
+        info.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("hasStorm", false);
+        status.addProperty("isThundering", false);
+        info.add("status", status);
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("time", 6000);
+        stats.addProperty("fullTime", 1_000_000);
+        stats.addProperty("maxPlayers", 500);
+        stats.addProperty("numOnlinePlayers", 0);
+        stats.addProperty("numOnlineNomads", 0);
+        stats.addProperty("numResidents", numResidents);
+        stats.addProperty("numNomads", numPlayers - numResidents);
+        stats.addProperty("numTowns", getSize(Endpoint.TOWNS));
+        stats.addProperty("numTownBlocks", numTownBlocks);
+        stats.addProperty("numNations", getSize(Endpoint.NATIONS));
+        stats.addProperty("numQuarters", getSize(Endpoint.QUARTERS));
+        stats.addProperty("numCuboids", numCuboids);
+        info.add("stats", stats);
+
+        JsonObject voteParty = new JsonObject();
+        voteParty.addProperty("target", 5000);
+        voteParty.addProperty("numRemaining", 2500);
+        info.add("voteParty", voteParty);
+
+        return info;
+    }
+
+    public int getSize(@NotNull Endpoint endpoint) {
+        return getEntities(endpoint).size();
+    }
+
+    private Map<String, JsonObject> getEntities(Endpoint endpoint) {
+        Map<String, JsonObject> byUUID = entities.get(endpoint);
+        if (byUUID == null) throw new IllegalArgumentException(endpoint + " does not hold entities");
+
+        return byUUID;
+    }
+
+    private void populate(int numTowns) {
+        List<JsonObject> nations = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, numTowns / 7); i++) {
+            nations.add(createNation(i));
+        }
+
+        for (int i = 0; i < numTowns; i++) {
+            // Three in four towns are in a nation, and the first town of a nation becomes its capital
+            JsonObject nation = random.nextInt(4) == 0 ? null : nations.get(random.nextInt(nations.size()));
+            createTown(i, nation);
+        }
+
+        // Nomads, players without a town
+        for (int i = 0; i < numTowns * 2; i++) {
+            createPlayer(null, null);
+        }
+
+        List<JsonObject> players = new ArrayList<>(getEntities(Endpoint.PLAYERS).values());
+        for (JsonObject player : players) {
+            JsonArray friends = player.getAsJsonArray("friends");
+            for (int i = random.nextInt(6); i > 0; i--) {
+                friends.add(identifier(players.get(random.nextInt(players.size()))));
+            }
+            player.getAsJsonObject("stats").addProperty("numFriends", friends.size());
+
+            if (random.nextBoolean()) {
+                String id = Long.toString(100_000_000_000_000_000L + (random.nextLong() & Long.MAX_VALUE) % 900_000_000_000_000_000L);
+                String uuid = player.get("uuid").getAsString();
+
+                uuidByDiscord.put(id, uuid);
+                discordByUUID.put(uuid, id);
+            }
+        }
+
+        for (JsonObject nation : nations) {
+            finishNation(nation, nations);
+        }
+    }
+
+    private JsonObject createNation(int index) {
+        JsonObject nation = new JsonObject();
+        nation.addProperty("name", "Nation" + index);
+        nation.addProperty("uuid", randomUUID());
+        nation.addProperty("board", "Welcome to Nation" + index);
+        nation.addProperty("dynmapColour", String.format("%06X", random.nextInt(0x1000000)));
+        nation.addProperty("dynmapOutline", String.format("%06X", random.nextInt(0x1000000)));
+        nation.add("wiki", JsonNull.INSTANCE);
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", createdAt - random.nextInt(1_000_000_000));
+        nation.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isPublic", random.nextBoolean());
+        status.addProperty("isOpen", random.nextBoolean());
+        status.addProperty("isNeutral", random.nextInt(5) == 0);
+        nation.add("status", status);
+
+        nation.add("residents", new JsonArray());
+        nation.add("towns", new JsonArray());
+
+        return nation;
+    }
+
+    private void createTown(int index, @Nullable JsonObject nation) {
+        int chunkX = (index % TOWNS_PER_ROW) * TOWN_SPACING - TOWNS_PER_ROW * TOWN_SPACING / 2;
+        int chunkZ = (index / TOWNS_PER_ROW) * TOWN_SPACING;
+
+        JsonObject town = new JsonObject();
+        town.addProperty("name", "Town" + index);
+        town.addProperty("uuid", randomUUID());
+        town.addProperty("board", random.nextBoolean() ? "Welcome to Town" + index : null);
+        town.add("wiki", JsonNull.INSTANCE);
+        town.add("nation", nation == null ? identifier(null, null) : identifier(nation));
+
+        // Resident counts have a long tail like the live server, most towns are small and a few are very large
+        int numResidents = 1 + (int) Math.min(200, Math.abs(random.nextGaussian()) * 15);
+
+        JsonArray residents = new JsonArray();
+        JsonObject ranks = new JsonObject();
+        for (String rank : TOWN_RANKS) {
+            ranks.add(rank, new JsonArray());
+        }
+
+        for (int i = 0; i < numResidents; i++) {
+            JsonObject player = createPlayer(town, nation);
+            residents.add(identifier(player));
+
+            if (i > 0 && random.nextInt(8) == 0) {
+                String rank = TOWN_RANKS[random.nextInt(TOWN_RANKS.length)];
+                ranks.getAsJsonArray(rank).add(identifier(player));
+                player.getAsJsonObject("ranks").getAsJsonArray("townRanks").add(rank);
+            }
+        }
+
+        JsonObject mayor = lookup(Endpoint.PLAYERS, residents.get(0).getAsJsonObject().get("uuid").getAsString());
+        mayor.getAsJsonObject("status").addProperty("isMayor", true);
+
+        boolean isCapital = false;
+        if (nation != null) {
+            JsonArray nationTowns = nation.getAsJsonArray("towns");
+            isCapital = nationTowns.isEmpty();
+
+            nationTowns.add(identifier(town));
+            nation.getAsJsonArray("residents").addAll(residents.deepCopy());
+
+            if (isCapital) {
+                nation.add("capital", identifier(town));
+                nation.add("king", identifier(mayor));
+                nation.add("coordinates", new JsonObject());
+                mayor.getAsJsonObject("status").addProperty("isKing", true);
+            }
+        }
+
+        town.addProperty("founder", mayor.get("name").getAsString());
+        town.add("mayor", identifier(mayor));
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", createdAt - random.nextInt(1_000_000_000));
+        timestamps.addProperty("joinedNationAt", nation == null ? null : createdAt - random.nextInt(100_000_000));
+        timestamps.add("ruinedAt", JsonNull.INSTANCE);
+        town.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isPublic", random.nextBoolean());
+        status.addProperty("isOpen", random.nextBoolean());
+        status.addProperty("isNeutral", random.nextInt(5) == 0);
+        status.addProperty("isCapital", isCapital);
+        status.addProperty("isOverClaimed", false);
+        status.addProperty("isRuined", false);
+        status.addProperty("isForSale", false);
+        status.addProperty("hasNation", nation != null);
+        status.addProperty("hasOverclaimShield", false);
+        status.addProperty("canOutsidersSpawn", random.nextBoolean());
+        town.add("status", status);
+
+        int side = Math.min(TOWN_SPACING - 2, (int) Math.ceil(Math.sqrt(numResidents * 8 + random.nextInt(32))));
+        int numTownBlocks = side * side;
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("numTownBlocks", numTownBlocks);
+        stats.addProperty("maxTownBlocks", numTownBlocks + 64);
+        stats.addProperty("bonusBlocks", 0);
+        stats.addProperty("numResidents", numResidents);
+        stats.addProperty("numTrusted", 0);
+        stats.addProperty("numOutlaws", 0);
+        stats.addProperty("balance", random.nextInt(100_000));
+        stats.add("forSalePrice", JsonNull.INSTANCE);
+        town.add("stats", stats);
+
+        town.add("perms", createPerms());
+
+        JsonArray townBlocks = new JsonArray();
+        for (int dx = 0; dx < side; dx++) {
+            for (int dz = 0; dz < side; dz++) {
+                townBlocks.add(pair(chunkX + dx, chunkZ + dz));
+                townByChunk.put(ChunkUtil.pack(chunkX + dx, chunkZ + dz), town);
+            }
+        }
+
+        JsonObject coordinates = new JsonObject();
+        coordinates.add("spawn", spawn(chunkX * 16 + 8.5, chunkZ * 16 + 8.5));
+        coordinates.add("homeBlock", pair(chunkX, chunkZ));
+        coordinates.add("townBlocks", townBlocks);
+        town.add("coordinates", coordinates);
+
+        if (nation != null && isCapital) nation.getAsJsonObject("coordinates").add("spawn", spawn(chunkX * 16 + 8.5, chunkZ * 16 + 8.5));
+
+        town.add("residents", residents);
+        town.add("trusted", new JsonArray());
+        town.add("outlaws", new JsonArray());
+        town.add("ranks", ranks);
+
+        JsonArray quarters = new JsonArray();
+        for (int i = random.nextInt(4); i > 0; i--) {
+            quarters.add(identifier(createQuarter(town, residents, chunkX, chunkZ, side)));
+        }
+        town.add("quarters", quarters);
+
+        put(Endpoint.TOWNS, town);
+    }
+
+    private JsonObject createPlayer(@Nullable JsonObject town, @Nullable JsonObject nation) {
+        int index = getSize(Endpoint.PLAYERS);
+
+        JsonObject player = new JsonObject();
+        player.addProperty("name", "Player" + index);
+        player.addProperty("uuid", randomUUID());
+        player.add("title", JsonNull.INSTANCE);
+        player.add("surname", JsonNull.INSTANCE);
+        player.addProperty("formattedName", "Player" + index);
+        player.add("about", JsonNull.INSTANCE);
+        player.add("town", town == null ? identifier(null, null) : identifier(town));
+        player.add("nation", nation == null ? identifier(null, null) : identifier(nation));
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", createdAt - random.nextInt(1_000_000_000));
+        timestamps.addProperty("joinedTownAt", town == null ? null : createdAt - random.nextInt(100_000_000));
+        timestamps.addProperty("lastOnline", createdAt + random.nextInt(100_000_000));
+        player.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isOnline", false);
+        status.addProperty("isNPC", false);
+        status.addProperty("isMayor", false);
+        status.addProperty("isKing", false);
+        status.addProperty("hasTown", town != null);
+        status.addProperty("hasNation", nation != null);
+        player.add("status", status);
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("balance", random.nextInt(10_000));
+        stats.addProperty("numFriends", 0);
+        player.add("stats", stats);
+
+        player.add("perms", createPerms());
+
+        JsonObject ranks = new JsonObject();
+        ranks.add("townRanks", new JsonArray());
+        ranks.add("nationRanks", new JsonArray());
+        player.add("ranks", ranks);
+
+        player.add("friends", new JsonArray());
+
+        put(Endpoint.PLAYERS, player);
+        return player;
+    }
+
+    private JsonObject createQuarter(JsonObject town, JsonArray residents, int chunkX, int chunkZ, int side) {
+        int index = getSize(Endpoint.QUARTERS);
+
+        JsonElement owner = random.nextBoolean() ? residents.get(random.nextInt(residents.size())).deepCopy() : identifier(null, null);
+
+        JsonObject quarter = new JsonObject();
+        quarter.addProperty("name", "Quarter" + index);
+        quarter.addProperty("uuid", randomUUID());
+        quarter.addProperty("type", random.nextBoolean() ? "APARTMENT" : "SHOP");
+        quarter.add("owner", owner);
+        quarter.add("town", identifier(town));
+
+        JsonObject timestamps = new JsonObject();
+        timestamps.addProperty("registered", createdAt - random.nextInt(1_000_000_000));
+        timestamps.addProperty("claimedAt", owner.getAsJsonObject().get("uuid").isJsonNull() ? null : createdAt - random.nextInt(100_000_000));
+        quarter.add("timestamps", timestamps);
+
+        JsonObject status = new JsonObject();
+        status.addProperty("isEmbassy", random.nextInt(10) == 0);
+        quarter.add("status", status);
+
+        JsonArray cuboids = new JsonArray();
+        int volume = 0;
+        for (int i = 1 + random.nextInt(8); i > 0; i--) {
+            int x = (chunkX + random.nextInt(side)) * 16 + random.nextInt(8);
+            int z = (chunkZ + random.nextInt(side)) * 16 + random.nextInt(8);
+            int y = 60 + random.nextInt(40);
+            int width = 1 + random.nextInt(8), height = 1 + random.nextInt(8), depth = 1 + random.nextInt(8);
+
+            JsonObject cuboid = new JsonObject();
+            cuboid.add("pos1", position(x, y, z));
+            cuboid.add("pos2", position(x + width - 1, y + height - 1, z + depth - 1));
+            cuboids.add(cuboid);
+
+            volume += width * height * depth;
+        }
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("price", random.nextBoolean() ? null : random.nextInt(1000));
+        stats.addProperty("volume", volume);
+        stats.addProperty("numCuboids", cuboids.size());
+        quarter.add("stats", stats);
+
+        JsonArray colour = new JsonArray();
+        for (int i = 0; i < 3; i++) {
+            colour.add(random.nextInt(256));
+        }
+        quarter.add("colour", colour);
+
+        JsonArray trusted = new JsonArray();
+        if (random.nextInt(4) == 0) trusted.add(residents.get(random.nextInt(residents.size())).deepCopy());
+        quarter.add("trusted", trusted);
+        quarter.add("cuboids", cuboids);
+
+        put(Endpoint.QUARTERS, quarter);
+        return quarter;
+    }
+
+    private void finishNation(JsonObject nation, List<JsonObject> nations) {
+        JsonArray towns = nation.getAsJsonArray("towns");
+        JsonArray residents = nation.getAsJsonArray("residents");
+
+        // A nation that no town joined still needs a capital and king to be parsed, so it gets an empty one of each like a ruined nation
+        if (towns.isEmpty()) {
+            nation.add("capital", identifier(null, null));
+            nation.add("king", identifier(null, null));
+
+            JsonObject coordinates = new JsonObject();
+            coordinates.add("spawn", spawn(null, null));
+            nation.add("coordinates", coordinates);
+        }
+
+        JsonArray allies = new JsonArray();
+        JsonArray enemies = new JsonArray();
+        for (int i = random.nextInt(5); i > 0; i--) {
+            JsonObject other = nations.get(random.nextInt(nations.size()));
+            if (other != nation) (random.nextInt(4) == 0 ? enemies : allies).add(identifier(other));
+        }
+
+        JsonObject ranks = new JsonObject();
+        for (String rank : NATION_RANKS) {
+            ranks.add(rank, new JsonArray());
+        }
+
+        for (JsonElement resident : residents) {
+            if (random.nextInt(20) != 0) continue;
+
+            String rank = NATION_RANKS[random.nextInt(NATION_RANKS.length)];
+            ranks.getAsJsonArray(rank).add(resident.deepCopy());
+
+            JsonObject player = lookup(Endpoint.PLAYERS, resident.getAsJsonObject().get("uuid").getAsString());
+            if (player != null) player.getAsJsonObject("ranks").getAsJsonArray("nationRanks").add(rank);
+        }
+
+        int numTownBlocks = 0;
+        for (JsonElement town : towns) {
+            JsonObject townObject = lookup(Endpoint.TOWNS, town.getAsJsonObject().get("uuid").getAsString());
+            if (townObject != null) numTownBlocks += townObject.getAsJsonObject("stats").get("numTownBlocks").getAsInt();
+        }
+
+        JsonObject stats = new JsonObject();
+        stats.addProperty("numTownBlocks", numTownBlocks);
+        stats.addProperty("numResidents", residents.size());
+        stats.addProperty("numTowns", towns.size());
+        stats.addProperty("numAllies", allies.size());
+        stats.addProperty("numEnemies", enemies.size());
+        stats.addProperty("balance", random.nextInt(100_000));
+        nation.add("stats", stats);
+
+        nation.add("allies", allies);
+        nation.add("enemies", enemies);
+        nation.add("sanctioned", new JsonArray());
+        nation.add("ranks", ranks);
+
+        put(Endpoint.NATIONS, nation);
+    }
+
+    private JsonObject createPerms() {
+        JsonObject perms = new JsonObject();
+        for (String action : new String[]{"build", "destroy", "switch", "itemUse"}) {
+            JsonArray values = new JsonArray();
+            for (int i = 0; i < 4; i++) {
+                values.add(random.nextBoolean());
+            }
+
+            perms.add(action, values);
+        }
+
+        JsonObject flags = new JsonObject();
+        for (String flag : new String[]{"pvp", "explosion", "fire", "mobs"}) {
+            flags.addProperty(flag, random.nextInt(4) == 0);
+        }
+        perms.add("flags", flags);
+
+        return perms;
+    }
+
+    private void put(Endpoint endpoint, JsonObject entity) {
+        String uuid = entity.get("uuid").getAsString();
+
+        entities.get(endpoint).put(uuid, entity);
+        uuidByName.get(endpoint).put(entity.get("name").getAsString().toLowerCase(Locale.ROOT), uuid);
+    }
+
+    private String randomUUID() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    private static JsonObject identifier(JsonObject entity) {
+        return identifier(entity.get("name").getAsString(), entity.get("uuid").getAsString());
+    }
+
+    private static JsonObject identifier(@Nullable String name, @Nullable String uuid) {
+        JsonObject identifier = new JsonObject();
+        identifier.addProperty("name", name);
+        identifier.addProperty("uuid", uuid);
+
+        return identifier;
+    }
+
+    private static JsonObject spawn(@Nullable Double x, @Nullable Double z) {
+        JsonObject spawn = new JsonObject();
+        spawn.addProperty("world", x == null ? null : "world");
+        spawn.addProperty("x", x == null ? 0 : x);
+        spawn.addProperty("y", 64.0);
+        spawn.addProperty("z", z == null ? 0 : z);
+        spawn.addProperty("pitch", 0.0);
+        spawn.addProperty("yaw", 0.0);
+
+        return spawn;
+    }
+
+    private static JsonArray pair(int x, int z) {
+        JsonArray pair = new JsonArray();
+        pair.add(x);
+        pair.add(z);
+
+        return pair;
+    }
+
+    private static JsonArray position(int x, int y, int z) {
+        JsonArray position = new JsonArray();
+        position.add(x);
+        position.add(y);
+        position.add(z);
+
+        return position;
+    }
+}
@@ -0,0 +1,156 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A change found between two versions of an entity, see {@link Snapshot#diff(Snapshot)} and {@link SyncListener#onChanged(ChangeEvent)}
+ * <p>
+ * Every event carries the entity as it is after the change, or as it last was for a deletion, plus whatever it replaced.
+ * Match the events you care about with instanceof patterns, or with an exhaustive switch on Java 21 and later as the hierarchy is sealed
+ */
+public sealed interface ChangeEvent {
+
+    /**
+     * @return The entity the event is about
+     */
+    @NotNull Identifiable getSubject();
+
+    sealed interface TownEvent extends ChangeEvent {
+
+        @NotNull Town town();
+
+        @Override
+        default @NotNull Identifiable getSubject() {
+            return town();
+        }
+    }
+
+    sealed interface NationEvent extends ChangeEvent {
+
+        @NotNull Nation nation();
+
+        @Override
+        default @NotNull Identifiable getSubject() {
+            return nation();
+        }
+    }
+
+    sealed interface PlayerEvent extends ChangeEvent {
+
+        @NotNull Player player();
+
+        @Override
+        default @NotNull Identifiable getSubject() {
+            return player();
+        }
+    }
+
+    sealed interface QuarterEvent extends ChangeEvent {
+
+        @NotNull Quarter quarter();
+
+        @Override
+        default @NotNull Identifiable getSubject() {
+            return quarter();
+        }
+    }
+
+    record TownCreated(@NotNull Town town) implements TownEvent {}
+
+    record TownDeleted(@NotNull Town town) implements TownEvent {}
+
+    record TownRenamed(@NotNull Town town, @NotNull String previousName) implements TownEvent {}
+
+    record TownRuined(@NotNull Town town) implements TownEvent {}
+
+    record TownMayorChanged(@NotNull Town town, @Nullable PlayerIdentifier previousMayor) implements TownEvent {}
+
+    /**
+     * A town joined, left or moved between nations, either nation is null if the town had or has none
+     */
+    record TownNationChanged(@NotNull Town town, @Nullable NationIdentifier previousNation) implements TownEvent {}
+
+    record ResidentJoined(@NotNull Town town, @NotNull PlayerIdentifier resident) implements TownEvent {}
+
+    record ResidentLeft(@NotNull Town town, @NotNull PlayerIdentifier resident) implements TownEvent {}
+
+    /**
+     * The town's town blocks changed, {@link #getChange()} is zero if as many were unclaimed as were claimed
+     */
+    record TownClaimsChanged(@NotNull Town town, int previousNumTownBlocks) implements TownEvent {
+
+        public int getChange() {
+            return town.getNumTownBlocks() - previousNumTownBlocks;
+        }
+    }
+
+    record TownBalanceChanged(@NotNull Town town, int previousBalance) implements TownEvent {
+
+        public int getChange() {
+            return town.getBalance() - previousBalance;
+        }
+    }
+
+    record NationCreated(@NotNull Nation nation) implements NationEvent {}
+
+    record NationDeleted(@NotNull Nation nation) implements NationEvent {}
+
+    record NationRenamed(@NotNull Nation nation, @NotNull String previousName) implements NationEvent {}
+
+    record NationKingChanged(@NotNull Nation nation, @NotNull PlayerIdentifier previousKing) implements NationEvent {}
+
+    record NationCapitalChanged(@NotNull Nation nation, @NotNull TownIdentifier previousCapital) implements NationEvent {}
+
+    record NationAllianceAdded(@NotNull Nation nation, @NotNull NationIdentifier ally) implements NationEvent {}
+
+    record NationAllianceRemoved(@NotNull Nation nation, @NotNull NationIdentifier ally) implements NationEvent {}
+
+    record NationEnemyAdded(@NotNull Nation nation, @NotNull NationIdentifier enemy) implements NationEvent {}
+
+    record NationEnemyRemoved(@NotNull Nation nation, @NotNull NationIdentifier enemy) implements NationEvent {}
+
+    record NationBalanceChanged(@NotNull Nation nation, int previousBalance) implements NationEvent {
+
+        public int getChange() {
+            return nation.getBalance() - previousBalance;
+        }
+    }
+
+    record PlayerCreated(@NotNull Player player) implements PlayerEvent {}
+
+    record PlayerDeleted(@NotNull Player player) implements PlayerEvent {}
+
+    record PlayerRenamed(@NotNull Player player, @NotNull String previousName) implements PlayerEvent {}
+
+    /**
+     * A player joined, left or moved between towns, either town is null if the player had or has none
+     */
+    record PlayerTownChanged(@NotNull Player player, @Nullable TownIdentifier previousTown) implements PlayerEvent {}
+
+    record PlayerBalanceChanged(@NotNull Player player, int previousBalance) implements PlayerEvent {
+
+        public int getChange() {
+            return player.getBalance() - previousBalance;
+        }
+    }
+
+    record QuarterCreated(@NotNull Quarter quarter) implements QuarterEvent {}
+
+    record QuarterDeleted(@NotNull Quarter quarter) implements QuarterEvent {}
+
+    /**
+     * A quarter was claimed, given up or sold, either owner is null if the quarter had or has none
+     */
+    record QuarterOwnerChanged(@NotNull Quarter quarter, @Nullable PlayerIdentifier previousOwner) implements QuarterEvent {}
+
+    record QuarterPriceChanged(@NotNull Quarter quarter, @Nullable Integer previousPrice) implements QuarterEvent {}
+}
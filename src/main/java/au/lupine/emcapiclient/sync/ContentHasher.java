@@ -0,0 +1,91 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Folds the fields an {@link EntityDiffer} compares into one 64-bit hash, so an entity whose hash is unchanged can be skipped without comparing any field
+ */
+class ContentHasher {
+
+    private long hash = 0x9E3779B97F4A7C15L;
+
+    ContentHasher put(long value) {
+        hash = mix(hash ^ value) + 0x9E3779B97F4A7C15L;
+        return this;
+    }
+
+    ContentHasher put(boolean value) {
+        return put(value ? 1 : 0);
+    }
+
+    /**
+     * Folds in every char of the string, four to a long, after its length so that null and the empty string differ
+     */
+    ContentHasher put(@Nullable String value) {
+        if (value == null) return put(-1L);
+
+        int length = value.length();
+        put(length);
+
+        for (int i = 0; i < length; i += 4) {
+            long packed = 0;
+            for (int j = i, end = Math.min(length, i + 4); j < end; j++) {
+                packed = packed << 16 | value.charAt(j);
+            }
+
+            put(packed);
+        }
+
+        return this;
+    }
+
+    ContentHasher put(long @Nullable [] values) {
+        if (values == null) return put(-1L);
+
+        put(values.length);
+        for (long value : values) {
+            put(value);
+        }
+
+        return this;
+    }
+
+    ContentHasher put(@Nullable UUID value) {
+        return value == null ? put(0L) : put(value.getMostSignificantBits()).put(value.getLeastSignificantBits());
+    }
+
+    ContentHasher put(@Nullable Identifier identifier) {
+        return put(identifier == null ? null : identifier.getUUID());
+    }
+
+    /**
+     * Hashes the identifiers regardless of their order, as the diff compares them as sets
+     */
+    ContentHasher putUnordered(Collection<? extends Identifier> identifiers) {
+        long sum = 0;
+        for (Identifier identifier : identifiers) {
+            UUID uuid = identifier.getUUID();
+            sum += mix(uuid.getMostSignificantBits() ^ mix(uuid.getLeastSignificantBits()));
+        }
+
+        return put(sum).put(identifiers.size());
+    }
+
+    long get() {
+        return hash;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+}
@@ -0,0 +1,41 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+class DiffUtil {
+
+    /**
+     * @return True if both identifiers are null or refer to the same UUID, a rename alone is not a change of reference
+     */
+    static boolean isSame(@Nullable Identifier previous, @Nullable Identifier current) {
+        if (previous == null || current == null) return previous == current;
+
+        return Objects.equals(previous.getUUID(), current.getUUID());
+    }
+
+    /**
+     * Compare two lists of identifiers as sets of UUIDs, handing over every identifier only in the current list and then every one only in the previous list
+     */
+    static <T extends Identifier> void diffSets(List<T> previous, List<T> current, Consumer<T> added, Consumer<T> removed) {
+        Set<UUID> previousUUIDs = new HashSet<>();
+        previous.forEach(identifier -> previousUUIDs.add(identifier.getUUID()));
+
+        Set<UUID> currentUUIDs = new HashSet<>();
+        for (T identifier : current) {
+            currentUUIDs.add(identifier.getUUID());
+            if (!previousUUIDs.contains(identifier.getUUID())) added.accept(identifier);
+        }
+
+        for (T identifier : previous) {
+            if (!currentUUIDs.contains(identifier.getUUID())) removed.accept(identifier);
+        }
+    }
+}
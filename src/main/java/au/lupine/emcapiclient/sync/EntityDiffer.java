@@ -0,0 +1,33 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Compares two versions of one kind of entity field by field and describes the differences as {@link ChangeEvent}s
+ * <p>
+ * {@link #hash(Object)} covers exactly the fields {@link #diff(Object, Object, Consumer)} compares, so two versions with the same hash produce no events and need not be compared
+ */
+public interface EntityDiffer<T> {
+
+    EntityDiffer<Town> TOWNS = new TownDiffer();
+    EntityDiffer<Nation> NATIONS = new NationDiffer();
+    EntityDiffer<Player> PLAYERS = new PlayerDiffer();
+    EntityDiffer<Quarter> QUARTERS = new QuarterDiffer();
+
+    long hash(@NotNull T entity);
+
+    /**
+     * Hand an event to the consumer for every difference between the versions, which share a UUID
+     */
+    void diff(@NotNull T previous, @NotNull T current, @NotNull Consumer<ChangeEvent> events);
+
+    @NotNull ChangeEvent created(@NotNull T entity);
+
+    @NotNull ChangeEvent deleted(@NotNull T entity);
+}
@@ -0,0 +1,242 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.manager.BatchResult;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.wrapper.Server;
+import com.google.gson.JsonElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A local copy of every entity of one endpoint, kept current by a {@link WorldSync}
+ * <p>
+ * Each cycle compares the endpoint's identifier list with the mirror, then fetches in full only the new entities and a rolling slice of the existing ones,
+ * so every entity is fetched again at least once every so many cycles while the bandwidth of a cycle stays proportional to the churn
+ */
+public class EntityMirror<T extends Identifiable> {
+
+    private final Endpoint endpoint;
+    private final Function<Server, CompletableFuture<? extends List<? extends Identifier>>> identifierFetcher;
+    private final BiFunction<Server, List<String>, CompletableFuture<BatchResult<T>>> entityFetcher;
+    private final EntityDiffer<T> differ;
+    private final Map<UUID, T> entities = new ConcurrentHashMap<>();
+    private final List<SyncListener<T>> listeners = new CopyOnWriteArrayList<>();
+    /** The order existing entities are refreshed in, only touched by the one cycle that is running */
+    private final Deque<UUID> refreshQueue = new ArrayDeque<>();
+    /** The content hash of every entity held, only touched by the one cycle that is running */
+    private final Map<UUID, Long> contentHashes = new HashMap<>();
+    private volatile boolean enabled = true;
+
+    EntityMirror(@NotNull Endpoint endpoint, @NotNull Function<Server, CompletableFuture<? extends List<? extends Identifier>>> identifierFetcher, @NotNull BiFunction<Server, List<String>, CompletableFuture<BatchResult<T>>> entityFetcher, @NotNull EntityDiffer<T> differ) {
+        this.endpoint = endpoint;
+        this.identifierFetcher = identifierFetcher;
+        this.entityFetcher = entityFetcher;
+        this.differ = differ;
+    }
+
+    public @NotNull Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public @Nullable T get(@NotNull UUID uuid) {
+        return entities.get(uuid);
+    }
+
+    /**
+     * @return A live, unmodifiable view of every entity the mirror holds
+     */
+    public @NotNull Collection<T> getAll() {
+        return Collections.unmodifiableCollection(entities.values());
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * A disabled mirror is skipped by every cycle and keeps what it holds, every mirror is enabled by default
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void addListener(@NotNull SyncListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull SyncListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return An immutable copy of what the mirror holds now, to diff against a later one with {@link Snapshot#diff(Snapshot)}
+     */
+    public @NotNull Snapshot<T> snapshot() {
+        return Snapshot.of(entities.values(), differ);
+    }
+
+    /**
+     * Replace what the mirror holds without notifying listeners, for starting from a saved snapshot instead of fetching everything
+     */
+    void restore(@NotNull Collection<T> restored) {
+        entities.clear();
+        contentHashes.clear();
+        refreshQueue.clear();
+
+        for (T entity : restored) {
+            entities.put(entity.getUUID(), entity);
+            contentHashes.put(entity.getUUID(), differ.hash(entity));
+            refreshQueue.add(entity.getUUID());
+        }
+    }
+
+    /**
+     * @param refreshFraction The share of the existing entities to fetch again alongside the new ones
+     */
+    @NotNull CompletableFuture<SyncReport.Counts> syncAsync(@NotNull Server server, double refreshFraction) {
+        return identifierFetcher.apply(server).thenCompose(identifiers -> {
+            Set<UUID> current = new HashSet<>();
+            for (Identifier identifier : identifiers) {
+                current.add(identifier.getUUID());
+            }
+
+            List<UUID> added = new ArrayList<>();
+            for (UUID uuid : current) {
+                if (!entities.containsKey(uuid)) added.add(uuid);
+            }
+
+            List<UUID> removed = new ArrayList<>();
+            for (UUID uuid : entities.keySet()) {
+                if (!current.contains(uuid)) removed.add(uuid);
+            }
+
+            List<UUID> refreshed = pollRefreshSlice(current, (int) Math.ceil((entities.size() - removed.size()) * refreshFraction));
+
+            List<String> query = new ArrayList<>(added.size() + refreshed.size());
+            added.forEach(uuid -> query.add(uuid.toString()));
+            refreshed.forEach(uuid -> query.add(uuid.toString()));
+
+            CompletableFuture<BatchResult<T>> fetched = query.isEmpty()
+                    ? CompletableFuture.completedFuture(new BatchResult<>(List.of(), List.of()))
+                    : entityFetcher.apply(server, query);
+
+            return fetched.thenApply(result -> apply(result, removed, refreshed, query.size()));
+        });
+    }
+
+    private List<UUID> pollRefreshSlice(Set<UUID> current, int sliceSize) {
+        List<UUID> slice = new ArrayList<>(sliceSize);
+
+        while (slice.size() < sliceSize && !refreshQueue.isEmpty()) {
+            UUID uuid = refreshQueue.poll();
+            if (current.contains(uuid) && entities.containsKey(uuid)) slice.add(uuid);
+        }
+
+        return slice;
+    }
+
+    /**
+     * Updates the mirror with a cycle's results before notifying any listener, so a throwing listener fails the cycle but cannot leave the mirror half updated
+     */
+    private SyncReport.Counts apply(BatchResult<T> result, List<UUID> removed, List<UUID> refreshed, int numRequested) {
+        List<Runnable> events = new ArrayList<>();
+        int numAdded = 0, numRefreshed = 0, numChanged = 0, numRemoved = 0;
+
+        for (UUID uuid : removed) {
+            T previous = entities.remove(uuid);
+            if (previous == null) continue;
+
+            numRemoved++;
+            contentHashes.remove(uuid);
+            events.add(() -> notifyRemoved(previous));
+        }
+
+        Set<UUID> returned = new HashSet<>();
+        for (T entity : result.getResults()) {
+            UUID uuid = entity.getUUID();
+            returned.add(uuid);
+
+            T previous = entities.put(uuid, entity);
+            refreshQueue.add(uuid);
+
+            long hash = differ.hash(entity);
+            Long previousHash = contentHashes.put(uuid, hash);
+
+            if (previous == null) {
+                numAdded++;
+                events.add(() -> listeners.forEach(listener -> {
+                    listener.onAdded(entity);
+                    listener.onChanged(differ.created(entity));
+                }));
+            } else {
+                numRefreshed++;
+
+                boolean changed = previousHash == null || previousHash != hash;
+                if (changed) numChanged++;
+
+                events.add(() -> listeners.forEach(listener -> {
+                    listener.onRefreshed(previous, entity);
+                    if (changed) differ.diff(previous, entity, listener::onChanged);
+                }));
+            }
+        }
+
+        Set<UUID> failed = new HashSet<>();
+        for (JsonElement element : result.getFailedQuery()) {
+            failed.add(UUID.fromString(element.getAsString()));
+        }
+
+        // An existing entity that was asked for and neither returned nor lost to a failed batch no longer exists,
+        // one that was lost is refreshed first next cycle, and a new one that was lost is simply found to be new again
+        for (int i = refreshed.size() - 1; i >= 0; i--) {
+            UUID uuid = refreshed.get(i);
+            if (returned.contains(uuid)) continue;
+
+            if (failed.contains(uuid)) {
+                refreshQueue.addFirst(uuid);
+                continue;
+            }
+
+            T previous = entities.remove(uuid);
+            if (previous == null) continue;
+
+            numRemoved++;
+            contentHashes.remove(uuid);
+            events.add(() -> notifyRemoved(previous));
+        }
+
+        events.forEach(Runnable::run);
+
+        return new SyncReport.Counts(numAdded, numRemoved, numRefreshed, numChanged, numRequested, failed.size());
+    }
+
+    private void notifyRemoved(T previous) {
+        listeners.forEach(listener -> {
+            listener.onRemoved(previous);
+            listener.onChanged(differ.deleted(previous));
+        });
+    }
+}
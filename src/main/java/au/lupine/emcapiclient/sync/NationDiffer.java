@@ -0,0 +1,48 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+class NationDiffer implements EntityDiffer<Nation> {
+
+    @Override
+    public long hash(@NotNull Nation nation) {
+        return new ContentHasher()
+                .put(nation.getName())
+                .put(nation.getKing())
+                .put(nation.getCapital())
+                .putUnordered(nation.getAllies())
+                .putUnordered(nation.getEnemies())
+                .put(nation.getBalance())
+                .get();
+    }
+
+    @Override
+    public void diff(@NotNull Nation previous, @NotNull Nation current, @NotNull Consumer<ChangeEvent> events) {
+        if (!previous.getName().equals(current.getName())) events.accept(new ChangeEvent.NationRenamed(current, previous.getName()));
+        if (!DiffUtil.isSame(previous.getKing(), current.getKing())) events.accept(new ChangeEvent.NationKingChanged(current, previous.getKing()));
+        if (!DiffUtil.isSame(previous.getCapital(), current.getCapital())) events.accept(new ChangeEvent.NationCapitalChanged(current, previous.getCapital()));
+
+        DiffUtil.diffSets(previous.getAllies(), current.getAllies(),
+                added -> events.accept(new ChangeEvent.NationAllianceAdded(current, added)),
+                removed -> events.accept(new ChangeEvent.NationAllianceRemoved(current, removed)));
+
+        DiffUtil.diffSets(previous.getEnemies(), current.getEnemies(),
+                added -> events.accept(new ChangeEvent.NationEnemyAdded(current, added)),
+                removed -> events.accept(new ChangeEvent.NationEnemyRemoved(current, removed)));
+
+        if (previous.getBalance() != current.getBalance()) events.accept(new ChangeEvent.NationBalanceChanged(current, previous.getBalance()));
+    }
+
+    @Override
+    public @NotNull ChangeEvent created(@NotNull Nation nation) {
+        return new ChangeEvent.NationCreated(nation);
+    }
+
+    @Override
+    public @NotNull ChangeEvent deleted(@NotNull Nation nation) {
+        return new ChangeEvent.NationDeleted(nation);
+    }
+}
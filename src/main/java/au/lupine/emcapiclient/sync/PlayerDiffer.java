@@ -0,0 +1,35 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+class PlayerDiffer implements EntityDiffer<Player> {
+
+    @Override
+    public long hash(@NotNull Player player) {
+        return new ContentHasher()
+                .put(player.getName())
+                .put(player.getTown())
+                .put(player.getBalance())
+                .get();
+    }
+
+    @Override
+    public void diff(@NotNull Player previous, @NotNull Player current, @NotNull Consumer<ChangeEvent> events) {
+        if (!previous.getName().equals(current.getName())) events.accept(new ChangeEvent.PlayerRenamed(current, previous.getName()));
+        if (!DiffUtil.isSame(previous.getTown(), current.getTown())) events.accept(new ChangeEvent.PlayerTownChanged(current, previous.getTown()));
+        if (previous.getBalance() != current.getBalance()) events.accept(new ChangeEvent.PlayerBalanceChanged(current, previous.getBalance()));
+    }
+
+    @Override
+    public @NotNull ChangeEvent created(@NotNull Player player) {
+        return new ChangeEvent.PlayerCreated(player);
+    }
+
+    @Override
+    public @NotNull ChangeEvent deleted(@NotNull Player player) {
+        return new ChangeEvent.PlayerDeleted(player);
+    }
+}
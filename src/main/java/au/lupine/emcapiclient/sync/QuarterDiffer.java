@@ -0,0 +1,37 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+class QuarterDiffer implements EntityDiffer<Quarter> {
+
+    @Override
+    public long hash(@NotNull Quarter quarter) {
+        Integer price = quarter.getPrice();
+
+        return new ContentHasher()
+                .put(quarter.getOwner())
+                .put(price != null)
+                .put(price == null ? 0 : price)
+                .get();
+    }
+
+    @Override
+    public void diff(@NotNull Quarter previous, @NotNull Quarter current, @NotNull Consumer<ChangeEvent> events) {
+        if (!DiffUtil.isSame(previous.getOwner(), current.getOwner())) events.accept(new ChangeEvent.QuarterOwnerChanged(current, previous.getOwner()));
+        if (!Objects.equals(previous.getPrice(), current.getPrice())) events.accept(new ChangeEvent.QuarterPriceChanged(current, previous.getPrice()));
+    }
+
+    @Override
+    public @NotNull ChangeEvent created(@NotNull Quarter quarter) {
+        return new ChangeEvent.QuarterCreated(quarter);
+    }
+
+    @Override
+    public @NotNull ChangeEvent deleted(@NotNull Quarter quarter) {
+        return new ChangeEvent.QuarterDeleted(quarter);
+    }
+}
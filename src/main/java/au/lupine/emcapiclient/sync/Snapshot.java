@@ -0,0 +1,100 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * An immutable set of entities of one kind as they were at one time, keyed by UUID with each entity's content hash computed up front
+ * <p>
+ * Diffing two snapshots costs one hash comparison for every entity that did not change, only entities whose hash differs are compared field by field
+ */
+public class Snapshot<T extends Identifiable> {
+
+    private final EntityDiffer<T> differ;
+    private final Map<UUID, Entry<T>> entries;
+
+    private Snapshot(EntityDiffer<T> differ, Map<UUID, Entry<T>> entries) {
+        this.differ = differ;
+        this.entries = entries;
+    }
+
+    /**
+     * @param differ The differ for the entities' kind, such as {@link EntityDiffer#TOWNS}
+     */
+    public static <T extends Identifiable> @NotNull Snapshot<T> of(@NotNull Collection<T> entities, @NotNull EntityDiffer<T> differ) {
+        Map<UUID, Entry<T>> entries = new HashMap<>();
+        for (T entity : entities) {
+            entries.put(entity.getUUID(), new Entry<>(entity, differ.hash(entity)));
+        }
+
+        return new Snapshot<>(differ, entries);
+    }
+
+    public @Nullable T get(@NotNull UUID uuid) {
+        Entry<T> entry = entries.get(uuid);
+        return entry == null ? null : entry.entity;
+    }
+
+    /**
+     * @return The entity's content hash, or null if the snapshot does not hold it
+     */
+    public @Nullable Long getContentHash(@NotNull UUID uuid) {
+        Entry<T> entry = entries.get(uuid);
+        return entry == null ? null : entry.hash;
+    }
+
+    public @NotNull Collection<T> getEntities() {
+        List<T> entities = new ArrayList<>(entries.size());
+        entries.values().forEach(entry -> entities.add(entry.entity));
+
+        return Collections.unmodifiableList(entities);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Every change from this snapshot to the next one
+     */
+    public @NotNull List<ChangeEvent> diff(@NotNull Snapshot<T> next) {
+        List<ChangeEvent> events = new ArrayList<>();
+        diff(next, events::add);
+
+        return events;
+    }
+
+    /**
+     * Hand every change from this snapshot to the next one to the consumer: creations and changes in no particular order, then deletions
+     */
+    public void diff(@NotNull Snapshot<T> next, @NotNull Consumer<ChangeEvent> events) {
+        if (differ != next.differ) throw new IllegalArgumentException("Snapshots were hashed by different differs");
+
+        for (Map.Entry<UUID, Entry<T>> mapEntry : next.entries.entrySet()) {
+            Entry<T> current = mapEntry.getValue();
+            Entry<T> previous = entries.get(mapEntry.getKey());
+
+            if (previous == null) {
+                events.accept(differ.created(current.entity));
+            } else if (previous.hash != current.hash) {
+                differ.diff(previous.entity, current.entity, events);
+            }
+        }
+
+        for (Map.Entry<UUID, Entry<T>> mapEntry : entries.entrySet()) {
+            if (!next.entries.containsKey(mapEntry.getKey())) events.accept(differ.deleted(mapEntry.getValue().entity));
+        }
+    }
+
+    private record Entry<T>(T entity, long hash) {}
+}
@@ -0,0 +1,33 @@
+package au.lupine.emcapiclient.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Notified by an {@link EntityMirror} as entities appear, disappear or are fetched again, every method does nothing by default
+ * <p>
+ * Listeners are called on the thread that finished the sync cycle, after the mirror has been updated, and never concurrently for the same mirror
+ */
+public interface SyncListener<T> {
+
+    /**
+     * Called for an entity the mirror has not held before, including every entity on the first sync
+     */
+    default void onAdded(@NotNull T entity) {}
+
+    /**
+     * Called for an entity that is no longer in the API's identifier list, or that could no longer be looked up
+     * @param entity The last version of the entity the mirror held
+     */
+    default void onRemoved(@NotNull T entity) {}
+
+    /**
+     * Called for an entity the mirror already held after it has been fetched again, whether or not anything about it changed
+     */
+    default void onRefreshed(@NotNull T previous, @NotNull T current) {}
+
+    /**
+     * Called with a typed event for every change the mirror found: a creation or deletion alongside {@link #onAdded(Object)} and {@link #onRemoved(Object)},
+     * and each field difference of a refreshed entity whose content hash changed
+     */
+    default void onChanged(@NotNull ChangeEvent event) {}
+}
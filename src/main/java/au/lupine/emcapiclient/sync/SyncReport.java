@@ -0,0 +1,117 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.ServerInfo;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What one cycle of a {@link WorldSync} did to each mirror
+ */
+public class SyncReport {
+
+    private final ServerInfo serverInfo;
+    private final Map<Endpoint, Counts> counts;
+    private final long durationMillis;
+
+    SyncReport(@NotNull ServerInfo serverInfo, @NotNull EnumMap<Endpoint, Counts> counts, long durationMillis) {
+        this.serverInfo = serverInfo;
+        this.counts = Collections.unmodifiableMap(counts);
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @return The server info fetched during the cycle, whose counts the mirrors' sizes can be checked against
+     */
+    public @NotNull ServerInfo getServerInfo() {
+        return serverInfo;
+    }
+
+    /**
+     * @return The counts of a synced endpoint, or null if the endpoint's mirror is disabled
+     */
+    public @Nullable Counts getCounts(@NotNull Endpoint endpoint) {
+        return counts.get(endpoint);
+    }
+
+    public @NotNull Map<Endpoint, Counts> getCounts() {
+        return counts;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @return The number of entities fetched in full across every endpoint, which is what the cycle's bandwidth scales with
+     */
+    public int getNumFetched() {
+        int fetched = 0;
+        for (Counts endpointCounts : counts.values()) {
+            fetched += endpointCounts.getNumRequested();
+        }
+
+        return fetched;
+    }
+
+    @Override
+    public String toString() {
+        return "SyncReport" + counts + " in " + durationMillis + "ms";
+    }
+
+    public static class Counts {
+
+        private final int numAdded, numRemoved, numRefreshed, numChanged, numRequested, numFailed;
+
+        Counts(int numAdded, int numRemoved, int numRefreshed, int numChanged, int numRequested, int numFailed) {
+            this.numAdded = numAdded;
+            this.numRemoved = numRemoved;
+            this.numRefreshed = numRefreshed;
+            this.numChanged = numChanged;
+            this.numRequested = numRequested;
+            this.numFailed = numFailed;
+        }
+
+        public int getNumAdded() {
+            return numAdded;
+        }
+
+        public int getNumRemoved() {
+            return numRemoved;
+        }
+
+        public int getNumRefreshed() {
+            return numRefreshed;
+        }
+
+        /**
+         * @return The number of refreshed entities whose content hash changed, the rest were skipped without being compared
+         */
+        public int getNumChanged() {
+            return numChanged;
+        }
+
+        /**
+         * @return The number of entities looked up in full, the new entities plus this cycle's slice of existing ones
+         */
+        public int getNumRequested() {
+            return numRequested;
+        }
+
+        /**
+         * @return The number of lookups lost to failed batches, these are tried again next cycle
+         */
+        public int getNumFailed() {
+            return numFailed;
+        }
+
+        @Override
+        public String toString() {
+            return "{added=" + numAdded + ", removed=" + numRemoved + ", refreshed=" + numRefreshed + ", changed=" + numChanged + ", requested=" + numRequested + ", failed=" + numFailed + "}";
+        }
+    }
+}
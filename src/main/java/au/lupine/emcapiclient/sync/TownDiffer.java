@@ -0,0 +1,52 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Town;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+class TownDiffer implements EntityDiffer<Town> {
+
+    @Override
+    public long hash(@NotNull Town town) {
+        return new ContentHasher()
+                .put(town.getName())
+                .put(town.isRuined())
+                .put(town.getMayor())
+                .put(town.getNation())
+                .putUnordered(town.getResidents())
+                .put(town.getNumTownBlocks())
+                .put(town.getPackedTownBlocks())
+                .put(town.getBalance())
+                .get();
+    }
+
+    @Override
+    public void diff(@NotNull Town previous, @NotNull Town current, @NotNull Consumer<ChangeEvent> events) {
+        if (!previous.getName().equals(current.getName())) events.accept(new ChangeEvent.TownRenamed(current, previous.getName()));
+        if (!previous.isRuined() && current.isRuined()) events.accept(new ChangeEvent.TownRuined(current));
+        if (!DiffUtil.isSame(previous.getMayor(), current.getMayor())) events.accept(new ChangeEvent.TownMayorChanged(current, previous.getMayor()));
+        if (!DiffUtil.isSame(previous.getNation(), current.getNation())) events.accept(new ChangeEvent.TownNationChanged(current, previous.getNation()));
+
+        DiffUtil.diffSets(previous.getResidents(), current.getResidents(),
+                joined -> events.accept(new ChangeEvent.ResidentJoined(current, joined)),
+                left -> events.accept(new ChangeEvent.ResidentLeft(current, left)));
+
+        if (previous.getNumTownBlocks() != current.getNumTownBlocks() || !Arrays.equals(previous.getPackedTownBlocks(), current.getPackedTownBlocks())) {
+            events.accept(new ChangeEvent.TownClaimsChanged(current, previous.getNumTownBlocks()));
+        }
+
+        if (previous.getBalance() != current.getBalance()) events.accept(new ChangeEvent.TownBalanceChanged(current, previous.getBalance()));
+    }
+
+    @Override
+    public @NotNull ChangeEvent created(@NotNull Town town) {
+        return new ChangeEvent.TownCreated(town);
+    }
+
+    @Override
+    public @NotNull ChangeEvent deleted(@NotNull Town town) {
+        return new ChangeEvent.TownDeleted(town);
+    }
+}
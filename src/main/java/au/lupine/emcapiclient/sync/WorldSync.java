@@ -0,0 +1,205 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.ServerInfo;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.wrapper.Server;
+import au.lupine.emcapiclient.store.WorldSnapshot;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a local mirror of every player, town, nation and quarter of a server current without downloading them all each time
+ * <p>
+ * Each cycle fetches the server info and each endpoint's identifier list, which are cheap, then fetches in full only the entities that are new
+ * plus a rolling slice of the existing ones, see {@link EntityMirror}. Removed entities are dropped, and listeners on each mirror are told what changed
+ */
+public class WorldSync implements AutoCloseable {
+
+    private final EMCAPIClient client;
+    private final Server server;
+    private final EntityMirror<Player> players;
+    private final EntityMirror<Town> towns;
+    private final EntityMirror<Nation> nations;
+    private final EntityMirror<Quarter> quarters;
+    private volatile double refreshFraction = 0.1;
+    private volatile SyncReport lastReport;
+    private volatile Throwable lastFailure;
+    private CompletableFuture<SyncReport> running;
+    private ScheduledExecutorService scheduler;
+
+    public WorldSync(@NotNull EMCAPIClient client) {
+        this(client, client.getDefaultServer());
+    }
+
+    public WorldSync(@NotNull EMCAPIClient client, @NotNull Server server) {
+        this.client = client;
+        this.server = server;
+
+        this.players = new EntityMirror<>(Endpoint.PLAYERS, client::getAllPlayerIdentifiersAsync, client::getPlayersByStringsAsBatchResultAsync, EntityDiffer.PLAYERS);
+        this.towns = new EntityMirror<>(Endpoint.TOWNS, client::getAllTownIdentifiersAsync, client::getTownsByStringsAsBatchResultAsync, EntityDiffer.TOWNS);
+        this.nations = new EntityMirror<>(Endpoint.NATIONS, client::getAllNationIdentifiersAsync, client::getNationsByStringsAsBatchResultAsync, EntityDiffer.NATIONS);
+        this.quarters = new EntityMirror<>(Endpoint.QUARTERS, client::getAllQuarterIdentifiersAsync, client::getQuartersByStringsAsBatchResultAsync, EntityDiffer.QUARTERS);
+    }
+
+    public @NotNull EntityMirror<Player> getPlayers() {
+        return players;
+    }
+
+    public @NotNull EntityMirror<Town> getTowns() {
+        return towns;
+    }
+
+    public @NotNull EntityMirror<Nation> getNations() {
+        return nations;
+    }
+
+    public @NotNull EntityMirror<Quarter> getQuarters() {
+        return quarters;
+    }
+
+    public @NotNull Server getServer() {
+        return server;
+    }
+
+    public double getRefreshFraction() {
+        return refreshFraction;
+    }
+
+    /**
+     * @param refreshFraction The share of each mirror's existing entities fetched again every cycle, 0.1 by default so every entity is at most ten cycles old.
+     *                        0 only ever fetches new entities, 1 fetches everything every cycle
+     */
+    public void setRefreshFraction(double refreshFraction) {
+        if (!(refreshFraction >= 0 && refreshFraction <= 1)) throw new IllegalArgumentException("Refresh fraction must be between 0 and 1");
+
+        this.refreshFraction = refreshFraction;
+    }
+
+    /**
+     * @return The report of the last cycle that succeeded, or null if none has
+     */
+    public @Nullable SyncReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * @return Why the last scheduled cycle failed, or null if it succeeded
+     */
+    public @Nullable Throwable getLastFailure() {
+        return lastFailure;
+    }
+
+    public @NotNull SyncReport sync() {
+        return client.getRequestManager().await(syncAsync());
+    }
+
+    /**
+     * Run one cycle over every enabled mirror. Cycles never overlap, calling this while one is running returns that cycle's future
+     */
+    public synchronized @NotNull CompletableFuture<SyncReport> syncAsync() {
+        if (running != null) return running;
+
+        long start = System.nanoTime();
+        double fraction = refreshFraction;
+
+        CompletableFuture<ServerInfo> serverInfo = client.getServerInfoAsync(server);
+        EnumMap<Endpoint, CompletableFuture<SyncReport.Counts>> cycles = new EnumMap<>(Endpoint.class);
+        for (EntityMirror<?> mirror : List.of(players, towns, nations, quarters)) {
+            if (mirror.isEnabled()) cycles.put(mirror.getEndpoint(), mirror.syncAsync(server, fraction));
+        }
+
+        CompletableFuture<SyncReport> cycle = CompletableFuture.allOf(cycles.values().toArray(new CompletableFuture<?>[0]))
+                .thenCombine(serverInfo, (ignored, info) -> {
+                    EnumMap<Endpoint, SyncReport.Counts> counts = new EnumMap<>(Endpoint.class);
+                    cycles.forEach((endpoint, future) -> counts.put(endpoint, future.join()));
+
+                    return new SyncReport(info, counts, (System.nanoTime() - start) / 1_000_000);
+                });
+
+        running = cycle;
+        cycle.whenComplete((report, throwable) -> {
+            synchronized (this) {
+                running = null;
+            }
+
+            if (report != null) lastReport = report;
+            lastFailure = throwable;
+        });
+
+        return cycle;
+    }
+
+    /**
+     * Write what every mirror holds to a snapshot file, see {@link WorldSnapshot}. The mirrored entities must have kept their JSON
+     */
+    public synchronized void writeSnapshot(@NotNull Path path) throws IOException {
+        new WorldSnapshot.Writer()
+                .addPlayers(players.getAll())
+                .addTowns(towns.getAll())
+                .addNations(nations.getAll())
+                .addQuarters(quarters.getAll())
+                .write(path);
+    }
+
+    /**
+     * Fill every mirror from a snapshot without notifying listeners, so the next cycle only fetches what changed since the snapshot was written
+     * instead of the whole world. Entities changed since then are caught up with as the rolling refresh reaches them
+     */
+    public synchronized void restore(@NotNull WorldSnapshot snapshot) {
+        if (running != null) throw new IllegalStateException("Cannot restore while a cycle is running");
+
+        players.restore(snapshot.getAllPlayers());
+        towns.restore(snapshot.getAllTowns());
+        nations.restore(snapshot.getAllNations());
+        quarters.restore(snapshot.getAllQuarters());
+    }
+
+    /**
+     * Run a cycle now and then repeatedly with the given delay between the end of one cycle and the start of the next, on a daemon thread.
+     * A failed cycle does not stop the schedule, see {@link #getLastFailure()}
+     */
+    public synchronized void start(@NotNull Duration delay) {
+        if (scheduler != null) throw new IllegalStateException("World sync is already running");
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "EMCAPIClient-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                syncAsync().join();
+            } catch (RuntimeException ignored) {
+                // Recorded as the last failure by syncAsync
+            }
+        }, 0, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler == null) return;
+
+        scheduler.shutdownNow();
+        scheduler = null;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
@@ -0,0 +1,10 @@
+package au.lupine.emcapiclient.util;
+
+/**
+ * Accepts a chunk's coordinates without boxing them
+ */
+@FunctionalInterface
+public interface ChunkConsumer {
+
+    void accept(int x, int z);
+}
@@ -0,0 +1,28 @@
+package au.lupine.emcapiclient.util;
+
+/**
+ * Packs a chunk's x and z coordinates into a single long so sets of chunks can be stored in primitive arrays and maps
+ * <p>
+ * Sorting packed chunks orders them by x and then by z as an unsigned int, which is all a binary search needs
+ */
+public class ChunkUtil {
+
+    public static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long chunk) {
+        return (int) (chunk >> 32);
+    }
+
+    public static int unpackZ(long chunk) {
+        return (int) chunk;
+    }
+
+    /**
+     * @return The coordinate of the chunk containing the block coordinate
+     */
+    public static int toChunk(double blockCoordinate) {
+        return (int) Math.floor(blockCoordinate / 16);
+    }
+}
@@ -6,6 +6,8 @@ import com.google.gson.JsonObject;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public class JSONUtil {
 
     public static @NotNull JsonObject createRequestBody(@NotNull JsonArray queryArray) {
@@ -14,26 +16,35 @@ public class JSONUtil {
         return body;
     }
 
+    public static @NotNull JsonArray createQueryArray(@NotNull List<String> query) {
+        JsonArray queryArray = new JsonArray();
+        for (String entry : query) {
+            queryArray.add(entry);
+        }
+
+        return queryArray;
+    }
+
     public static @Nullable String getElementAsStringOrNull(JsonElement element) {
-        if (element.isJsonNull()) return null;
+        if (element == null || element.isJsonNull()) return null;
 
         return element.getAsString();
     }
 
     public static @Nullable Integer getElementAsIntegerOrNull(JsonElement element) {
-        if (element.isJsonNull()) return null;
+        if (element == null || element.isJsonNull()) return null;
 
         return element.getAsInt();
     }
 
     public static @Nullable Long getElementAsLongOrNull(JsonElement element) {
-        if (element.isJsonNull()) return null;
+        if (element == null || element.isJsonNull()) return null;
 
         return element.getAsLong();
     }
 
     public static @Nullable Double getElementAsDoubleOrNull(JsonElement element) {
-        if (element.isJsonNull()) return null;
+        if (element == null || element.isJsonNull()) return null;
 
         return element.getAsDouble();
     }
@@ -0,0 +1,164 @@
+package au.lupine.emcapiclient;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import au.lupine.emcapiclient.object.identifier.QuarterIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraversalTest {
+
+    private static StubServer stub;
+    private static Map<UUID, Player> players;
+    private static Map<UUID, Town> towns;
+    private static Map<UUID, Nation> nations;
+    private static Map<UUID, Quarter> quarters;
+
+    private EMCAPIClient api;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        // This world has a nation that no town joined, which has neither a king nor a capital
+        stub = new StubServer(StubWorld.generate(7, 200));
+        stub.start();
+
+        EMCAPIClient client = new EMCAPIClient(stub.getURI());
+        players = byUUID(client.getAllPlayers());
+        towns = byUUID(client.getAllTowns());
+        nations = byUUID(client.getAllNations());
+        quarters = byUUID(client.getAllQuarters());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void createClient() {
+        api = new EMCAPIClient(stub.getURI());
+    }
+
+    @Test
+    void leavesOutNationsWithoutAKingOrCapital() {
+        List<NationIdentifier> query = api.getAllNationIdentifiers();
+        assertTrue(nations.values().stream().anyMatch(nation -> nation.getKing().getUUID() == null), "The world has no nation without a king");
+
+        assertRelatedToOne(query, api.getKingsOfNations(query), key -> nations.get(key.getUUID()).getKing());
+        assertRelatedToOne(query, api.getCapitalsOfNations(query), key -> nations.get(key.getUUID()).getCapital());
+    }
+
+    @Test
+    void leavesOutQuartersWithoutAnOwner() {
+        List<QuarterIdentifier> query = api.getAllQuarterIdentifiers();
+        assertTrue(quarters.values().stream().anyMatch(quarter -> quarter.getOwner() == null || quarter.getOwner().getUUID() == null), "Every quarter has an owner");
+
+        assertRelatedToOne(query, api.getOwnersOfQuarters(query), key -> quarters.get(key.getUUID()).getOwner());
+    }
+
+    @Test
+    void followsRelationsToOne() {
+        List<PlayerIdentifier> playerQuery = api.getAllPlayerIdentifiers();
+        assertRelatedToOne(playerQuery, api.getTownsOfPlayers(playerQuery), key -> players.get(key.getUUID()).getTown());
+        assertRelatedToOne(playerQuery, api.getNationsOfPlayers(playerQuery), key -> players.get(key.getUUID()).getNation());
+
+        List<TownIdentifier> townQuery = api.getAllTownIdentifiers();
+        assertRelatedToOne(townQuery, api.getMayorsOfTowns(townQuery), key -> towns.get(key.getUUID()).getMayor());
+        assertRelatedToOne(townQuery, api.getNationsOfTowns(townQuery), key -> towns.get(key.getUUID()).getNation());
+    }
+
+    @Test
+    void followsRelationsToMany() {
+        List<PlayerIdentifier> playerQuery = api.getAllPlayerIdentifiers();
+        assertRelatedToMany(playerQuery, api.getFriendsOfPlayers(playerQuery), key -> players.get(key.getUUID()).getFriends());
+
+        List<TownIdentifier> townQuery = api.getAllTownIdentifiers();
+        assertRelatedToMany(townQuery, api.getResidentsOfTowns(townQuery), key -> towns.get(key.getUUID()).getResidents());
+
+        List<NationIdentifier> nationQuery = api.getAllNationIdentifiers();
+        assertRelatedToMany(nationQuery, api.getResidentsOfNations(nationQuery), key -> nations.get(key.getUUID()).getResidents());
+        assertRelatedToMany(nationQuery, api.getTownsOfNations(nationQuery), key -> nations.get(key.getUUID()).getTowns());
+    }
+
+    @Test
+    void leavesOutUnresolvableAndUnknownKeys() {
+        NationIdentifier known = api.getAllNationIdentifiers().get(0);
+        NationIdentifier unresolvable = new NationIdentifier(null, (UUID) null);
+        NationIdentifier unknown = new NationIdentifier("not_a_real_nation", (UUID) null);
+
+        Map<NationIdentifier, List<Town>> result = api.getTownsOfNations(List.of(unresolvable, known, unknown));
+        assertEquals(Set.of(known), result.keySet());
+    }
+
+    @Test
+    void takesTwoWavesOfBatchedRequests() {
+        List<TownIdentifier> query = api.getAllTownIdentifiers();
+        Set<UUID> residents = new HashSet<>();
+        towns.values().forEach(town -> town.getResidents().forEach(resident -> residents.add(resident.getUUID())));
+
+        long before = stub.getRequestCount();
+        api.getResidentsOfTowns(query);
+
+        long expected = (query.size() + 99) / 100 + (residents.size() + 99) / 100;
+        assertEquals(expected, stub.getRequestCount() - before);
+    }
+
+    private static <K extends Identifier, R extends Identifiable> void assertRelatedToOne(List<K> query, Map<K, R> result, Function<K, Identifier> relation) {
+        int expected = 0;
+        for (K key : query) {
+            Identifier related = relation.apply(key);
+            if (related == null || related.getUUID() == null) {
+                assertFalse(result.containsKey(key), key.getName() + " has no related entity");
+                continue;
+            }
+
+            expected++;
+            assertEquals(related.getUUID(), result.get(key).getUUID(), key.getName());
+        }
+
+        assertEquals(expected, result.size());
+    }
+
+    private static <K extends Identifier, R extends Identifiable> void assertRelatedToMany(List<K> query, Map<K, List<R>> result, Function<K, List<? extends Identifier>> relation) {
+        assertEquals(query, new ArrayList<>(result.keySet()));
+
+        for (K key : query) {
+            Set<UUID> expected = new HashSet<>();
+            relation.apply(key).forEach(related -> expected.add(related.getUUID()));
+
+            Set<UUID> actual = new HashSet<>();
+            result.get(key).forEach(related -> actual.add(related.getUUID()));
+
+            assertEquals(expected, actual, key.getName());
+        }
+    }
+
+    private static <T extends Identifiable> Map<UUID, T> byUUID(List<T> entities) {
+        Map<UUID, T> map = new HashMap<>();
+        entities.forEach(entity -> map.put(entity.getUUID(), entity));
+
+        return map;
+    }
+}
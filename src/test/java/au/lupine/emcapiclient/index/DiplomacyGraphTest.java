@@ -0,0 +1,189 @@
+package au.lupine.emcapiclient.index;
+
+import au.lupine.emcapiclient.index.DiplomacyGraph.Relation;
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.identifier.NationIdentifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.stub.StubWorld;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiplomacyGraphTest {
+
+    private static final StubWorld WORLD = StubWorld.generate(9, 60);
+
+    private static final UUID[] NATIONS = new UUID[7];
+    private static final UUID UNKNOWN = UUID.randomUUID(), FIRST_TOWN = UUID.randomUUID(), SECOND_TOWN = UUID.randomUUID();
+
+    /**
+     * 0 and 1 are mutual allies, 1 allies 2 one way, 2 and 3 are mutual allies, 4 and 5 are mutual allies and 6 only allies itself and an unknown nation.
+     * 0 and 4 are mutual enemies and 6 lists 0 as an enemy. 0 sanctions the first town, 4 sanctions both towns
+     */
+    private static DiplomacyGraph graph;
+
+    @BeforeAll
+    static void buildGraph() {
+        for (int i = 0; i < NATIONS.length; i++) {
+            NATIONS[i] = UUID.randomUUID();
+        }
+
+        List<Nation> nations = List.of(
+                createNation(0, List.of(NATIONS[1], NATIONS[1]), List.of(NATIONS[4]), List.of(FIRST_TOWN)),
+                createNation(1, List.of(NATIONS[0], NATIONS[2]), List.of(), List.of()),
+                createNation(2, List.of(NATIONS[3]), List.of(), List.of()),
+                createNation(3, List.of(NATIONS[2]), List.of(), List.of()),
+                createNation(4, List.of(NATIONS[5]), List.of(NATIONS[0]), List.of(FIRST_TOWN, SECOND_TOWN)),
+                createNation(5, List.of(NATIONS[4]), List.of(), List.of()),
+                createNation(6, List.of(NATIONS[6], UNKNOWN), List.of(NATIONS[0]), List.of())
+        );
+
+        graph = new DiplomacyGraph(nations);
+    }
+
+    @Test
+    void keepsDeclaredRelationsDirected() {
+        assertTrue(graph.hasRelation(NATIONS[1], NATIONS[2], Relation.ALLY));
+        assertFalse(graph.hasRelation(NATIONS[2], NATIONS[1], Relation.ALLY));
+        assertTrue(graph.isMutual(NATIONS[0], NATIONS[1], Relation.ALLY));
+        assertFalse(graph.isMutual(NATIONS[1], NATIONS[2], Relation.ALLY));
+        assertTrue(graph.isMutual(NATIONS[0], NATIONS[4], Relation.ENEMY));
+        assertFalse(graph.isMutual(NATIONS[0], NATIONS[6], Relation.ENEMY));
+
+        assertEquals(indices(1), ordinals(graph.getRelated(NATIONS[0], Relation.ALLY)));
+        assertEquals(indices(0, 2), ordinals(graph.getRelated(NATIONS[1], Relation.ALLY)));
+        assertEquals(indices(1, 3), ordinals(graph.getRelatedBy(NATIONS[2], Relation.ALLY)));
+        assertEquals(indices(4, 6), ordinals(graph.getRelatedBy(NATIONS[0], Relation.ENEMY)));
+        assertEquals(indices(0), ordinals(graph.getRelated(NATIONS[1], Relation.MUTUAL_ALLY)));
+    }
+
+    @Test
+    void ignoresSelfAndUnknownRelations() {
+        assertTrue(graph.getRelated(NATIONS[6], Relation.ALLY).isEmpty());
+        assertFalse(graph.contains(UNKNOWN));
+        assertFalse(graph.hasRelation(NATIONS[6], UNKNOWN, Relation.ALLY));
+        assertTrue(graph.getWithinHops(UNKNOWN, Relation.ALLY, 3).isEmpty());
+        assertTrue(graph.getBloc(UNKNOWN, Relation.ALLY).isEmpty());
+        assertEquals(-1, graph.getDistance(UNKNOWN, NATIONS[0], Relation.ALLY));
+    }
+
+    @Test
+    void walksRelationsOutward() {
+        assertTrue(graph.getWithinHops(NATIONS[0], Relation.ALLY, 0).isEmpty());
+        assertEquals(List.of(NATIONS[1]), uuids(graph.getWithinHops(NATIONS[0], Relation.ALLY, 1)));
+        assertEquals(List.of(NATIONS[1], NATIONS[2]), uuids(graph.getWithinHops(NATIONS[0], Relation.ALLY, 2)));
+        assertEquals(List.of(NATIONS[1], NATIONS[2], NATIONS[3]), uuids(graph.getWithinHops(NATIONS[0], Relation.ALLY, 10)));
+        assertThrows(IllegalArgumentException.class, () -> graph.getWithinHops(NATIONS[0], Relation.ALLY, -1));
+
+        assertEquals(0, graph.getDistance(NATIONS[0], NATIONS[0], Relation.ALLY));
+        assertEquals(3, graph.getDistance(NATIONS[0], NATIONS[3], Relation.ALLY));
+        assertEquals(-1, graph.getDistance(NATIONS[3], NATIONS[0], Relation.ALLY));
+        assertEquals(-1, graph.getDistance(NATIONS[0], NATIONS[3], Relation.MUTUAL_ALLY));
+
+        assertEquals(List.of(NATIONS[0], NATIONS[1], NATIONS[2], NATIONS[3]), uuids(graph.getPath(NATIONS[0], NATIONS[3], Relation.ALLY)));
+        assertTrue(graph.getPath(NATIONS[3], NATIONS[0], Relation.ALLY).isEmpty());
+    }
+
+    @Test
+    void groupsNationsIntoBlocs() {
+        List<Set<UUID>> allied = graph.getBlocs(Relation.ALLY).stream().map(bloc -> Set.copyOf(uuids(bloc))).toList();
+        assertEquals(List.of(indices(0, 1, 2, 3), indices(4, 5)).stream().map(DiplomacyGraphTest::toUUIDs).toList(), allied);
+
+        Set<Set<UUID>> mutual = graph.getBlocs(Relation.MUTUAL_ALLY).stream().map(bloc -> Set.copyOf(uuids(bloc))).collect(Collectors.toSet());
+        assertEquals(Set.of(toUUIDs(indices(0, 1)), toUUIDs(indices(2, 3)), toUUIDs(indices(4, 5))), mutual);
+
+        assertEquals(List.of(NATIONS[6]), uuids(graph.getBloc(NATIONS[6], Relation.ALLY)));
+    }
+
+    @Test
+    void findsSanctions() {
+        assertEquals(indices(0, 4), ordinals(graph.getSanctioningNations(FIRST_TOWN)));
+        assertEquals(indices(4), ordinals(graph.getSanctioningNations(SECOND_TOWN)));
+        assertTrue(graph.getSanctioningNations(UNKNOWN).isEmpty());
+
+        assertTrue(graph.isSanctioned(NATIONS[4], SECOND_TOWN));
+        assertFalse(graph.isSanctioned(NATIONS[0], SECOND_TOWN));
+        assertFalse(graph.isSanctioned(UNKNOWN, FIRST_TOWN));
+    }
+
+    @Test
+    void matchesTheNationsItWasBuiltFrom() {
+        List<Nation> nations = new ArrayList<>();
+        for (JsonElement identifier : WORLD.getIdentifiers(Endpoint.NATIONS)) {
+            nations.add(new Nation(WORLD.lookup(Endpoint.NATIONS, identifier.getAsJsonObject().get("uuid").getAsString())));
+        }
+
+        assertTrue(nations.stream().anyMatch(nation -> !nation.getAllies().isEmpty()));
+
+        DiplomacyGraph world = new DiplomacyGraph(nations);
+        assertEquals(nations.size(), world.getNumNations());
+
+        for (Nation nation : nations) {
+            Set<UUID> expected = nation.getAllies().stream()
+                    .map(NationIdentifier::getUUID)
+                    .filter(uuid -> !uuid.equals(nation.getUUID()) && world.contains(uuid))
+                    .collect(Collectors.toSet());
+
+            assertEquals(expected, new HashSet<>(uuids(world.getRelated(nation.getUUID(), Relation.ALLY))));
+
+            for (Nation ally : world.getRelated(nation.getUUID(), Relation.ALLY)) {
+                assertTrue(uuids(world.getRelatedBy(ally.getUUID(), Relation.ALLY)).contains(nation.getUUID()));
+            }
+        }
+    }
+
+    private static Nation createNation(int index, List<UUID> allies, List<UUID> enemies, List<UUID> sanctioned) {
+        JsonObject nation = WORLD.lookup(Endpoint.NATIONS, WORLD.getIdentifiers(Endpoint.NATIONS).get(0).getAsJsonObject().get("uuid").getAsString()).deepCopy();
+        nation.addProperty("name", "Nation" + index);
+        nation.addProperty("uuid", NATIONS[index].toString());
+        nation.add("allies", createIdentifiers(allies));
+        nation.add("enemies", createIdentifiers(enemies));
+        nation.add("sanctioned", createIdentifiers(sanctioned));
+
+        return new Nation(nation);
+    }
+
+    private static JsonArray createIdentifiers(List<UUID> uuids) {
+        JsonArray identifiers = new JsonArray();
+        for (UUID uuid : uuids) {
+            JsonObject identifier = new JsonObject();
+            identifier.addProperty("name", uuid.toString().substring(0, 8));
+            identifier.addProperty("uuid", uuid.toString());
+            identifiers.add(identifier);
+        }
+
+        return identifiers;
+    }
+
+    private static List<Integer> indices(int... indices) {
+        List<Integer> list = new ArrayList<>();
+        for (int index : indices) {
+            list.add(index);
+        }
+
+        return list;
+    }
+
+    private static List<Integer> ordinals(List<Nation> nations) {
+        return nations.stream().map(nation -> List.of(NATIONS).indexOf(nation.getUUID())).toList();
+    }
+
+    private static List<UUID> uuids(List<Nation> nations) {
+        return nations.stream().map(Nation::getUUID).toList();
+    }
+
+    private static Set<UUID> toUUIDs(List<Integer> indices) {
+        return indices.stream().map(index -> NATIONS[index]).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,67 @@
+package au.lupine.emcapiclient.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntMapTest {
+
+    @Test
+    void matchesHashMapUnderChurn() {
+        Random random = new Random(42);
+        LongIntMap map = new LongIntMap(16);
+        Map<Long, Integer> expected = new HashMap<>();
+
+        // A small key space keeps clusters long, so removals shift entries back across the wrap-around of the table
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(512) - 256L;
+            int operation = random.nextInt(3);
+
+            if (operation == 0) {
+                int value = random.nextInt(1000);
+                Integer previous = expected.put(key, value);
+                assertEquals(previous == null ? LongIntMap.NO_VALUE : previous, map.put(key, value));
+            } else if (operation == 1) {
+                Integer previous = expected.remove(key);
+                assertEquals(previous == null ? LongIntMap.NO_VALUE : previous, map.remove(key));
+            } else {
+                Integer value = expected.get(key);
+                assertEquals(value == null ? LongIntMap.NO_VALUE : value, map.get(key));
+            }
+
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (long key = -256; key < 256; key++) {
+            Integer value = expected.get(key);
+            assertEquals(value == null ? LongIntMap.NO_VALUE : value, map.get(key));
+        }
+    }
+
+    @Test
+    void findsEveryKeyAfterRemovingHalf() {
+        LongIntMap map = new LongIntMap(4);
+        for (int i = 0; i < 10_000; i++) {
+            map.put((long) i << 32 | i, i);
+        }
+
+        for (int i = 0; i < 10_000; i += 2) {
+            assertEquals(i, map.remove((long) i << 32 | i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i % 2 == 0 ? LongIntMap.NO_VALUE : i, map.get((long) i << 32 | i));
+        }
+
+        assertEquals(5_000, map.size());
+    }
+
+    @Test
+    void rejectsNegativeValues() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntMap(16).put(1, -1));
+    }
+}
@@ -0,0 +1,153 @@
+package au.lupine.emcapiclient.index;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.Cuboid;
+import au.lupine.emcapiclient.object.Location;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuarterIndexTest {
+
+    private static List<Quarter> quarters;
+
+    @BeforeAll
+    static void fetchQuarters() throws Exception {
+        try (StubServer stub = new StubServer(StubWorld.generate(7, 300))) {
+            stub.start();
+            quarters = new EMCAPIClient(stub.getURI()).getAllQuarters();
+        }
+
+        assertFalse(quarters.isEmpty());
+    }
+
+    @Test
+    void findsTheSameQuartersAsAScan() {
+        // A small node capacity makes a deep tree, so pruning is exercised on every level
+        QuarterIndex index = QuarterIndex.builder().addAll(quarters).setNodeCapacity(4).build();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 20_000; i++) {
+            int[] block = sampleBlock(random);
+            Set<Quarter> expected = scan(block[0], block[1], block[2]);
+
+            assertEquals(expected, new HashSet<>(index.getQuartersAt(block[0], block[1], block[2])));
+
+            Quarter quarter = index.getQuarterAt(block[0], block[1], block[2]);
+            if (expected.isEmpty()) {
+                assertNull(quarter);
+            } else {
+                assertTrue(expected.contains(quarter));
+            }
+        }
+    }
+
+    @Test
+    void findsTheNearestQuarter() {
+        QuarterIndex index = new QuarterIndex(quarters);
+        Random random = new Random(2);
+
+        for (int i = 0; i < 2_000; i++) {
+            int[] block = sampleBlock(random);
+            double x = block[0] + 0.5, y = block[1] + 0.5, z = block[2] + 0.5;
+
+            double expected = Double.POSITIVE_INFINITY;
+            for (Quarter quarter : quarters) {
+                expected = Math.min(expected, distance(quarter, x, y, z));
+            }
+
+            Quarter nearest = index.getNearestQuarter(x, y, z);
+            assertNotNull(nearest);
+            assertEquals(expected, distance(nearest, x, y, z), 1e-9);
+
+            if (expected > 0) assertNull(index.getNearestQuarter(x, y, z, expected * 0.99));
+        }
+    }
+
+    @Test
+    void indexesEveryCuboid() {
+        QuarterIndex index = new QuarterIndex(quarters);
+
+        assertEquals(quarters.size(), index.getNumQuarters());
+        assertEquals(quarters.stream().mapToInt(quarter -> quarter.getCuboids().size()).sum(), index.getNumCuboids());
+
+        for (Quarter quarter : quarters) {
+            Location corner = quarter.getCuboids().get(0).getCornerOne();
+            assertTrue(index.getQuartersAt((int) Math.floor(corner.getX()), (int) Math.floor(corner.getY()), (int) Math.floor(corner.getZ())).contains(quarter));
+        }
+    }
+
+    @Test
+    void answersNothingWhenEmpty() {
+        QuarterIndex index = new QuarterIndex(List.of());
+
+        assertNull(index.getQuarterAt(0, 64, 0));
+        assertNull(index.getNearestQuarter(0, 64, 0));
+        assertTrue(index.getQuartersIntersecting(-1000, 0, -1000, 1000, 255, 1000).isEmpty());
+    }
+
+    /**
+     * @return A block inside or just around a random quarter's cuboid, so most samples land near a quarter
+     */
+    private static int[] sampleBlock(Random random) {
+        Cuboid cuboid = quarters.get(random.nextInt(quarters.size())).getCuboids().get(0);
+        int[] bounds = bounds(cuboid);
+
+        int[] block = new int[3];
+        for (int axis = 0; axis < 3; axis++) {
+            block[axis] = bounds[axis] - 3 + random.nextInt(bounds[axis + 3] - bounds[axis] + 7);
+        }
+
+        return block;
+    }
+
+    private static Set<Quarter> scan(int x, int y, int z) {
+        Set<Quarter> found = new HashSet<>();
+        for (Quarter quarter : quarters) {
+            for (Cuboid cuboid : quarter.getCuboids()) {
+                int[] bounds = bounds(cuboid);
+                if (x >= bounds[0] && y >= bounds[1] && z >= bounds[2] && x <= bounds[3] && y <= bounds[4] && z <= bounds[5]) found.add(quarter);
+            }
+        }
+
+        return found;
+    }
+
+    private static double distance(Quarter quarter, double x, double y, double z) {
+        double nearest = Double.POSITIVE_INFINITY;
+        for (Cuboid cuboid : quarter.getCuboids()) {
+            int[] bounds = bounds(cuboid);
+            double dx = axisDistance(x, bounds[0], bounds[3]), dy = axisDistance(y, bounds[1], bounds[4]), dz = axisDistance(z, bounds[2], bounds[5]);
+
+            nearest = Math.min(nearest, Math.sqrt(dx * dx + dy * dy + dz * dz));
+        }
+
+        return nearest;
+    }
+
+    private static double axisDistance(double value, int min, int max) {
+        return Math.max(0, Math.max(min - value, value - (max + 1.0)));
+    }
+
+    private static int[] bounds(Cuboid cuboid) {
+        Location one = cuboid.getCornerOne(), two = cuboid.getCornerTwo();
+
+        return new int[] {
+                (int) Math.floor(Math.min(one.getX(), two.getX())),
+                (int) Math.floor(Math.min(one.getY(), two.getY())),
+                (int) Math.floor(Math.min(one.getZ(), two.getZ())),
+                (int) Math.floor(Math.max(one.getX(), two.getX())),
+                (int) Math.floor(Math.max(one.getY(), two.getY())),
+                (int) Math.floor(Math.max(one.getZ(), two.getZ()))
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.Location;
+import au.lupine.emcapiclient.object.apiobject.LocationInfo;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchDispatcherTest {
+
+    private static StubServer stub;
+    private static List<Player> players;
+    private static List<Town> towns;
+
+    private EMCAPIClient api;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        stub = new StubServer(StubWorld.generate(1, 60));
+        stub.start();
+
+        EMCAPIClient client = new EMCAPIClient(stub.getURI());
+        players = client.getAllPlayers();
+        towns = client.getAllTowns();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void createClient() {
+        api = new EMCAPIClient(stub.getURI());
+        api.setBatchDispatcher(new BatchDispatcher(api.getRequestManager(), Duration.ofMillis(200), 100));
+    }
+
+    @Test
+    void splitsResultsBackByKey() {
+        Player first = players.get(0), second = players.get(1);
+
+        long before = stub.getRequestCount();
+        CompletableFuture<Player> byUUID = api.getPlayerByUUIDAsync(first.getUUID());
+        CompletableFuture<Player> byName = api.getPlayerByStringAsync(first.getName().toUpperCase(Locale.ROOT));
+        CompletableFuture<Player> unknown = api.getPlayerByStringAsync("not_a_real_player");
+        CompletableFuture<Player> other = api.getPlayerByStringAsync(second.getName());
+
+        assertEquals(first.getUUID(), byUUID.join().getUUID());
+        assertEquals(first.getUUID(), byName.join().getUUID());
+        assertNull(unknown.join());
+        assertEquals(second.getUUID(), other.join().getUUID());
+        assertEquals(1, stub.getRequestCount() - before);
+    }
+
+    @Test
+    void batchesSynchronousLookups() throws Exception {
+        int numLookups = Math.min(64, players.size());
+        ExecutorService executor = Executors.newFixedThreadPool(numLookups);
+
+        try {
+            long before = stub.getRequestCount();
+
+            List<Future<Player>> lookups = new ArrayList<>();
+            for (int i = 0; i < numLookups; i++) {
+                Player player = players.get(i);
+                lookups.add(executor.submit(() -> api.getPlayerByUUID(player.getUUID())));
+            }
+
+            for (int i = 0; i < numLookups; i++) {
+                assertEquals(players.get(i).getUUID(), lookups.get(i).get().getUUID());
+            }
+
+            assertTrue(stub.getRequestCount() - before < numLookups / 4, "Synchronous lookups were not batched");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void keepsEndpointsApart() {
+        Town town = towns.get(0);
+        Player player = players.get(0);
+
+        CompletableFuture<Town> townLookup = api.getTownByStringAsync(town.getName());
+        CompletableFuture<Player> playerLookup = api.getPlayerByStringAsync(player.getName());
+
+        assertEquals(town.getUUID(), townLookup.join().getUUID());
+        assertEquals(player.getUUID(), playerLookup.join().getUUID());
+    }
+
+    @Test
+    void matchesLocations() {
+        CompletableFuture<LocationInfo> first = api.getLocationInfoByLocationAsync(new Location(10, -20));
+        CompletableFuture<LocationInfo> second = api.getLocationInfoByLocationAsync(new Location(-300.5, 400));
+
+        assertEquals(10, first.join().getLocation().getX());
+        assertEquals(-20, first.join().getLocation().getZ());
+        assertEquals(-300.5, second.join().getLocation().getX());
+        assertEquals(400, second.join().getLocation().getZ());
+    }
+}
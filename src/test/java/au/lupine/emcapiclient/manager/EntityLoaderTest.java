@@ -0,0 +1,174 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.PlayerIdentifier;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityLoaderTest {
+
+    private static StubServer stub;
+    private static List<Player> players;
+    private static List<Town> towns;
+    private static List<Nation> nations;
+
+    private EMCAPIClient api;
+    private EntityLoader loader;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        // This world has a nation that no town joined, which has neither a king nor a capital
+        stub = new StubServer(StubWorld.generate(7, 200));
+        stub.start();
+
+        EMCAPIClient client = new EMCAPIClient(stub.getURI());
+        players = client.getAllPlayers();
+        towns = client.getAllTowns();
+        nations = client.getAllNations();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void createLoader() {
+        api = new EMCAPIClient(stub.getURI());
+        api.getRequestManager().setRetryPolicy(RetryPolicy.NONE);
+        loader = api.createEntityLoader();
+    }
+
+    @Test
+    void sendsNothingUntilDispatched() {
+        long before = stub.getRequestCount();
+
+        List<CompletableFuture<Player>> loads = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            Player player = players.get(i);
+            loads.add(loader.load(new PlayerIdentifier(player.getName(), player.getUUID())));
+        }
+
+        CompletableFuture<Town> town = loader.load(new TownIdentifier(towns.get(0).getName(), (UUID) null));
+
+        assertEquals(151, loader.getNumPending());
+        assertEquals(before, stub.getRequestCount());
+        assertFalse(town.isDone());
+
+        loader.dispatch().join();
+
+        // 150 players take two requests of at most 100, the town one more
+        assertEquals(3, stub.getRequestCount() - before);
+        assertEquals(0, loader.getNumPending());
+        for (int i = 0; i < loads.size(); i++) {
+            assertEquals(players.get(i).getUUID(), loads.get(i).join().getUUID());
+        }
+
+        assertEquals(towns.get(0).getUUID(), town.join().getUUID());
+    }
+
+    @Test
+    void loadsEachEntityOnce() {
+        Player player = players.get(0);
+
+        CompletableFuture<Player> byUUID = loader.load(new PlayerIdentifier(null, player.getUUID()));
+        CompletableFuture<Player> again = loader.load(new PlayerIdentifier(null, player.getUUID()));
+        assertEquals(1, loader.getNumPending());
+
+        loader.dispatch().join();
+        assertEquals(player.getUUID(), byUUID.join().getUUID());
+        assertEquals(player.getUUID(), again.join().getUUID());
+
+        // The loaded player is remembered under its name as well
+        long before = stub.getRequestCount();
+        CompletableFuture<Player> byName = loader.load(new PlayerIdentifier(player.getName().toUpperCase(Locale.ROOT), (UUID) null));
+
+        assertTrue(byName.isDone());
+        assertEquals(player.getUUID(), byName.join().getUUID());
+        assertEquals(0, loader.getNumPending());
+        assertEquals(before, stub.getRequestCount());
+
+        loader.clear();
+        loader.load(new PlayerIdentifier(player.getName(), (UUID) null));
+        assertEquals(1, loader.getNumPending());
+    }
+
+    @Test
+    void completesUnknownEntitiesWithNull() {
+        CompletableFuture<Player> unknown = loader.load(new PlayerIdentifier("not_a_real_player", (UUID) null));
+        CompletableFuture<List<Player>> all = loader.loadPlayers(List.of(
+                new PlayerIdentifier(null, players.get(1).getUUID()),
+                new PlayerIdentifier("not_a_real_player", (UUID) null),
+                new PlayerIdentifier(null, players.get(0).getUUID())
+        ));
+
+        loader.dispatch().join();
+
+        assertNull(unknown.join());
+        assertEquals(List.of(players.get(1).getUUID(), players.get(0).getUUID()), all.join().stream().map(Player::getUUID).toList());
+    }
+
+    @Test
+    void completesIdentifiersWithNeitherUUIDNorNameWithNull() {
+        Nation empty = nations.stream().filter(nation -> nation.getCapital().getUUID() == null).findFirst().orElseThrow();
+
+        CompletableFuture<Town> capital = loader.load(empty.getCapital());
+        CompletableFuture<Player> king = loader.load(empty.getKing());
+
+        assertTrue(capital.isDone());
+        assertNull(capital.join());
+        assertNull(king.join());
+        assertEquals(0, loader.getNumPending());
+        assertTrue(loader.loadTowns(List.of(empty.getCapital())).join().isEmpty());
+    }
+
+    @Test
+    void answersPrimedEntitiesWithoutARequest() {
+        Town town = towns.get(5);
+        loader.prime(town);
+
+        CompletableFuture<Town> load = loader.load(new TownIdentifier(town.getName(), (UUID) null));
+        assertSame(town, load.join());
+        assertEquals(0, loader.getNumPending());
+    }
+
+    @Test
+    void forgetsLoadsOfAFailedDispatch() {
+        Player player = players.get(2);
+        PlayerIdentifier identifier = new PlayerIdentifier(null, player.getUUID());
+
+        stub.setErrorProbability(1);
+        CompletableFuture<Player> failed;
+        try {
+            failed = loader.load(identifier);
+            loader.dispatch().join();
+        } finally {
+            stub.setErrorProbability(0);
+        }
+
+        assertThrows(CompletionException.class, failed::join);
+
+        CompletableFuture<Player> retried = loader.load(identifier);
+        assertEquals(1, loader.getNumPending());
+
+        loader.dispatch().join();
+        assertEquals(player.getUUID(), retried.join().getUUID());
+    }
+}
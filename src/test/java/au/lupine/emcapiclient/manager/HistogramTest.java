@@ -0,0 +1,144 @@
+package au.lupine.emcapiclient.manager;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    private static final double[] PERCENTILES = {0, 1, 10, 25, 50, 75, 90, 95, 99, 99.9, 99.99, 100};
+
+    @Test
+    void staysWithinRelativeErrorOfExactPercentiles() {
+        Random random = new Random(42);
+        Histogram histogram = new Histogram(1L << 40);
+
+        // Log-uniform values exercise every row of buckets from the exact ones up to around a trillion
+        long[] values = new long[200_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.pow(2, random.nextDouble() * 40);
+            histogram.record(values[i]);
+        }
+
+        Arrays.sort(values);
+        for (double percentile : PERCENTILES) {
+            long expected = exactValueAtPercentile(values, percentile);
+            long actual = histogram.getValueAtPercentile(percentile);
+
+            assertTrue(actual >= expected, "p" + percentile + " of " + actual + " is below " + expected);
+            assertTrue(actual <= expected + expected / 64, "p" + percentile + " of " + actual + " is more than 1.6% above " + expected);
+        }
+
+        assertEquals(values[values.length - 1], histogram.getValueAtPercentile(100));
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void countsSmallValuesExactly() {
+        Histogram histogram = new Histogram(1000);
+
+        long[] values = new long[128];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values.length - 1 - i;
+            histogram.record(values[i]);
+        }
+
+        Arrays.sort(values);
+        for (double percentile : PERCENTILES) {
+            assertEquals(exactValueAtPercentile(values, percentile), histogram.getValueAtPercentile(percentile));
+        }
+    }
+
+    @Test
+    void tracksCountMeanAndMax() {
+        Histogram histogram = new Histogram(10_000);
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+
+        histogram.record(10);
+        histogram.record(20);
+        histogram.record(3_000);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(1_010, histogram.getMean());
+        assertEquals(3_000, histogram.getMax());
+        assertEquals(20, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    void clampsValuesOutOfRange() {
+        Histogram histogram = new Histogram(1_000);
+
+        histogram.record(-5);
+        histogram.record(1_000_000);
+
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(1_000, histogram.getValueAtPercentile(100));
+        assertEquals(1_000, histogram.getMax());
+        assertEquals(500, histogram.getMean());
+    }
+
+    @Test
+    void forgetsEverythingOnReset() {
+        Histogram histogram = new Histogram(10_000);
+        for (int i = 0; i < 1_000; i++) {
+            histogram.record(i);
+        }
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        histogram.record(42);
+        assertEquals(42, histogram.getValueAtPercentile(0));
+        assertEquals(42, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void countsConcurrentRecordings() throws InterruptedException {
+        Histogram histogram = new Histogram(1L << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 1; i <= 100_000; i++) {
+                    histogram.record(i);
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(800_000, histogram.getCount());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000.5, histogram.getMean());
+
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(median >= 50_000 && median <= 50_000 + 50_000 / 64);
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new Histogram(100));
+        assertThrows(IllegalArgumentException.class, () -> new Histogram(Long.MAX_VALUE));
+
+        Histogram histogram = new Histogram(1_000);
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(100.5));
+        assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(Double.NaN));
+    }
+
+    private static long exactValueAtPercentile(long[] sorted, double percentile) {
+        int rank = (int) Math.max(1, Math.ceil(percentile / 100 * sorted.length));
+        return sorted[rank - 1];
+    }
+}
@@ -0,0 +1,133 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.object.exception.FailedRequestException;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import au.lupine.emcapiclient.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestManagerTest {
+
+    /** Enough attempts that a request failing every one of them at the injected failure rates is vanishingly unlikely */
+    private static final RetryPolicy FAST_RETRIES = new RetryPolicy(20, Duration.ofMillis(1), Duration.ofMillis(5), 1000);
+
+    private StubServer stub;
+    private RequestManager requestManager;
+    private URI towns;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new StubServer(StubWorld.generate(2, 250));
+        stub.start();
+
+        requestManager = new RequestManager();
+        towns = stub.getURI().resolve("aurora/towns");
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void retriesInjectedServerErrors() {
+        requestManager.setRetryPolicy(FAST_RETRIES);
+        JsonArray expected = requestManager.batchPostAsJsonArray(towns, createTownQuery());
+
+        stub.setErrorProbability(0.3);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected, requestManager.batchPostAsJsonArray(towns, createTownQuery()));
+        }
+
+        assertTrue(stub.getErrorCount() > 0);
+    }
+
+    @Test
+    void retriesThrottledRequests() {
+        requestManager.setRetryPolicy(FAST_RETRIES);
+        JsonArray expected = requestManager.batchPostAsJsonArray(towns, createTownQuery());
+
+        stub.setRetryAfter(null);
+        stub.setThrottleProbability(0.3);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(expected, requestManager.batchPostAsJsonArray(towns, createTownQuery()));
+        }
+
+        assertTrue(stub.getThrottledCount() > 0);
+    }
+
+    @Test
+    void sharesRetryBudgetAcrossBatches() {
+        requestManager.setRetryPolicy(new RetryPolicy(10, Duration.ofMillis(1), Duration.ofMillis(1), 2));
+        stub.setErrorProbability(1);
+
+        BatchResult<JsonElement> result = requestManager.batchPostAsBatchResult(towns, createTownQuery());
+
+        assertEquals(3, result.getFailures().size());
+        assertTrue(result.getResults().isEmpty());
+        assertEquals(250, result.getFailedQuery().size());
+        assertEquals(3 + 2, stub.getRequestCount());
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        requestManager.setRetryPolicy(FAST_RETRIES);
+
+        URI unknown = stub.getURI().resolve("aurora/unknown");
+        FailedRequestException exception = assertThrows(FailedRequestException.class, () -> requestManager.postURIAsJsonArray(unknown, createTownQuery()));
+
+        assertEquals(404, exception.getStatusCode());
+        assertEquals(1, stub.getRequestCount());
+    }
+
+    @Test
+    void coalescesIdenticalRequests() {
+        stub.setLatency(Duration.ofMillis(200), Duration.ofMillis(200));
+
+        assertEquals(1, sendConcurrently(8));
+
+        requestManager.setCoalescing(false);
+        assertEquals(8, sendConcurrently(8));
+    }
+
+    private long sendConcurrently(int numRequests) {
+        long before = stub.getRequestCount();
+
+        List<CompletableFuture<JsonArray>> futures = new ArrayList<>();
+        for (int i = 0; i < numRequests; i++) {
+            futures.add(requestManager.getURIAsJsonArrayAsync(towns));
+        }
+
+        JsonArray first = futures.get(0).join();
+        futures.forEach(future -> assertEquals(first, future.join()));
+
+        return stub.getRequestCount() - before;
+    }
+
+    private JsonArray getTownNames() {
+        JsonArray names = new JsonArray();
+        for (JsonElement town : stub.getWorld().getIdentifiers(Endpoint.TOWNS)) {
+            names.add(town.getAsJsonObject().get("name"));
+        }
+
+        return names;
+    }
+
+    private JsonObject createTownQuery() {
+        return JSONUtil.createRequestBody(getTownNames());
+    }
+}
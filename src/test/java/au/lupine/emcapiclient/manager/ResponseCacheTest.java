@@ -0,0 +1,211 @@
+package au.lupine.emcapiclient.manager;
+
+import au.lupine.emcapiclient.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheTest {
+
+    private HttpServer server;
+    private URI uri;
+    private RequestManager requestManager;
+
+    private volatile String body = createBody(500);
+    private volatile String eTag = "\"1\"";
+    private volatile String acceptEncoding;
+    private final AtomicInteger numFull = new AtomicInteger(), numNotModified = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/");
+        requestManager = new RequestManager();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void decodesEveryEncoding() {
+        JsonArray expected = JsonParser.parseString(body).getAsJsonArray();
+        JsonArray query = new JsonArray();
+        query.add("element0");
+
+        for (String encoding : List.of("identity", "gzip", "deflate", "raw-deflate")) {
+            URI resource = uri.resolve(encoding);
+
+            assertEquals(expected, requestManager.getURIAsJsonArray(resource), encoding);
+            assertEquals(expected, requestManager.postURIAsJsonArray(resource, JSONUtil.createRequestBody(query)), encoding);
+
+            List<JsonElement> streamed = new ArrayList<>();
+            requestManager.batchPostAndStream(resource, JSONUtil.createRequestBody(query), streamed::add);
+            assertEquals(expected.asList(), streamed, encoding);
+        }
+    }
+
+    @Test
+    void asksForCompressionOnlyWhenEnabled() {
+        requestManager.getURIAsJsonArray(uri.resolve("gzip"));
+        assertEquals("gzip, deflate", acceptEncoding);
+
+        requestManager.setCompressionEnabled(false);
+        requestManager.getURIAsJsonArray(uri.resolve("identity"));
+        assertNull(acceptEncoding);
+    }
+
+    @Test
+    void rejectsUnsupportedEncodings() {
+        CompletionException exception = assertThrows(CompletionException.class, () -> requestManager.getURIAsJsonArrayAsync(uri.resolve("br")).join());
+        assertInstanceOf(IOException.class, exception.getCause());
+    }
+
+    @Test
+    void revalidatesCachedResponses() {
+        URI resource = uri.resolve("gzip");
+        JsonArray first = requestManager.getURIAsJsonArray(resource);
+
+        assertEquals(first, requestManager.getURIAsJsonArray(resource));
+        assertEquals(first, requestManager.getURIAsJsonArray(resource));
+        assertEquals(1, numFull.get());
+        assertEquals(2, numNotModified.get());
+
+        // The cache holds the decoded body, so its size is the uncompressed length
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, requestManager.getResponseCache().getSize());
+
+        body = createBody(20);
+        eTag = "\"2\"";
+        assertEquals(JsonParser.parseString(body).getAsJsonArray(), requestManager.getURIAsJsonArray(resource));
+        assertEquals(2, numFull.get());
+        assertEquals(body.getBytes(StandardCharsets.UTF_8).length, requestManager.getResponseCache().getSize());
+    }
+
+    @Test
+    void doesNotRevalidateWhenDisabled() {
+        requestManager.getResponseCache().setMaxBytes(0);
+
+        requestManager.getURIAsJsonArray(uri.resolve("gzip"));
+        requestManager.getURIAsJsonArray(uri.resolve("gzip"));
+
+        assertEquals(2, numFull.get());
+        assertEquals(0, numNotModified.get());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ResponseCache cache = new ResponseCache();
+        cache.setMaxBytes(250);
+
+        URI a = uri.resolve("a"), b = uri.resolve("b"), c = uri.resolve("c");
+        cache.put(a, headers("ETag", "\"a\""), new byte[100]);
+        cache.put(b, headers("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT"), new byte[100]);
+        assertNotNull(cache.get(a));
+
+        cache.put(c, headers("ETag", "\"c\""), new byte[100]);
+        assertNotNull(cache.get(a));
+        assertNull(cache.get(b));
+        assertNotNull(cache.get(c));
+        assertEquals(200, cache.getSize());
+
+        // A response that can no longer be revalidated replaces nothing and forgets the one before it
+        cache.put(a, headers("Content-Type", "application/json"), new byte[10]);
+        assertNull(cache.get(a));
+        assertEquals(100, cache.getSize());
+
+        cache.put(b, headers("ETag", "\"b\""), new byte[300]);
+        assertNull(cache.get(b));
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+
+            String currentETag = eTag;
+            exchange.getResponseHeaders().set("ETag", currentETag);
+            if (exchange.getRequestMethod().equals("GET") && currentETag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                numNotModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            String encoding = exchange.getRequestURI().getPath().substring(1);
+            byte[] bytes = encode(body.getBytes(StandardCharsets.UTF_8), encoding);
+            if (!encoding.equals("identity")) exchange.getResponseHeaders().set("Content-Encoding", encoding.equals("raw-deflate") ? "deflate" : encoding);
+
+            numFull.incrementAndGet();
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static byte[] encode(byte[] bytes, String encoding) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+
+        switch (encoding) {
+            case "gzip" -> {
+                try (OutputStream out = new GZIPOutputStream(encoded)) {
+                    out.write(bytes);
+                }
+            }
+            case "deflate", "raw-deflate" -> {
+                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, encoding.equals("raw-deflate"));
+                try (OutputStream out = new DeflaterOutputStream(encoded, deflater)) {
+                    out.write(bytes);
+                } finally {
+                    deflater.end();
+                }
+            }
+            default -> encoded.write(bytes);
+        }
+
+        return encoded.toByteArray();
+    }
+
+    private static String createBody(int numElements) {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < numElements; i++) {
+            array.add("element" + i);
+        }
+
+        return array.toString();
+    }
+
+    private static HttpHeaders headers(String name, String value) {
+        return HttpHeaders.of(Map.of(name, List.of(value)), (headerName, headerValue) -> true);
+    }
+}
@@ -0,0 +1,169 @@
+package au.lupine.emcapiclient.query;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Quarter;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.Identifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchPlannerTest {
+
+    private static StubServer stub;
+    private static List<Nation> nations;
+    private static List<Town> towns;
+
+    private EMCAPIClient api;
+
+    @BeforeAll
+    static void startStub() throws Exception {
+        // This world has a nation that no town joined, which has neither a king nor a capital
+        stub = new StubServer(StubWorld.generate(7, 200));
+        stub.start();
+
+        EMCAPIClient client = new EMCAPIClient(stub.getURI());
+        nations = client.getAllNations();
+        towns = client.getAllTowns();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void createClient() {
+        api = new EMCAPIClient(stub.getURI());
+    }
+
+    @Test
+    void expandsNationsWithoutAKing() {
+        Nation empty = nations.stream().filter(nation -> nation.getKing().getUUID() == null).findFirst().orElseThrow();
+
+        FetchResult<Nation> result = api.fetch(FetchPlan.nations(empty.getName()).expand(Relation.NATION_KING, Relation.NATION_CAPITAL));
+        Nation root = result.getRoot(empty.getName());
+
+        assertNotNull(root);
+        assertNull(result.get(root, Relation.NATION_KING));
+        assertNull(result.get(root, Relation.NATION_CAPITAL));
+        assertEquals(1, result.getNumWaves());
+    }
+
+    @Test
+    void expandsRelationsToOne() {
+        FetchResult<Nation> result = api.fetch(FetchPlan.nations(names(nations)).expand(Relation.NATION_KING, Relation.NATION_CAPITAL));
+        assertEquals(nations.size(), result.getRoots().size());
+        assertEquals(2, result.getNumWaves());
+
+        for (Nation nation : result.getRoots()) {
+            assertSameEntity(nation.getKing(), result.get(nation, Relation.NATION_KING));
+            assertSameEntity(nation.getCapital(), result.get(nation, Relation.NATION_CAPITAL));
+        }
+
+        FetchResult<Town> mayors = api.fetch(FetchPlan.towns(names(towns)).expand(Relation.TOWN_MAYOR));
+        for (Town town : mayors.getRoots()) {
+            assertSameEntity(town.getMayor(), mayors.get(town, Relation.TOWN_MAYOR));
+        }
+    }
+
+    @Test
+    void fetchesEachLevelInOneWave() {
+        long before = stub.getRequestCount();
+
+        FetchResult<Nation> result = api.fetch(FetchPlan.nations(names(nations)).expand(
+                Relation.NATION_TOWNS.then(Relation.TOWN_MAYOR),
+                Relation.NATION_TOWNS.then(Relation.TOWN_QUARTERS)
+        ));
+
+        assertEquals(3, result.getNumWaves());
+
+        Set<UUID> nationTowns = new HashSet<>(), mayors = new HashSet<>(), quarters = new HashSet<>();
+        for (Nation nation : result.getRoots()) {
+            List<Town> fetchedTowns = result.getAll(nation, Relation.NATION_TOWNS);
+            assertEquals(uuids(nation.getTowns()), uuids(fetchedTowns));
+
+            for (Town town : fetchedTowns) {
+                nationTowns.add(town.getUUID());
+                mayors.add(town.getMayor().getUUID());
+
+                Player mayor = result.get(town, Relation.TOWN_MAYOR);
+                assertSameEntity(town.getMayor(), mayor);
+
+                List<Quarter> fetchedQuarters = result.getAll(town, Relation.TOWN_QUARTERS);
+                assertEquals(uuids(town.getQuarters()), uuids(fetchedQuarters));
+                fetchedQuarters.forEach(quarter -> quarters.add(quarter.getUUID()));
+            }
+        }
+
+        // The shared prefix is fetched once, then mayors and quarters are fetched together in the last wave
+        assertEquals(nationTowns.size(), result.getNumFetched(Endpoint.TOWNS));
+        long expected = batches(nations.size()) + batches(nationTowns.size()) + batches(mayors.size()) + batches(quarters.size());
+        assertEquals(expected, stub.getRequestCount() - before);
+    }
+
+    @Test
+    void skipsEntitiesAlreadyFetched() {
+        // Every resident's town is one of the roots, so the last hop needs no request
+        FetchResult<Town> result = api.fetch(FetchPlan.towns(names(towns)).expand(Relation.TOWN_RESIDENTS.then(Relation.PLAYER_TOWN)));
+
+        assertEquals(2, result.getNumWaves());
+        for (Town town : result.getRoots()) {
+            for (Player resident : result.getAll(town, Relation.TOWN_RESIDENTS)) {
+                assertSame(town, result.get(resident, Relation.PLAYER_TOWN));
+            }
+        }
+    }
+
+    @Test
+    void leavesOutRootsThatWereNotFound() {
+        Town town = towns.get(0);
+        FetchResult<Town> result = api.fetch(FetchPlan.towns(town.getName(), "not_a_real_town").expand(Relation.TOWN_MAYOR));
+
+        assertEquals(1, result.getRoots().size());
+        assertNull(result.getRoot("not_a_real_town"));
+        assertNotNull(result.getRoot(town.getUUID().toString()));
+        assertTrue(result.getAll(town, Relation.TOWN_QUARTERS).isEmpty(), "A relation that was not expanded has nothing fetched");
+    }
+
+    private static void assertSameEntity(Identifier expected, Identifiable actual) {
+        if (expected == null || expected.getUUID() == null) {
+            assertNull(actual);
+            return;
+        }
+
+        assertNotNull(actual, expected.getName());
+        assertEquals(expected.getUUID(), actual.getUUID());
+    }
+
+    private static List<String> names(List<? extends Identifiable> entities) {
+        return entities.stream().map(Identifiable::getName).toList();
+    }
+
+    private static Set<UUID> uuids(List<?> entities) {
+        Set<UUID> uuids = new HashSet<>();
+        for (Object entity : entities) {
+            uuids.add(entity instanceof Identifier identifier ? identifier.getUUID() : ((Identifiable) entity).getUUID());
+        }
+
+        return uuids;
+    }
+
+    private static long batches(int numEntities) {
+        return (numEntities + 99) / 100;
+    }
+}
@@ -0,0 +1,95 @@
+package au.lupine.emcapiclient.store;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.identifier.TownIdentifier;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.object.state.JsonRetention;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsEveryEntity() throws IOException {
+        try (StubServer stub = new StubServer(StubWorld.generate(3, 80))) {
+            stub.start();
+            EMCAPIClient api = new EMCAPIClient(stub.getURI());
+
+            Path path = directory.resolve("world.snap");
+            api.saveWorldSnapshot(path);
+
+            WorldSnapshot snapshot = WorldSnapshot.open(path);
+            assertSameEntities(api.getAllPlayers(), snapshot.getAllPlayers(), Endpoint.PLAYERS, snapshot);
+            assertSameEntities(api.getAllTowns(), snapshot.getAllTowns(), Endpoint.TOWNS, snapshot);
+            assertSameEntities(api.getAllNations(), snapshot.getAllNations(), Endpoint.NATIONS, snapshot);
+            assertSameEntities(api.getAllQuarters(), snapshot.getAllQuarters(), Endpoint.QUARTERS, snapshot);
+
+            for (Town town : api.getAllTowns()) {
+                Town restored = snapshot.getTown(town.getUUID());
+
+                assertNotNull(restored);
+                assertEquals(town.getName(), restored.getName());
+                assertEquals(town.getResidents(), restored.getResidents());
+                assertArrayEquals(town.getPackedTownBlocks(), restored.getPackedTownBlocks());
+            }
+
+            List<String> names = snapshot.getTownIdentifiers().stream().map(TownIdentifier::getName).sorted().toList();
+            assertEquals(api.getAllTowns().stream().map(Town::getName).sorted().toList(), names);
+            assertNull(snapshot.getTown(UUID.randomUUID()));
+        }
+    }
+
+    @Test
+    void appliesRetentionWhenDecoding() throws IOException {
+        try (StubServer stub = new StubServer(StubWorld.generate(4, 20))) {
+            stub.start();
+            EMCAPIClient api = new EMCAPIClient(stub.getURI());
+
+            Path path = directory.resolve("world.snap");
+            api.saveWorldSnapshot(path);
+
+            Player player = WorldSnapshot.open(path, JsonRetention.NONE).getAllPlayers().get(0);
+            assertEquals(JsonRetention.NONE, player.getJsonRetention());
+            assertNull(player.getJsonObject());
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path path = directory.resolve("not.snap");
+        Files.writeString(path, "this is not a world snapshot at all");
+
+        assertThrows(IOException.class, () -> WorldSnapshot.open(path));
+    }
+
+    private static <T extends Identifiable> void assertSameEntities(List<T> fetched, List<T> restored, Endpoint endpoint, WorldSnapshot snapshot) {
+        assertEquals(fetched.size(), snapshot.size(endpoint));
+
+        Map<UUID, T> byUUID = restored.stream().collect(Collectors.toMap(Identifiable::getUUID, Function.identity()));
+        for (T entity : fetched) {
+            T match = byUUID.get(entity.getUUID());
+
+            assertNotNull(match, endpoint + " " + entity.getUUID() + " is missing");
+            assertEquals(entity.getName(), match.getName());
+        }
+    }
+}
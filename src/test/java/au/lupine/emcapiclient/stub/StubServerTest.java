@@ -0,0 +1,86 @@
+package au.lupine.emcapiclient.stub;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.manager.RequestManager;
+import au.lupine.emcapiclient.manager.RetryPolicy;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.exception.FailedRequestException;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.util.JSONUtil;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubServerTest {
+
+    private StubServer stub;
+    private EMCAPIClient api;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new StubServer(StubWorld.generate(6, 120));
+        stub.start();
+
+        api = new EMCAPIClient(stub.getURI());
+        api.getRequestManager().setRetryPolicy(RetryPolicy.NONE);
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void servesEveryEndpoint() {
+        StubWorld world = stub.getWorld();
+
+        assertEquals(world.getSize(Endpoint.PLAYERS), api.getAllPlayerIdentifiers().size());
+        assertEquals(world.getSize(Endpoint.TOWNS), api.getAllTowns().size());
+        assertEquals(world.getSize(Endpoint.NATIONS), api.getAllNations().size());
+        assertEquals(world.getSize(Endpoint.QUARTERS), api.getAllQuarters().size());
+    }
+
+    @Test
+    void resolvesNamesCaseInsensitively() {
+        Town town = api.getAllTowns().get(0);
+
+        List<Town> found = api.getTownsByStrings(List.of(town.getName().toUpperCase(Locale.ROOT), town.getUUID().toString(), "not_a_real_town"));
+        assertEquals(2, found.size());
+        found.forEach(match -> assertEquals(town.getUUID(), match.getUUID()));
+    }
+
+    @Test
+    void rejectsOversizedQueries() {
+        JsonArray query = new JsonArray();
+        for (int i = 0; i <= 100; i++) {
+            query.add(new JsonPrimitive("town" + i));
+        }
+
+        URI towns = stub.getURI().resolve("aurora/towns");
+        FailedRequestException exception = assertThrows(FailedRequestException.class, () -> new RequestManager().postURIAsJsonArray(towns, JSONUtil.createRequestBody(query)));
+        assertEquals(400, exception.getStatusCode());
+    }
+
+    @Test
+    void injectsFailures() {
+        stub.setErrorProbability(1);
+        FailedRequestException error = assertThrows(FailedRequestException.class, api::getAllTownIdentifiers);
+        assertTrue(error.getStatusCode() >= 500);
+        assertEquals(1, stub.getErrorCount());
+
+        stub.setErrorProbability(0);
+        stub.setThrottleProbability(1);
+        FailedRequestException throttled = assertThrows(FailedRequestException.class, api::getAllTownIdentifiers);
+        assertEquals(429, throttled.getStatusCode());
+        assertEquals(1, stub.getThrottledCount());
+        assertEquals(2, stub.getRequestCount());
+    }
+}
@@ -0,0 +1,44 @@
+package au.lupine.emcapiclient.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentHasherTest {
+
+    @Test
+    void separatesStringsWithTheSameHashCode() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNotEquals(hash("Aa"), hash("BB"));
+
+        assertEquals("AaAa".hashCode(), "BBBB".hashCode());
+        assertNotEquals(hash("AaAa"), hash("BBBB"));
+        assertNotEquals(hash("AaBBAa"), hash("BBAaBB"));
+    }
+
+    @Test
+    void separatesNullFromEmpty() {
+        assertNotEquals(hash((String) null), hash(""));
+        assertNotEquals(new ContentHasher().put((long[]) null).get(), new ContentHasher().put(new long[0]).get());
+    }
+
+    @Test
+    void separatesArraysWithTheSameHashCode() {
+        long[] first = {1}, second = {1L << 32};
+
+        assertEquals(Arrays.hashCode(first), Arrays.hashCode(second));
+        assertNotEquals(new ContentHasher().put(first).get(), new ContentHasher().put(second).get());
+    }
+
+    @Test
+    void isStable() {
+        assertEquals(hash("Town0"), hash("Town0"));
+        assertEquals(new ContentHasher().put(new long[] {1, 2, 3}).get(), new ContentHasher().put(new long[] {1, 2, 3}).get());
+    }
+
+    private static long hash(String value) {
+        return new ContentHasher().put(value).get();
+    }
+}
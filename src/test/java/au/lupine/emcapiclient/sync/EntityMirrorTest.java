@@ -0,0 +1,108 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.EMCAPIClient;
+import au.lupine.emcapiclient.manager.RetryPolicy;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.stub.StubServer;
+import au.lupine.emcapiclient.stub.StubWorld;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityMirrorTest {
+
+    private StubServer stub;
+    private EMCAPIClient api;
+    private EntityMirror<Town> mirror;
+    private final AtomicInteger removals = new AtomicInteger();
+    /** Whether the stub fails every entity request, identifier requests are always answered so the cycle reaches the entity fetch */
+    private volatile boolean failFetches;
+    private volatile List<String> lastQuery;
+
+    @BeforeEach
+    void startStub() throws Exception {
+        stub = new StubServer(StubWorld.generate(5, 250));
+        stub.start();
+
+        api = new EMCAPIClient(stub.getURI());
+        api.getRequestManager().setRetryPolicy(RetryPolicy.NONE);
+
+        mirror = new EntityMirror<>(Endpoint.TOWNS, api::getAllTownIdentifiersAsync, (server, query) -> {
+            lastQuery = List.copyOf(query);
+            if (failFetches) stub.setErrorProbability(1);
+
+            return api.getTownsByStringsAsBatchResultAsync(server, query).whenComplete((result, throwable) -> stub.setErrorProbability(0));
+        }, EntityDiffer.TOWNS);
+
+        mirror.addListener(new SyncListener<>() {
+            @Override
+            public void onRemoved(Town entity) {
+                removals.incrementAndGet();
+            }
+        });
+    }
+
+    @AfterEach
+    void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void keepsEntitiesOfFailedBatches() {
+        SyncReport.Counts first = sync(0);
+        assertEquals(250, first.getNumAdded());
+        assertEquals(250, mirror.size());
+
+        // Every batch of the refresh fails, so none of the towns asked for may be taken as deleted
+        failFetches = true;
+        SyncReport.Counts failed = sync(1);
+        failFetches = false;
+
+        assertEquals(250, failed.getNumFailed());
+        assertEquals(0, failed.getNumRemoved());
+        assertEquals(250, mirror.size());
+        assertEquals(0, removals.get());
+
+        SyncReport.Counts recovered = sync(1);
+        assertEquals(250, recovered.getNumRefreshed());
+        assertEquals(0, recovered.getNumFailed());
+        assertEquals(0, recovered.getNumChanged());
+    }
+
+    @Test
+    void refreshesFailedEntitiesFirst() {
+        sync(0);
+
+        failFetches = true;
+        sync(0.2);
+        failFetches = false;
+        Set<String> lost = new HashSet<>(lastQuery);
+        assertEquals(50, lost.size());
+
+        // The towns lost to the failed cycle go back to the front of the queue, ahead of the 200 that were never refreshed
+        Set<String> refreshed = new HashSet<>();
+        mirror.addListener(new SyncListener<>() {
+            @Override
+            public void onRefreshed(Town previous, Town current) {
+                refreshed.add(current.getUUID().toString());
+            }
+        });
+
+        SyncReport.Counts counts = sync(0.2);
+        assertEquals(50, counts.getNumRefreshed());
+        assertEquals(lost, refreshed);
+        assertEquals(0, removals.get());
+    }
+
+    private SyncReport.Counts sync(double refreshFraction) {
+        return mirror.syncAsync(api.getDefaultServer(), refreshFraction).join();
+    }
+}
@@ -0,0 +1,152 @@
+package au.lupine.emcapiclient.sync;
+
+import au.lupine.emcapiclient.object.apiobject.Nation;
+import au.lupine.emcapiclient.object.apiobject.Player;
+import au.lupine.emcapiclient.object.apiobject.Town;
+import au.lupine.emcapiclient.object.identifier.Identifiable;
+import au.lupine.emcapiclient.object.state.Endpoint;
+import au.lupine.emcapiclient.stub.StubWorld;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotTest {
+
+    private static final StubWorld WORLD = StubWorld.generate(8, 40);
+
+    @Test
+    void reportsEveryChangeBetweenSnapshots() {
+        List<JsonObject> towns = getEntities(Endpoint.TOWNS);
+        List<Town> previous = parse(towns, Town::new);
+
+        JsonObject renamed = towns.get(0).deepCopy();
+        renamed.addProperty("name", "Renamed");
+
+        JsonObject richer = towns.get(1).deepCopy();
+        JsonObject stats = richer.getAsJsonObject("stats");
+        stats.addProperty("balance", stats.get("balance").getAsInt() + 1000);
+
+        JsonObject created = towns.get(3).deepCopy();
+        created.addProperty("uuid", UUID.randomUUID().toString());
+
+        JsonObject shrunk = towns.get(4).deepCopy();
+        shrunk.getAsJsonObject("coordinates").getAsJsonArray("townBlocks").remove(0);
+        JsonObject shrunkStats = shrunk.getAsJsonObject("stats");
+        shrunkStats.addProperty("numTownBlocks", shrunkStats.get("numTownBlocks").getAsInt() - 1);
+
+        List<JsonObject> next = new ArrayList<>(towns);
+        next.set(0, renamed);
+        next.set(1, richer);
+        next.remove(2);
+        next.set(3, shrunk);
+        next.add(created);
+
+        Snapshot<Town> before = Snapshot.of(previous, EntityDiffer.TOWNS);
+        List<ChangeEvent> events = before.diff(Snapshot.of(parse(next, Town::new), EntityDiffer.TOWNS));
+
+        assertEquals(5, events.size(), events.toString());
+        assertTrue(events.contains(new ChangeEvent.TownRenamed(findTown(events, renamed), towns.get(0).get("name").getAsString())));
+        assertTrue(events.stream().anyMatch(event -> event instanceof ChangeEvent.TownBalanceChanged changed && changed.town().getUUID().equals(previous.get(1).getUUID())));
+        assertTrue(events.stream().anyMatch(event -> event instanceof ChangeEvent.TownDeleted deleted && deleted.town() == previous.get(2)));
+        assertTrue(events.stream().anyMatch(event -> event instanceof ChangeEvent.TownClaimsChanged changed && changed.previousNumTownBlocks() == previous.get(4).getNumTownBlocks()));
+        assertTrue(events.stream().anyMatch(event -> event instanceof ChangeEvent.TownCreated town && town.town().getUUID().toString().equals(created.get("uuid").getAsString())));
+    }
+
+    @Test
+    void reportsNothingBetweenEqualSnapshots() {
+        List<JsonObject> towns = getEntities(Endpoint.TOWNS);
+
+        Snapshot<Town> first = Snapshot.of(parse(towns, Town::new), EntityDiffer.TOWNS);
+        Snapshot<Town> second = Snapshot.of(parse(towns, Town::new), EntityDiffer.TOWNS);
+
+        assertTrue(first.diff(second).isEmpty());
+        assertEquals(towns.size(), second.size());
+    }
+
+    @Test
+    void reportsRenamesBetweenNamesWithTheSameHashCode() {
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        List<ChangeEvent> players = diffRenamed(Endpoint.PLAYERS, Player::new, EntityDiffer.PLAYERS);
+        assertEquals(List.of(ChangeEvent.PlayerRenamed.class), players.stream().map(Object::getClass).toList());
+
+        List<ChangeEvent> towns = diffRenamed(Endpoint.TOWNS, Town::new, EntityDiffer.TOWNS);
+        assertEquals(List.of(ChangeEvent.TownRenamed.class), towns.stream().map(Object::getClass).toList());
+
+        List<ChangeEvent> nations = diffRenamed(Endpoint.NATIONS, Nation::new, EntityDiffer.NATIONS);
+        assertEquals(List.of(ChangeEvent.NationRenamed.class), nations.stream().map(Object::getClass).toList());
+    }
+
+    @Test
+    void reportsClaimsMovedBetweenChunksWithTheSameHashCode() {
+        // Chunks 0,1 and 1,0 pack to 1 and 1 << 32, which Arrays.hashCode cannot tell apart
+        JsonObject town = getEntities(Endpoint.TOWNS).get(0);
+        JsonObject before = withTownBlock(town, 0, 1), after = withTownBlock(town, 1, 0);
+
+        List<ChangeEvent> events = Snapshot.of(List.of(new Town(before)), EntityDiffer.TOWNS).diff(Snapshot.of(List.of(new Town(after)), EntityDiffer.TOWNS));
+        assertEquals(List.of(ChangeEvent.TownClaimsChanged.class), events.stream().map(Object::getClass).toList());
+    }
+
+    @Test
+    void rejectsSnapshotsOfAnotherDiffer() {
+        Snapshot<Town> towns = Snapshot.of(List.of(), EntityDiffer.TOWNS);
+        Snapshot<Town> other = Snapshot.of(List.of(), new TownDiffer());
+
+        assertThrows(IllegalArgumentException.class, () -> towns.diff(other));
+    }
+
+    private static <T extends Identifiable> List<ChangeEvent> diffRenamed(Endpoint endpoint, Function<JsonObject, T> parser, EntityDiffer<T> differ) {
+        JsonObject entity = getEntities(endpoint).get(0);
+
+        JsonObject before = entity.deepCopy(), after = entity.deepCopy();
+        before.addProperty("name", "Aa");
+        after.addProperty("name", "BB");
+
+        return Snapshot.of(List.of(parser.apply(before)), differ).diff(Snapshot.of(List.of(parser.apply(after)), differ));
+    }
+
+    private static JsonObject withTownBlock(JsonObject town, int x, int z) {
+        JsonObject copy = town.deepCopy();
+
+        JsonArray townBlock = new JsonArray();
+        townBlock.add(x);
+        townBlock.add(z);
+
+        JsonArray townBlocks = new JsonArray();
+        townBlocks.add(townBlock);
+
+        copy.getAsJsonObject("coordinates").add("townBlocks", townBlocks);
+        copy.getAsJsonObject("stats").addProperty("numTownBlocks", 1);
+
+        return copy;
+    }
+
+    private static Town findTown(List<ChangeEvent> events, JsonObject town) {
+        for (ChangeEvent event : events) {
+            if (event instanceof ChangeEvent.TownEvent townEvent && townEvent.town().getUUID().toString().equals(town.get("uuid").getAsString())) return townEvent.town();
+        }
+
+        return fail("No event for " + town.get("name"));
+    }
+
+    private static List<JsonObject> getEntities(Endpoint endpoint) {
+        List<JsonObject> entities = new ArrayList<>();
+        for (JsonElement identifier : WORLD.getIdentifiers(endpoint)) {
+            entities.add(WORLD.lookup(endpoint, identifier.getAsJsonObject().get("uuid").getAsString()));
+        }
+
+        return entities;
+    }
+
+    private static <T> List<T> parse(List<JsonObject> entities, Function<JsonObject, T> parser) {
+        return entities.stream().map(parser).toList();
+    }
+}